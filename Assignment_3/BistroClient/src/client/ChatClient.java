@@ -2,13 +2,28 @@ package client;
 
 import ocsf.client.AbstractClient;
 import java.io.IOException;
+import java.util.EnumSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import common.ActionType;
+import common.CacheInvalidation;
 import common.Message;
-import javafx.application.Platform;
 
 /**
  * The ChatClient is responsible for handling communication between the client GUI and the server.
  * It routes incoming messages to the appropriate GUI controller (Login, Order, Report, etc.).
+ * Callers that need the reply to a specific request can use {@link #request(Message)} instead:
+ * the request is tagged with an ID and the returned future completes with the reply carrying it,
+ * so several requests can be outstanding at once.
+ * When the connection is lost the client reconnects with exponential backoff and jitter,
+ * resumes its server session with the token received at login, and resends the read-only
+ * requests that were still waiting for a reply.
+ * Replies to frequently repeated reads are served from a {@link ClientReadCache}.
  * @author Group-17
  * @version 1.0
  */
@@ -29,6 +44,52 @@ public class ChatClient extends AbstractClient {
     /** Indicates if we are waiting for a response (optional usage). */
     public static boolean awaitResponse = false;
 
+    /** How long (seconds) {@link #request(Message)} waits for a reply by default. */
+    public static final long DEFAULT_REQUEST_TIMEOUT_SECONDS = 15;
+
+    /** Source of request IDs (0 is reserved for untagged messages). */
+    private final AtomicLong nextRequestId = new AtomicLong();
+
+    /** Requests waiting for their reply, keyed by request ID. */
+    private final ConcurrentHashMap<Long, CompletableFuture<Message>> pending = new ConcurrentHashMap<>();
+
+    /** Cached replies to read requests. */
+    private final ClientReadCache readCache = new ClientReadCache();
+
+    /** The requests behind {@link #pending}, kept so they can be resent after a reconnect. */
+    private final ConcurrentHashMap<Long, Message> unacknowledged = new ConcurrentHashMap<>();
+
+    /** Read-only requests, which are safe to send again if their reply was lost. */
+    private static final EnumSet<ActionType> RESENDABLE = EnumSet.of(ActionType.GET_ORDER, ActionType.GET_ALL_ORDERS,
+            ActionType.GET_HISTORY_BY_USER_ID, ActionType.GET_SUBSCRIBER_LAST_ORDER, ActionType.GET_ALL_TABLES,
+            ActionType.GET_REPORT, ActionType.GET_DAILY_REPORT, ActionType.GET_WAITING_LIST,
+            ActionType.GET_SUBSCRIBER_DETAILS, ActionType.GET_AVAILABILITY, ActionType.SYNC_ORDERS);
+
+    /** First reconnect delay (milliseconds), doubled after every failed attempt. */
+    private static final long RECONNECT_BASE_MS = 500;
+
+    /** Longest reconnect delay (milliseconds). */
+    private static final long RECONNECT_MAX_MS = 30_000;
+
+    /** Token of the server session, received after login (null before). */
+    private volatile String sessionToken;
+
+    /** Whether the first connection succeeded; only then are lost connections re-established. */
+    private volatile boolean connectedOnce = false;
+
+    /** Whether a reconnect is in progress. */
+    private volatile boolean reconnecting = false;
+
+    /** Number of reconnect attempts since the connection was lost. */
+    private int reconnectAttempt;
+
+    /** Background thread running the reconnect attempts. */
+    private final ScheduledExecutorService reconnector = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "reconnect");
+        t.setDaemon(true);
+        return t;
+    });
+
     /**
      * Constructs an instance of the chat client.
      *
@@ -39,6 +100,7 @@ public class ChatClient extends AbstractClient {
     public ChatClient(String host, int port) throws IOException {
         super(host, port); 
         openConnection();  
+        connectedOnce = true;
     }
 
     /**
@@ -54,8 +116,32 @@ public class ChatClient extends AbstractClient {
         
         if (msg instanceof Message) {
             Message message = (Message) msg;
+
+            // Reply to a request sent with request(): complete its future instead of routing it.
+            // Only the first reply completes it; further messages of a multi-part reply are routed below.
+            if (message.getReplyTo() != 0) {
+                CompletableFuture<Message> future = pending.remove(message.getReplyTo());
+                if (future != null) {
+                    future.complete(message);
+                    return;
+                }
+            }
+
             ActionType type = message.getAction();
 
+            // Session token sent after a successful login, used to resume after a reconnect
+            if (type == ActionType.SESSION_TOKEN) {
+                sessionToken = (String) message.getContent();
+                return;
+            }
+
+            // Cache invalidations: data behind cached replies changed on the server
+            if (type == ActionType.INVALIDATE_CACHE) {
+                CacheInvalidation invalidation = (CacheInvalidation) message.getContent();
+                readCache.invalidate(invalidation.getAction(), invalidation.getKey());
+                return;
+            }
+
             // 1. Login and Identification
             if (type == ActionType.LOGIN || type == ActionType.IDENTIFY_SUBSCRIBER || type == ActionType.IDENTIFY_BY_CODE) {
                 if (loginController != null) loginController.handleResponse(message);
@@ -71,7 +157,12 @@ public class ChatClient extends AbstractClient {
             // 3. Reports
             else if (type == ActionType.GET_REPORT) {
                 if (reportController != null) {
-                    reportController.updateReport((String) message.getContent());
+                    reportController.updateReport(message.getContent());
+                }
+            }
+            else if (type == ActionType.EXPORT_ORDERS) {
+                if (reportController != null) {
+                    reportController.exportChunk(message.getContent());
                 }
             }
             
@@ -99,11 +190,170 @@ public class ChatClient extends AbstractClient {
             sendToServer(message);
             awaitResponse = true;
         } catch (IOException e) {
-            System.out.println("Could not send message to server. Terminating client.");
-            quit();
+            System.out.println("Could not send message to server: " + (reconnecting ? "reconnecting." : e.getMessage()));
         }
     }
   
+    /**
+     * Sends a request and returns a future completed with the server's reply,
+     * using the default timeout.
+     *
+     * @param message the request to send
+     * @return the future reply
+     */
+    public CompletableFuture<Message> request(Message message) {
+        return request(message, DEFAULT_REQUEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sends a request and returns a future completed with the server's reply.
+     * The future completes exceptionally with a {@link java.util.concurrent.TimeoutException}
+     * if no reply arrives in time, or with an {@link IOException} if the request cannot be sent.
+     * Read-only requests made while reconnecting are sent once the session is resumed.
+     * Cacheable reads are answered from the {@link ClientReadCache} when a fresh reply is cached;
+     * callers must not modify a reply.
+     * Completion happens on the network thread; UI callers should continue with
+     * {@code thenAcceptAsync(..., UiUpdatePump::run)}.
+     *
+     * @param message the request to send
+     * @param timeout how long to wait for the reply
+     * @param unit the unit of the timeout
+     * @return the future reply
+     */
+    public CompletableFuture<Message> request(Message message, long timeout, TimeUnit unit) {
+        if (readCache.isCacheable(message.getAction())) {
+            Message cached = readCache.get(message);
+            if (cached != null)
+                return CompletableFuture.completedFuture(cached);
+            long stamp = readCache.stamp(message.getAction());
+            return send(message, timeout, unit).thenApply(reply -> {
+                readCache.put(message, reply, stamp);
+                return reply;
+            });
+        }
+        return send(message, timeout, unit);
+    }
+
+    private CompletableFuture<Message> send(Message message, long timeout, TimeUnit unit) {
+        long id = nextRequestId.incrementAndGet();
+        message.setRequestId(id);
+        CompletableFuture<Message> future = new CompletableFuture<>();
+        pending.put(id, future);
+        unacknowledged.put(id, message);
+        future.whenComplete((reply, error) -> {
+            pending.remove(id);
+            unacknowledged.remove(id);
+        });
+        if (reconnecting && RESENDABLE.contains(message.getAction()))
+            return future.orTimeout(timeout, unit);
+        try {
+            sendToServer(message);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        return future.orTimeout(timeout, unit);
+    }
+
+    /**
+     * Fails the requests still waiting for a reply.
+     *
+     * @param reason the failure the futures complete with
+     * @param keepResendable whether read-only requests are kept for resending
+     */
+    private void failPending(Exception reason, boolean keepResendable) {
+        for (Long id : pending.keySet()) {
+            Message request = unacknowledged.get(id);
+            if (keepResendable && request != null && RESENDABLE.contains(request.getAction()))
+                continue;
+            CompletableFuture<Message> future = pending.remove(id);
+            if (future != null)
+                future.completeExceptionally(reason);
+        }
+    }
+
+    /**
+     * Starts reconnecting after the connection was lost.
+     * Requests that change data are failed rather than resent, since the server may
+     * already have applied them.
+     *
+     * @param reason why the connection was lost
+     */
+    private synchronized void connectionLost(Exception reason) {
+        if (!connectedOnce || reconnecting)
+            return;
+        reconnecting = true;
+        reconnectAttempt = 0;
+        readCache.clear(); // invalidations sent while disconnected are lost
+        failPending(new IOException("Connection lost before the reply arrived", reason), true);
+        ConnectionStatus.showReconnecting(0);
+        scheduleReconnect();
+    }
+
+    /**
+     * Schedules the next reconnect attempt. The delay doubles with every attempt up to
+     * {@link #RECONNECT_MAX_MS}, and a random half of it is added as jitter so clients
+     * dropped together do not all reconnect at the same moment.
+     */
+    private void scheduleReconnect() {
+        long ceiling = Math.min(RECONNECT_MAX_MS, RECONNECT_BASE_MS << Math.min(reconnectAttempt, 16));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        reconnector.schedule(this::tryReconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void tryReconnect() {
+        reconnectAttempt++;
+        ConnectionStatus.showReconnecting(reconnectAttempt);
+        try {
+            openConnection();
+        } catch (IOException e) {
+            System.out.println("Reconnect attempt " + reconnectAttempt + " failed: " + e.getMessage());
+            scheduleReconnect();
+            return;
+        }
+        System.out.println("Reconnected to server after " + reconnectAttempt + " attempt(s).");
+        reconnecting = false;
+        resumeSession();
+    }
+
+    /**
+     * Resumes the server session on the new connection and resends the read-only requests
+     * still waiting for a reply. They keep their request IDs, so their replies complete
+     * the original futures.
+     */
+    private void resumeSession() {
+        String token = sessionToken;
+        if (token == null) {
+            resendPending();
+            ConnectionStatus.connected(null);
+            return;
+        }
+        request(new Message(ActionType.RESUME_SESSION, token)).whenComplete((reply, error) -> {
+            if (error == null && Boolean.TRUE.equals(reply.getContent())) {
+                resendPending();
+                ConnectionStatus.connected(null);
+            } else {
+                sessionToken = null;
+                failPending(new IOException("Session could not be resumed"), false);
+                ConnectionStatus.connected("The connection to the server was restored, but the session expired. "
+                        + "Please log in again.");
+            }
+        });
+    }
+
+    private void resendPending() {
+        for (Long id : pending.keySet()) {
+            Message request = unacknowledged.get(id);
+            if (request == null)
+                continue;
+            try {
+                sendToServer(request);
+            } catch (IOException e) {
+                return; // lost again; the next reconnect resends them
+            }
+        }
+    }
+
     /**
      * Terminates the client connection and exits the application.
      */
@@ -116,13 +366,16 @@ public class ChatClient extends AbstractClient {
 
     @Override
     protected void connectionClosed() {
-        System.out.println("Server connection closed. Exiting...");
-        Platform.runLater(() -> System.exit(0));
+        System.out.println("Server connection closed. Reconnecting...");
+        connectionLost(new IOException("Server connection closed"));
     }
 
     @Override
     protected void connectionException(Exception exception) {
-        System.out.println("Server connection exception. Exiting...");
-        Platform.runLater(() -> System.exit(0));
+        // The reader thread keeps running after a bad message; only a dead connection is re-established
+        if (isConnected())
+            return;
+        System.out.println("Server connection exception. Reconnecting...");
+        connectionLost(exception);
     }
 }
@@ -0,0 +1,161 @@
+package client;
+
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import common.ActionType;
+import common.Message;
+
+/**
+ * Bounded cache of replies to read requests sent with {@link ChatClient#request(Message)}.
+ * Replies are keyed by action and request content and kept for a time-to-live that
+ * depends on the action. Entries are dropped early when the server says the data
+ * changed (INVALIDATE_CACHE), and all of them are dropped when the connection is lost,
+ * since invalidations may have been missed.
+ * @author Group-17
+ * @version 1.0
+ */
+public class ClientReadCache {
+
+    /** Most replies kept; the least recently used one is dropped first. */
+    private static final int MAX_ENTRIES = 256;
+
+    /** Time-to-live (milliseconds) of the cacheable actions. */
+    private static final EnumMap<ActionType, Long> TTL_MS = new EnumMap<>(ActionType.class);
+
+    static {
+        TTL_MS.put(ActionType.GET_SUBSCRIBER_DETAILS, 60_000L);
+        TTL_MS.put(ActionType.GET_ALL_TABLES, 300_000L);
+        // SYNC_ORDERS is not cached: it is already a delta protocol, and its reply depends on the version sent
+    }
+
+    /**
+     * A cache key: action and request content.
+     */
+    private static class Key {
+        final ActionType action;
+        final Object content;
+
+        Key(ActionType action, Object content) {
+            this.action = action;
+            this.content = content;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).action == action && Objects.equals(((Key) o).content, content);
+        }
+
+        @Override
+        public int hashCode() {
+            return action.hashCode() * 31 + Objects.hashCode(content);
+        }
+    }
+
+    /**
+     * A cached reply.
+     */
+    private static class Entry {
+        final Message reply;
+        final long expiresAt;
+
+        Entry(Message reply, long expiresAt) {
+            this.reply = reply;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(64, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /** Invalidations seen per action, so a reply requested before one is not stored after it. */
+    private final EnumMap<ActionType, Long> invalidations = new EnumMap<>(ActionType.class);
+
+    /**
+     * Returns whether replies to an action are cached.
+     *
+     * @param action the action
+     * @return true if cacheable
+     */
+    public boolean isCacheable(ActionType action) {
+        return TTL_MS.containsKey(action);
+    }
+
+    /**
+     * Returns the cached reply to a request.
+     *
+     * @param request the request
+     * @return the reply, or null if none is cached or it expired
+     */
+    public synchronized Message get(Message request) {
+        Key key = new Key(request.getAction(), request.getContent());
+        Entry entry = entries.get(key);
+        if (entry == null)
+            return null;
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.reply;
+    }
+
+    /**
+     * Returns a stamp to pass to {@link #put} for a request about to be sent.
+     *
+     * @param action the request's action
+     * @return the stamp
+     */
+    public synchronized long stamp(ActionType action) {
+        return invalidations.getOrDefault(action, 0L);
+    }
+
+    /**
+     * Caches the reply to a request, unless its data was invalidated since the request was sent.
+     *
+     * @param request the request
+     * @param reply the reply
+     * @param stamp the stamp taken when the request was sent
+     */
+    public synchronized void put(Message request, Message reply, long stamp) {
+        Long ttl = TTL_MS.get(request.getAction());
+        if (ttl == null || stamp != invalidations.getOrDefault(request.getAction(), 0L))
+            return;
+        entries.put(new Key(request.getAction(), request.getContent()),
+                new Entry(reply, System.currentTimeMillis() + ttl));
+    }
+
+    /**
+     * Drops cached replies of an action.
+     *
+     * @param action the action
+     * @param content the request content whose reply is stale, or null for all replies of the action
+     */
+    public synchronized void invalidate(ActionType action, Object content) {
+        invalidations.merge(action, 1L, Long::sum);
+        if (content != null) {
+            entries.remove(new Key(action, content));
+            return;
+        }
+        for (Iterator<Key> it = entries.keySet().iterator(); it.hasNext();)
+            if (it.next().action == action)
+                it.remove();
+    }
+
+    /**
+     * Drops every cached reply.
+     */
+    public synchronized void clear() {
+        for (ActionType action : TTL_MS.keySet())
+            invalidations.merge(action, 1L, Long::sum);
+        entries.clear();
+    }
+}
@@ -2,10 +2,7 @@ package client;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
@@ -49,7 +46,10 @@ public class ConnectFrameController {
             // Attempt to connect and initialize the static ChatClient instance
             ClientUI.chat = new ChatClient(ip, port);
             
-            // If we reached here, connection was successful. Hide the connect frame.
+            // If we reached here, connection was successful. Prepare the main screen while the user logs in.
+            SceneCache.preload(SceneCache.ORDER_FRAME);
+
+            // Hide the connect frame.
             ((Node)event.getSource()).getScene().getWindow().hide(); 
             
             // Load and show the Login Frame
@@ -70,20 +70,12 @@ public class ConnectFrameController {
      * @throws Exception if the FXML file cannot be loaded
      */
     private void loadLoginFrame() throws Exception {
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/LoginFrame.fxml"));
-        Parent root = loader.load();
-        
-        // Get the controller of the login frame
-        LoginFrameController controller = loader.getController();
+        SceneCache.Screen<LoginFrameController> screen = SceneCache.open(SceneCache.LOGIN_FRAME);
         
         // Update the static reference in ChatClient so it can handle login responses
-        ChatClient.loginController = controller; 
+        ChatClient.loginController = screen.getController(); 
         
-        Stage primaryStage = new Stage();
-        Scene scene = new Scene(root);
-        primaryStage.setTitle("Bistro - Login");
-        primaryStage.setScene(scene);
-        primaryStage.show();
+        Stage primaryStage = SceneCache.show(screen, "Bistro - Login");
         
         // Handle window close request to ensure clean disconnection
         primaryStage.setOnCloseRequest(event -> {
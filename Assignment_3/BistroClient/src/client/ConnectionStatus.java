@@ -0,0 +1,68 @@
+package client;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+/**
+ * Shows the state of the server connection in every open window.
+ * While the client is reconnecting, each window's title says so and its content
+ * is disabled, so nothing is sent until the connection is back.
+ * @author Group-17
+ * @version 1.0
+ */
+public class ConnectionStatus {
+
+    /** Stage property holding the title the window had before the outage. */
+    private static final String ORIGINAL_TITLE = "bistro.originalTitle";
+
+    /**
+     * Marks every open window as reconnecting.
+     *
+     * @param attempt the current reconnect attempt (0 before the first one)
+     */
+    public static void showReconnecting(int attempt) {
+        Platform.runLater(() -> {
+            for (Window window : Window.getWindows()) {
+                if (!(window instanceof Stage))
+                    continue;
+                Stage stage = (Stage) window;
+                Object original = stage.getProperties().computeIfAbsent(ORIGINAL_TITLE,
+                        k -> stage.getTitle() == null ? "" : stage.getTitle());
+                stage.setTitle(original + " - Reconnecting to server"
+                        + (attempt > 0 ? " (attempt " + attempt + ")" : "") + "...");
+                if (stage.getScene() != null && stage.getScene().getRoot() != null)
+                    stage.getScene().getRoot().setDisable(true);
+            }
+        });
+    }
+
+    /**
+     * Restores every window after the connection is back.
+     *
+     * @param notice a message to show the user, or null
+     */
+    public static void connected(String notice) {
+        Platform.runLater(() -> {
+            for (Window window : Window.getWindows()) {
+                if (!(window instanceof Stage))
+                    continue;
+                Stage stage = (Stage) window;
+                Object original = stage.getProperties().remove(ORIGINAL_TITLE);
+                if (original != null)
+                    stage.setTitle((String) original);
+                if (stage.getScene() != null && stage.getScene().getRoot() != null)
+                    stage.getScene().getRoot().setDisable(false);
+            }
+            if (notice != null) {
+                Alert alert = new Alert(AlertType.INFORMATION);
+                alert.setTitle("Connection");
+                alert.setHeaderText(null);
+                alert.setContentText(notice);
+                alert.show();
+            }
+        });
+    }
+}
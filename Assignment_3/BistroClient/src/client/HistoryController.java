@@ -1,66 +1,153 @@
 package client;
 
 import java.util.ArrayList;
-import common.Order;
-import javafx.beans.property.SimpleIntegerProperty;
-import javafx.beans.property.SimpleStringProperty;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import common.ActionType;
+import common.Message;
+import common.OrderSummary;
+import common.OrderPage;
+import common.OrderPageRequest;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TableRow; 
+import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
 /**
  * Controller for the Order History window.
  * Displays a list of orders in a table and allows selection to view details.
+ * Orders arrive one page at a time; the next page is requested when the table
+ * is scrolled near its end. Sorting by a column and the quick search over the loaded
+ * rows run on a background thread, so large lists never stall the FX thread.
  * @author Group-17
  * @version 1.0
  */
 public class HistoryController {
 
-    @FXML private TableView<Order> historyTable; 
-    @FXML private TableColumn<Order, Integer> colId;
-    @FXML private TableColumn<Order, String> colDate;
-    @FXML private TableColumn<Order, String> colTime;
-    @FXML private TableColumn<Order, Integer> colGuests;
-    @FXML private TableColumn<Order, String> colStatus;
+    /** Status filter entry meaning "any status". */
+    private static final String ALL_STATUSES = "All";
+
+    /** Thread sorting and filtering the loaded rows, shared by all history windows. */
+    private static final ExecutorService viewWorker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "history-view");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * A table row. The cell values are created once per row and reused by every
+     * cell that shows them, instead of new properties on each cell update.
+     */
+    private static class HistoryRow {
+        final OrderSummary order;
+        final ObservableValue<Integer> number;
+        final ObservableValue<String> date;
+        final ObservableValue<String> time;
+        final ObservableValue<Integer> guests;
+        final ObservableValue<String> status;
+        /** Lower-case text matched by the quick search. */
+        final String searchText;
+
+        HistoryRow(OrderSummary order) {
+            this.order = order;
+            this.number = new ReadOnlyObjectWrapper<>(order.getOrderNumber());
+            this.date = new ReadOnlyObjectWrapper<>(order.getDate());
+            this.time = new ReadOnlyObjectWrapper<>(order.getTime());
+            this.guests = new ReadOnlyObjectWrapper<>(order.getGuests());
+            this.status = new ReadOnlyObjectWrapper<>(order.getStatus());
+            this.searchText = (order.getOrderNumber() + " " + order.getDate() + " " + order.getTime() + " "
+                    + order.getStatus()).toLowerCase();
+        }
+    }
+
+    @FXML private TableView<HistoryRow> historyTable; 
+    @FXML private TableColumn<HistoryRow, Integer> colId;
+    @FXML private TableColumn<HistoryRow, String> colDate;
+    @FXML private TableColumn<HistoryRow, String> colTime;
+    @FXML private TableColumn<HistoryRow, Integer> colGuests;
+    @FXML private TableColumn<HistoryRow, String> colStatus;
+    @FXML private DatePicker fromDatePicker;
+    @FXML private DatePicker toDatePicker;
+    @FXML private ComboBox<String> statusFilter;
+    @FXML private TextField searchField;
+    @FXML private Label pageLabel;
     
     private OrderFrameController mainController;
 
+    /** Every order loaded so far, in the server's order. */
+    private final ArrayList<HistoryRow> loaded = new ArrayList<>();
+
+    /** The rows shown: the loaded rows, filtered by the quick search and sorted. */
+    private final ObservableList<HistoryRow> rows = FXCollections.observableArrayList();
+
+    /** Incremented whenever the view must be recomputed; stale background results are dropped. */
+    private int viewGeneration = 0;
+
+    /** The list being paged (GET_ORDER, GET_ALL_ORDERS or GET_HISTORY_BY_USER_ID). */
+    private ActionType listAction;
+
+    /** The subscriber the list belongs to (null for all orders). */
+    private Integer subscriberId;
+
+    /** The request for the next page, or null when the last page was received. */
+    private OrderPageRequest nextRequest;
+
+    /** Whether a page request is in flight. */
+    private boolean loading = false;
+
+    /** Whether the scroll listener is attached. */
+    private boolean scrollWatched = false;
+
     /**
      * Initializes the controller class.
      * Sets up table columns and row double-click listeners.
      */
     public void initialize() {
-        // Bind columns to Order properties
-        colId.setCellValueFactory(cellData -> 
-            new SimpleIntegerProperty(cellData.getValue().get_order_number()).asObject());
-
-        colDate.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().get_order_date()));
-
-        colTime.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().get_order_time()));
+        // Bind columns to the row's cached values
+        colId.setCellValueFactory(cellData -> cellData.getValue().number);
+        colDate.setCellValueFactory(cellData -> cellData.getValue().date);
+        colTime.setCellValueFactory(cellData -> cellData.getValue().time);
+        colGuests.setCellValueFactory(cellData -> cellData.getValue().guests);
+        colStatus.setCellValueFactory(cellData -> cellData.getValue().status);
 
-        colGuests.setCellValueFactory(cellData -> 
-            new SimpleIntegerProperty(cellData.getValue().get_number_of_guests()).asObject());
-
-        colStatus.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().get_status()));
+        historyTable.setItems(rows);
+        // Sort in the background instead of in place on the FX thread
+        historyTable.setSortPolicy(table -> {
+            refreshView();
+            return true;
+        });
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> refreshView());
+        statusFilter.getItems().addAll(ALL_STATUSES, "APPROVED", "WAITING", "ACTIVE", "FINISHED", "CANCELLED",
+                "NO_SHOW");
+        statusFilter.setValue(ALL_STATUSES);
         
         // Handle row double-click to load order details
         historyTable.setRowFactory(tv -> {
-            TableRow<Order> row = new TableRow<>();
+            TableRow<HistoryRow> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && (!row.isEmpty())) {
-                    Order rowData = row.getItem();
+                    OrderSummary rowData = row.getItem().order;
                     
                     // Check if bridge exists
                     if (mainController != null) {
-                        mainController.loadOrderFromHistory(rowData);
+                        mainController.loadOrderFromHistory(rowData.getOrderNumber());
                         
                         // Close history window after selection
                         ((Stage)row.getScene().getWindow()).close();
@@ -80,16 +167,157 @@ public class HistoryController {
     }
 
     /**
-     * Populates the history table with a list of orders.
-     * @param orders the list of orders to display
+     * Shows the first page of an order list. The window is reused across lists,
+     * so the filters of the previous list are cleared.
+     * @param action the list the page belongs to
+     * @param page the first page
+     */
+    public void showPage(ActionType action, OrderPage<?> page) {
+        fromDatePicker.setValue(null);
+        toDatePicker.setValue(null);
+        statusFilter.setValue(ALL_STATUSES);
+        searchField.clear();
+        historyTable.getSortOrder().clear();
+        this.listAction = action;
+        this.subscriberId = page.getRequest().getSubscriberId();
+        showPage(page);
+    }
+
+    /**
+     * Shows a page received for this window: a first page replaces the table
+     * (e.g. after a filter change), a later page is appended.
+     * @param page the received page
      */
-    public void setOrderList(ArrayList<Order> orders) {
-        ObservableList<Order> list = FXCollections.observableArrayList(orders);
-        historyTable.setItems(list);
+    @SuppressWarnings("unchecked")
+    public void showPage(OrderPage<?> page) {
+        ArrayList<OrderSummary> pageRows = (ArrayList<OrderSummary>) page.getRows();
+        ArrayList<HistoryRow> newRows = new ArrayList<>(pageRows.size());
+        for (OrderSummary order : pageRows)
+            newRows.add(new HistoryRow(order));
+        boolean firstPage = page.getRequest().isFirstPage();
+        if (firstPage)
+            loaded.clear();
+        loaded.addAll(newRows);
+        nextRequest = page.nextRequest();
+
+        if (historyTable.getSortOrder().isEmpty() && searchField.getText().trim().isEmpty()) {
+            // Unsorted and unfiltered: the page is simply appended
+            viewGeneration++;
+            if (firstPage)
+                rows.setAll(newRows);
+            else
+                rows.addAll(newRows);
+            updatePageLabel();
+        } else {
+            refreshView();
+        }
+        if (!scrollWatched)
+            Platform.runLater(this::watchScrolling);
+    }
+
+    /**
+     * Recomputes the shown rows from the loaded rows on the background thread,
+     * using the current quick search and column sort order.
+     */
+    private void refreshView() {
+        int generation = ++viewGeneration;
+        List<HistoryRow> snapshot = new ArrayList<>(loaded);
+        String search = searchField.getText().trim().toLowerCase();
+        Comparator<HistoryRow> comparator = sortComparator();
+        viewWorker.execute(() -> {
+            ArrayList<HistoryRow> view = new ArrayList<>(snapshot.size());
+            for (HistoryRow row : snapshot)
+                if (search.isEmpty() || row.searchText.contains(search))
+                    view.add(row);
+            if (comparator != null)
+                view.sort(comparator);
+            Platform.runLater(() -> {
+                if (generation != viewGeneration)
+                    return;
+                rows.setAll(view);
+                updatePageLabel();
+            });
+        });
+    }
+
+    /**
+     * Builds a comparator for the table's sort order from the rows' plain values,
+     * so it can run off the FX thread.
+     *
+     * @return the comparator, or null when the table is not sorted
+     */
+    private Comparator<HistoryRow> sortComparator() {
+        Comparator<HistoryRow> result = null;
+        for (TableColumn<HistoryRow, ?> column : historyTable.getSortOrder()) {
+            Comparator<HistoryRow> c;
+            if (column == colId) c = Comparator.comparingInt(r -> r.order.getOrderNumber());
+            else if (column == colDate) c = Comparator.comparing(r -> String.valueOf(r.order.getDate()));
+            else if (column == colTime) c = Comparator.comparing(r -> String.valueOf(r.order.getTime()));
+            else if (column == colGuests) c = Comparator.comparingInt(r -> r.order.getGuests());
+            else c = Comparator.comparing(r -> String.valueOf(r.order.getStatus()));
+            if (column.getSortType() == TableColumn.SortType.DESCENDING)
+                c = c.reversed();
+            result = (result == null) ? c : result.thenComparing(c);
+        }
+        return result;
+    }
+
+    private void updatePageLabel() {
+        String shown = rows.size() == loaded.size() ? loaded.size() + " orders"
+                : rows.size() + " of " + loaded.size() + " loaded orders";
+        pageLabel.setText(shown + (nextRequest != null ? " - scroll for more" : ""));
+    }
+
+    /**
+     * Reloads the list from its first page using the chosen date range and status.
+     */
+    @FXML
+    public void applyFilters(ActionEvent event) {
+        if (listAction == null || mainController == null || loading)
+            return;
+        String status = statusFilter.getValue();
+        OrderPageRequest request = new OrderPageRequest(OrderPageRequest.DEFAULT_PAGE_SIZE, subscriberId,
+                fromDatePicker.getValue() != null ? fromDatePicker.getValue().toString() : null,
+                toDatePicker.getValue() != null ? toDatePicker.getValue().toString() : null,
+                (status == null || ALL_STATUSES.equals(status)) ? null : status, OrderPageRequest.Projection.SUMMARY);
+        requestPage(request, "Loading...");
     }
 
     @FXML
     public void closeWindow(ActionEvent event) {
         ((Stage) historyTable.getScene().getWindow()).close();
     }
-}
\ No newline at end of file
+
+    private void watchScrolling() {
+        for (Node node : historyTable.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar bar = (ScrollBar) node;
+                bar.valueProperty().addListener((obs, oldVal, newVal) -> {
+                    if (newVal.doubleValue() >= bar.getMax() - (bar.getMax() - bar.getMin()) * 0.05)
+                        loadNextPage();
+                });
+                scrollWatched = true;
+            }
+        }
+    }
+
+    private void loadNextPage() {
+        if (loading || nextRequest == null || mainController == null)
+            return;
+        requestPage(nextRequest, "Loading more...");
+    }
+
+    private void requestPage(OrderPageRequest request, String status) {
+        loading = true;
+        pageLabel.setText(status);
+        mainController.requestOrderPage(listAction, request).whenCompleteAsync((reply, error) -> {
+            loading = false;
+            if (error != null)
+                pageLabel.setText("Could not load orders: " + error.getMessage());
+            else if (reply.getContent() instanceof OrderPage)
+                showPage((OrderPage<?>) reply.getContent());
+            else
+                pageLabel.setText(String.valueOf(reply.getContent()));
+        }, UiUpdatePump::run);
+    }
+}
@@ -6,12 +6,8 @@ import common.Message;
 import common.Subscriber;
 import common.User;
 import common.Order;
-import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
@@ -92,12 +88,7 @@ public class LoginFrameController {
     @FXML
     public void openForgotId(ActionEvent event) {
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/ForgotIdFrame.fxml"));
-            Parent root = loader.load();
-            Stage stage = new Stage();
-            stage.setTitle("Recover ID");
-            stage.setScene(new Scene(root));
-            stage.show();
+            SceneCache.show(SceneCache.open(SceneCache.FORGOT_ID_FRAME), "Recover ID");
         } catch (IOException e) { e.printStackTrace(); }
     }
 
@@ -170,7 +161,7 @@ public class LoginFrameController {
      * @param msg the message received from server
      */
     public void handleResponse(Object msg) {
-        Platform.runLater(() -> {
+        UiUpdatePump.run(() -> {
             if (msg instanceof Message) {
                 Message receivedMsg = (Message) msg;
                 
@@ -209,9 +200,8 @@ public class LoginFrameController {
     private void openOrderFrame(String userType, String name, String phone, String email) {
         try {
             ((Stage) exitBtn.getScene().getWindow()).close();
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/OrderFrame.fxml"));
-            Parent root = loader.load();
-            OrderFrameController controller = loader.getController();
+            SceneCache.Screen<OrderFrameController> screen = SceneCache.open(SceneCache.ORDER_FRAME);
+            OrderFrameController controller = screen.getController();
             controller.setClient(ClientUI.chat);
             ChatClient.orderController = controller; 
             
@@ -222,27 +212,22 @@ public class LoginFrameController {
             
             controller.initPermissions(userType, userId, name, phone, email); 
             
-            Stage stage = new Stage();
-            stage.setScene(new Scene(root));
-            stage.show();
+            SceneCache.show(screen, null);
         } catch (IOException e) { e.printStackTrace(); }
     }
     
     private void openOrderFrameForGuestOrder(Order order) {
         try {
             ((Stage) exitBtn.getScene().getWindow()).close();
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/OrderFrame.fxml"));
-            Parent root = loader.load();
-            OrderFrameController controller = loader.getController();
+            SceneCache.Screen<OrderFrameController> screen = SceneCache.open(SceneCache.ORDER_FRAME);
+            OrderFrameController controller = screen.getController();
             controller.setClient(ClientUI.chat);
             ChatClient.orderController = controller; 
             
             controller.initPermissions("GuestView", order.get_subscriber_id(), "", order.getPhone(), order.getEmail());
             controller.updateFields(new Message(ActionType.GET_ORDER, order));
             
-            Stage stage = new Stage();
-            stage.setScene(new Scene(root));
-            stage.show();
+            SceneCache.show(screen, null);
         } catch (IOException e) { e.printStackTrace(); }
     }
 }
@@ -2,8 +2,6 @@ package client;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -13,7 +11,6 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.DatePicker; 
 import javafx.scene.control.ComboBox; 
 import javafx.stage.Stage;
-import javafx.application.Platform;
 import javafx.scene.control.TextArea;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.Priority;
@@ -24,6 +21,21 @@ import java.io.IOException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import javafx.scene.control.TextInputDialog;
+import javafx.scene.control.DateCell;
+import javafx.scene.control.ListCell;
+import common.AvailabilityMatrix;
+import common.ReportChunk;
+import common.OrderPage;
+import common.OrderPageRequest;
+import common.OrderSync;
+import common.OrderSummary;
+import common.OrderChangeEvent;
+import common.PushTopic;
+import common.DailyOrderRow;
+import common.WaitingListRow;
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import javafx.scene.control.ListView;
 
 /**
  * The main controller for the Order Management screen.
@@ -69,6 +81,27 @@ public class OrderFrameController {
 	private String guestPhone;
 	private String guestEmail;
 
+	/** How long (ms) a received availability matrix is reused before asking the server again. */
+	private static final long AVAILABILITY_TTL_MS = 60_000;
+
+	/** Availability matrices received from the server, keyed by party size. */
+	private final HashMap<Integer, AvailabilityMatrix> availabilityCache = new HashMap<>();
+
+	/** Local time (millis) each cached matrix was received, keyed by party size. */
+	private final HashMap<Integer, Long> availabilityReceivedAt = new HashMap<>();
+
+	/** Party sizes with an availability request in flight. */
+	private final HashMap<Integer, Long> availabilityRequested = new HashMap<>();
+
+	/** Report windows still receiving chunks, keyed by report type. */
+	private final HashMap<ActionType, ListView<Object>> openReports = new HashMap<>();
+
+	/** Report windows still open, kept current by pushed order changes. */
+	private final HashMap<ActionType, ListView<Object>> liveReports = new HashMap<>();
+
+	/** Today's and upcoming orders, kept current with SYNC_ORDERS. */
+	private final OrderSyncCache orderCache = new OrderSyncCache();
+
 	/**
 	 * Sets the client instance for communication.
 	 * @param client the ChatClient instance
@@ -79,7 +112,8 @@ public class OrderFrameController {
 	
 	/**
 	 * Initializes the controller class.
-	 * Automatically populates the time selection list (08:00 to 23:30).
+	 * Automatically populates the time selection list (08:00 to 23:30) and greys out
+	 * full days and time slots once availability for the entered party size is known.
 	 */
 	@FXML
 	public void initialize() {
@@ -89,6 +123,99 @@ public class OrderFrameController {
 			times.add(String.format("%02d:30", h));
 		}
 		timeComboBox.getItems().addAll(times);
+
+		datePicker.setDayCellFactory(dp -> new AvailabilityDateCell());
+		timeComboBox.setCellFactory(lv -> new AvailabilityTimeCell());
+		datePicker.valueProperty().addListener((obs, oldDate, newDate) -> refreshAvailabilityViews());
+		guestsTextField.textProperty().addListener((obs, oldText, newText) -> {
+			int guests = parseGuests();
+			if (guests > 0)
+				requestAvailability(guests);
+			refreshAvailabilityViews();
+		});
+	}
+
+	/**
+	 * Parses the guests field.
+	 * @return the number of guests, or -1 if the field is not a positive number
+	 */
+	private int parseGuests() {
+		try {
+			int guests = Integer.parseInt(guestsTextField.getText().trim());
+			return guests > 0 ? guests : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Requests the availability matrix for a party size unless a fresh one is cached
+	 * or a request is already pending.
+	 *
+	 * @param guests the party size
+	 */
+	private void requestAvailability(int guests) {
+		if (client == null || currentAvailability(guests) != null)
+			return;
+		Long pendingSince = availabilityRequested.get(guests);
+		if (pendingSince != null && System.currentTimeMillis() - pendingSince < AVAILABILITY_TTL_MS)
+			return;
+		availabilityRequested.put(guests, System.currentTimeMillis());
+		client.handleMessageFromClientUI(new Message(ActionType.GET_AVAILABILITY, guests));
+	}
+
+	/**
+	 * Returns the cached availability for a party size if it is still fresh.
+	 *
+	 * @param guests the party size
+	 * @return the matrix, or null if none is cached or it expired
+	 */
+	private AvailabilityMatrix currentAvailability(int guests) {
+		AvailabilityMatrix matrix = availabilityCache.get(guests);
+		Long receivedAt = availabilityReceivedAt.get(guests);
+		if (matrix == null || receivedAt == null || System.currentTimeMillis() - receivedAt > AVAILABILITY_TTL_MS)
+			return null;
+		return matrix;
+	}
+
+	/**
+	 * Re-renders the date and time pickers against the current availability.
+	 */
+	private void refreshAvailabilityViews() {
+		timeComboBox.setCellFactory(null);
+		timeComboBox.setCellFactory(lv -> new AvailabilityTimeCell());
+	}
+
+	/**
+	 * Date picker cell that disables days with no free slot for the entered party size.
+	 */
+	private class AvailabilityDateCell extends DateCell {
+		@Override
+		public void updateItem(LocalDate date, boolean empty) {
+			super.updateItem(date, empty);
+			AvailabilityMatrix matrix = currentAvailability(parseGuests());
+			boolean full = !empty && date != null && matrix != null && !date.isBefore(LocalDate.now())
+					&& !matrix.hasAnySlot(date);
+			setDisable(isDisable() || full);
+			setStyle(full ? "-fx-opacity: 0.4;" : "");
+		}
+	}
+
+	/**
+	 * Time list cell that disables slots that are full on the selected date.
+	 */
+	private class AvailabilityTimeCell extends ListCell<String> {
+		@Override
+		protected void updateItem(String time, boolean empty) {
+			super.updateItem(time, empty);
+			setText(empty ? null : time);
+			AvailabilityMatrix matrix = currentAvailability(parseGuests());
+			LocalDate date = datePicker.getValue();
+			boolean full = !empty && time != null && matrix != null && date != null
+					&& !matrix.isAvailable(date, time);
+			setDisable(full);
+			setStyle(full ? "-fx-opacity: 0.4;" : "");
+		}
 	}
 
 	/**
@@ -168,10 +295,19 @@ public class OrderFrameController {
 			if (viewWaitingListBtn != null)
 				viewWaitingListBtn.setVisible(true);
 
+			SceneCache.preload(SceneCache.HISTORY_FRAME, SceneCache.REGISTER_FRAME, SceneCache.LOGIN_FRAME);
+
+			// Live updates instead of re-running reports
+			if (client != null) {
+				for (PushTopic topic : PushTopic.values())
+					client.handleMessageFromClientUI(new Message(ActionType.SUBSCRIBE, topic));
+			}
+
 			// Only Manager can see reports
 			if (userType.equalsIgnoreCase("Manager")) {
 				if (reportBtn != null)
 					reportBtn.setVisible(true);
+				SceneCache.preload(SceneCache.REPORT_FRAME);
 			} else {
 				if (reportBtn != null)
 					reportBtn.setVisible(false);
@@ -189,6 +325,8 @@ public class OrderFrameController {
 			if (editProfileBtn != null)
 				editProfileBtn.setVisible(true);
 
+			SceneCache.preload(SceneCache.HISTORY_FRAME, SceneCache.EDIT_PROFILE_FRAME, SceneCache.LOGIN_FRAME);
+
 		} else {
 			// Guest View
 			idTextField.setDisable(true);
@@ -290,10 +428,8 @@ public class OrderFrameController {
 				cPhone = guestPhone;
 			}
 
-			// Generate codes
-			int randomCode = 100000 + new java.util.Random().nextInt(900000);
-
-			Order newOrder = new Order(0, date, time, guests, randomCode, subIdToUse, LocalDate.now().toString(),
+			// The confirmation code is assigned by the server (returned with the saved order)
+			Order newOrder = new Order(0, date, time, guests, 0, subIdToUse, LocalDate.now().toString(),
 					"PENDING", 0, cName, cPhone);
 			if (userType.equalsIgnoreCase("Staff") || userType.equalsIgnoreCase("Manager")) {
 				if (nameTextField != null && !nameTextField.getText().trim().isEmpty()) {
@@ -511,12 +647,7 @@ public class OrderFrameController {
 	@FXML
 	public void openManagement(ActionEvent event) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/ManagementFrame.fxml"));
-			Parent root = loader.load();
-			Stage stage = new Stage();
-			stage.setTitle("Restaurant Management");
-			stage.setScene(new Scene(root));
-			stage.show();
+			SceneCache.show(SceneCache.open(SceneCache.MANAGEMENT_FRAME), "Restaurant Management");
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -527,12 +658,12 @@ public class OrderFrameController {
 		if (client != null) {
 			// Subscriber: Get own history
 			if (userType.equals("Subscriber")) {
-				client.handleMessageFromClientUI(new Message(ActionType.GET_ORDER, currentUserId));
+				openHistoryList(ActionType.GET_ORDER, historyRequest(currentUserId));
 				messageLabel.setText("Searching history...");
 			}
 			// Staff/Manager: Get ALL orders
 			else if (userType.equalsIgnoreCase("Staff") || userType.equalsIgnoreCase("Manager")) {
-				client.handleMessageFromClientUI(new Message(ActionType.GET_ALL_ORDERS, null));
+				openHistoryList(ActionType.GET_ALL_ORDERS, historyRequest(null));
 				messageLabel.setText("Loading all orders...");
 			}
 		}
@@ -578,12 +709,9 @@ public class OrderFrameController {
 	@FXML
 	public void logout(ActionEvent event) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/LoginFrame.fxml"));
-			Parent root = loader.load();
-			ChatClient.loginController = loader.getController();
-			Stage stage = new Stage();
-			stage.setScene(new Scene(root));
-			stage.show();
+			SceneCache.Screen<LoginFrameController> screen = SceneCache.open(SceneCache.LOGIN_FRAME);
+			ChatClient.loginController = screen.getController();
+			SceneCache.show(screen, null);
 			((Stage) logoutBtn.getScene().getWindow()).close();
 		} catch (IOException e) {
 			e.printStackTrace();
@@ -593,12 +721,9 @@ public class OrderFrameController {
 	@FXML
 	public void openRegister(ActionEvent event) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/RegisterFrame.fxml"));
-			Parent root = loader.load();
-			ChatClient.registerController = loader.getController();
-			Stage stage = new Stage();
-			stage.setScene(new Scene(root));
-			stage.show();
+			SceneCache.Screen<RegisterController> screen = SceneCache.open(SceneCache.REGISTER_FRAME);
+			ChatClient.registerController = screen.getController();
+			SceneCache.show(screen, null);
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -607,14 +732,9 @@ public class OrderFrameController {
 	@FXML
 	public void openEditProfile(ActionEvent event) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/EditProfileFrame.fxml"));
-			Parent root = loader.load();
-			EditProfileController ctrl = loader.getController();
-			ctrl.initData(currentUserId, guestName, guestPhone, guestEmail);
-			Stage stage = new Stage();
-			stage.setTitle("Edit Profile");
-			stage.setScene(new Scene(root));
-			stage.show();
+			SceneCache.Screen<EditProfileController> screen = SceneCache.open(SceneCache.EDIT_PROFILE_FRAME);
+			screen.getController().initData(currentUserId, guestName, guestPhone, guestEmail);
+			SceneCache.show(screen, "Edit Profile");
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -653,14 +773,10 @@ public class OrderFrameController {
 	@FXML
 	public void openReports(ActionEvent event) {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/ReportFrame.fxml"));
-			Parent root = loader.load();
-			ReportController controller = loader.getController();
-			controller.requestReportData();
-			Stage stage = new Stage();
-			stage.setTitle("Monthly Reports");
-			stage.setScene(new Scene(root));
-			stage.show();
+			// One report window per session; reopening it refreshes the current month
+			SceneCache.Screen<ReportController> screen = SceneCache.reuse(SceneCache.REPORT_FRAME);
+			screen.getController().requestReportData();
+			SceneCache.show(screen, "Monthly Reports");
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -669,11 +785,13 @@ public class OrderFrameController {
 	/**
 	 * Updates the UI fields based on messages received from the server.
 	 * Handles reports, order details, and success/failure notifications.
+	 * The update is applied by the {@link UiUpdatePump}; a pushed change or availability
+	 * matrix supersedes a queued one for the same order or party size.
 	 *
 	 * @param msg the message object received from the server
 	 */
 	public void updateFields(Object msg) {
-		Platform.runLater(() -> {
+		UiUpdatePump.submit(updateKey(msg), () -> {
 			if (msg instanceof Message) {
 				Message receivedMsg = (Message) msg;
 
@@ -681,48 +799,45 @@ public class OrderFrameController {
 
 				// 1. Daily Report
 				if (receivedMsg.getAction() == ActionType.GET_DAILY_REPORT) {
-					showScrollableAlert("Daily Active Orders", (String) receivedMsg.getContent());
+					if (receivedMsg.getContent() instanceof ReportChunk)
+						showReportChunk(ActionType.GET_DAILY_REPORT, "Daily Active Orders",
+								"No active or approved orders for today.", (ReportChunk<?>) receivedMsg.getContent());
+					else
+						showScrollableAlert("Daily Active Orders", (String) receivedMsg.getContent());
 					return;
 				}
 				// 2. Waiting List Report
 				if (receivedMsg.getAction() == ActionType.GET_WAITING_LIST) {
-					showScrollableAlert("Waiting List", (String) receivedMsg.getContent());
+					if (receivedMsg.getContent() instanceof ReportChunk)
+						showReportChunk(ActionType.GET_WAITING_LIST, "Waiting List", "Waiting list is empty.",
+								(ReportChunk<?>) receivedMsg.getContent());
+					else
+						showScrollableAlert("Waiting List", (String) receivedMsg.getContent());
+					return;
+				}
+
+				// Pushed order change (staff subscriptions)
+				if (receivedMsg.getAction() == ActionType.PUSH_EVENT) {
+					applyPushEvent((OrderChangeEvent) receivedMsg.getContent());
 					return;
 				}
 
-				// >>> 3. Smart Check-In (Identification) <<<
-				if (receivedMsg.getAction() == ActionType.GET_APPROVED_ORDERS_FOR_TODAY) {
-					ArrayList<String> list = (ArrayList<String>) receivedMsg.getContent();
-					showSmartSelectionDialog(list); 
+				// 3. Availability for the date picker
+				if (receivedMsg.getAction() == ActionType.GET_AVAILABILITY) {
+					if (receivedMsg.getContent() instanceof AvailabilityMatrix) {
+						AvailabilityMatrix matrix = (AvailabilityMatrix) receivedMsg.getContent();
+						availabilityCache.put(matrix.getGuests(), matrix);
+						availabilityReceivedAt.put(matrix.getGuests(), System.currentTimeMillis());
+						availabilityRequested.remove(matrix.getGuests());
+						refreshAvailabilityViews();
+					}
 					return;
 				}
-				// >>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>>
 
 				// 4. Handle General Content
 				Object content = receivedMsg.getContent();
 
-				if (content instanceof ArrayList) {
-					// --- Handle History ---
-					ArrayList<Order> list = (ArrayList<Order>) content;
-					if (!list.isEmpty()) {
-						try {
-							FXMLLoader loader = new FXMLLoader(getClass().getResource("/client/HistoryFrame.fxml"));
-							Parent root = loader.load();
-							HistoryController historyCtrl = loader.getController();
-							historyCtrl.setOrderList(list);
-							historyCtrl.setMainController(this);
-							Stage stage = new Stage();
-							stage.setTitle("My Order History");
-							stage.setScene(new Scene(root));
-							stage.show();
-							messageLabel.setText("History loaded.");
-						} catch (IOException e) {
-							e.printStackTrace();
-						}
-					} else {
-						messageLabel.setText("No orders found in history.");
-					}
-				} else if (content instanceof Order) {
+				if (content instanceof Order) {
 					fillOrderFields((Order) content);
 					messageLabel.setText("Order found.");
 				} else if (content instanceof String) {
@@ -738,8 +853,7 @@ public class OrderFrameController {
 						alert.showAndWait();
 
 						if (searchedClientId > 0) {
-							client.handleMessageFromClientUI(
-									new common.Message(common.ActionType.GET_HISTORY_BY_USER_ID, searchedClientId));
+							openHistoryList(ActionType.GET_HISTORY_BY_USER_ID, historyRequest(searchedClientId));
 						}
 						return;
 					}
@@ -780,6 +894,14 @@ public class OrderFrameController {
 
 					// --- Success / Failure Messages ---
 					if (response.toLowerCase().contains("success")) {
+						// Our own booking or cancellation changed the free slots
+						if (response.contains("Order Created") || response.contains("Deleted")) {
+							availabilityCache.clear();
+							availabilityReceivedAt.clear();
+							if (parseGuests() > 0)
+								requestAvailability(parseGuests());
+						}
+
 						if (response.contains("Order Created") && lastAttemptedOrder != null) {
 							showConfirmationCode(lastAttemptedOrder.get_confirmation_code());
 							if (!userType.equals("Subscriber") && !userType.equals("Customer")) {
@@ -809,6 +931,37 @@ public class OrderFrameController {
 		});
 	}
 
+	/**
+	 * Shows a report that arrives in chunks. The first chunk opens a new window and
+	 * every following chunk appends its rows, so the list is usable before the last
+	 * chunk arrives.
+	 *
+	 * @param type the report type
+	 * @param title the window title
+	 * @param emptyText the text shown when the report has no rows
+	 * @param chunk the received chunk
+	 */
+	private void showReportChunk(ActionType type, String title, String emptyText, ReportChunk<?> chunk) {
+		ListView<Object> view = openReports.get(type);
+		if (view == null || chunk.getChunkIndex() == 0) {
+			view = new ListView<>();
+			view.setPlaceholder(new Label("Loading..."));
+			Stage stage = new Stage();
+			stage.setTitle(title + " (" + chunk.getReportDate() + ")");
+			stage.setScene(new Scene(view, 640, 420));
+			ListView<Object> shown = view;
+			stage.setOnHidden(e -> liveReports.remove(type, shown));
+			stage.show();
+			openReports.put(type, view);
+			liveReports.put(type, view);
+		}
+		view.getItems().addAll(chunk.getRows());
+		if (chunk.isLast()) {
+			openReports.remove(type);
+			view.setPlaceholder(new Label(emptyText));
+		}
+	}
+
 	private void showScrollableAlert(String title, String content) {
 		Alert alert = new Alert(Alert.AlertType.INFORMATION);
 		alert.setTitle(title);
@@ -874,21 +1027,154 @@ public class OrderFrameController {
 		if (lastAttemptedOrder != null) {
 			int targetId = lastAttemptedOrder.get_subscriber_id();
 			System.out.println("DEBUG: Looking for history of User ID: " + targetId);
-			client.handleMessageFromClientUI(new common.Message(common.ActionType.GET_HISTORY_BY_USER_ID, targetId));
+			openHistoryList(ActionType.GET_HISTORY_BY_USER_ID, historyRequest(targetId));
 		} else {
 			messageLabel.setText("No client selected.");
 		}
 	}
 
 	/**
-	 * Loads order details into the main form.
+	 * Applies a pushed order change: updates the open daily report and waiting list
+	 * windows and tells the host about the transition.
+	 *
+	 * @param event the order change
+	 */
+	private void applyPushEvent(OrderChangeEvent event) {
+		String status = event.getNewStatus();
+		String time = event.getTime();
+		if (time != null && time.length() > 5)
+			time = time.substring(0, 5);
+
+		if (event.getTopic() == PushTopic.TODAY_ORDERS) {
+			ListView<Object> view = liveReports.get(ActionType.GET_DAILY_REPORT);
+			if (view != null) {
+				boolean listed = "APPROVED".equalsIgnoreCase(status) || "ACTIVE".equalsIgnoreCase(status);
+				int index = indexOfOrder(view, event.getOrderNumber());
+				String name = (index >= 0) ? ((DailyOrderRow) view.getItems().get(index)).getName() : event.getContact();
+				DailyOrderRow row = new DailyOrderRow(event.getOrderNumber(), time, name, event.getGuests(), status,
+						event.getTableId());
+				if (index >= 0 && listed)
+					view.getItems().set(index, row);
+				else if (index >= 0)
+					view.getItems().remove(index);
+				else if (listed)
+					view.getItems().add(row);
+			}
+		} else if (event.getTopic() == PushTopic.WAITING_LIST) {
+			ListView<Object> view = liveReports.get(ActionType.GET_WAITING_LIST);
+			if (view != null) {
+				int index = indexOfOrder(view, event.getOrderNumber());
+				WaitingListRow row = new WaitingListRow(event.getOrderNumber(), time, event.getGuests(),
+						event.getContact());
+				if ("WAITING".equalsIgnoreCase(status)) {
+					if (index >= 0)
+						view.getItems().set(index, row);
+					else
+						view.getItems().add(row);
+				} else if (index >= 0) {
+					view.getItems().remove(index);
+				}
+			}
+		}
+		messageLabel.setText("Live: " + event);
+	}
+
+	/**
+	 * Returns what a server message updates, for collapsing superseded updates.
+	 *
+	 * @param msg the message
+	 * @return the key, or null if the update must always be applied
+	 */
+	private static Object updateKey(Object msg) {
+		if (!(msg instanceof Message))
+			return null;
+		Message message = (Message) msg;
+		if (message.getAction() == ActionType.PUSH_EVENT && message.getContent() instanceof OrderChangeEvent) {
+			OrderChangeEvent event = (OrderChangeEvent) message.getContent();
+			return "push:" + event.getTopic() + ":" + event.getOrderNumber();
+		}
+		if (message.getAction() == ActionType.GET_AVAILABILITY && message.getContent() instanceof AvailabilityMatrix)
+			return "availability:" + ((AvailabilityMatrix) message.getContent()).getGuests();
+		return null;
+	}
+
+	private static int indexOfOrder(ListView<Object> view, int orderNumber) {
+		for (int i = 0; i < view.getItems().size(); i++) {
+			Object row = view.getItems().get(i);
+			if ((row instanceof DailyOrderRow && ((DailyOrderRow) row).getOrderNumber() == orderNumber)
+					|| (row instanceof WaitingListRow && ((WaitingListRow) row).getOrderNumber() == orderNumber))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Requests a page of an order list for the history window.
+	 *
+	 * @param action the list the page belongs to
+	 * @param request the page request
+	 * @return the future reply, completed on the network thread
+	 */
+	public CompletableFuture<Message> requestOrderPage(ActionType action, OrderPageRequest request) {
+		if (client == null)
+			return CompletableFuture.failedFuture(new IOException("Not connected"));
+		return client.request(new Message(action, request));
+	}
+
+	/**
+	 * Requests the first page of an order list and opens a history window showing it.
+	 *
+	 * @param action the list to open (GET_ORDER, GET_ALL_ORDERS or GET_HISTORY_BY_USER_ID)
+	 * @param request the first-page request
+	 */
+	private void openHistoryList(ActionType action, OrderPageRequest request) {
+		requestOrderPage(action, request).whenCompleteAsync((reply, error) -> {
+			if (error != null || !(reply.getContent() instanceof OrderPage)) {
+				messageLabel.setText(error != null ? "History request failed: " + error.getMessage()
+						: String.valueOf(reply.getContent()));
+				return;
+			}
+			OrderPage<?> page = (OrderPage<?>) reply.getContent();
+			if (page.getRows().isEmpty()) {
+				messageLabel.setText("No orders found in history.");
+				return;
+			}
+			try {
+				// One history window per session, reset for each list
+				SceneCache.Screen<HistoryController> screen = SceneCache.reuse(SceneCache.HISTORY_FRAME);
+				HistoryController historyCtrl = screen.getController();
+				historyCtrl.setMainController(this);
+				historyCtrl.showPage(action, page);
+				SceneCache.show(screen, action == ActionType.GET_ALL_ORDERS ? "All Orders"
+						: action == ActionType.GET_HISTORY_BY_USER_ID ? "Client History" : "My Order History");
+				messageLabel.setText("History loaded.");
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}, UiUpdatePump::run);
+	}
+
+	/**
+	 * Builds the first-page request of a history list. Lists only show a few columns,
+	 * so they ask for {@link OrderSummary} rows; the full order is loaded when a row is opened.
+	 *
+	 * @param subscriberId the subscriber whose orders are listed, or null for all orders
+	 * @return the page request
+	 */
+	private static OrderPageRequest historyRequest(Integer subscriberId) {
+		return new OrderPageRequest(OrderPageRequest.DEFAULT_PAGE_SIZE, subscriberId, null, null, null,
+				OrderPageRequest.Projection.SUMMARY);
+	}
+
+	/**
+	 * Loads an order into the main form.
 	 * Typically called from the HistoryController when a row is selected.
 	 *
-	 * @param order the selected order
+	 * @param orderNumber the selected order
 	 */
-	public void loadOrderFromHistory(Order order) {
-		fillOrderFields(order);
-		messageLabel.setText("Order " + order.get_order_number() + " loaded.");
+	public void loadOrderFromHistory(int orderNumber) {
+		idTextField.setText(String.valueOf(orderNumber));
+		searchOrder(null);
 	}
 
 	private int searchedClientId = 0;
@@ -909,8 +1195,13 @@ public class OrderFrameController {
 				int id = Integer.parseInt(idStr);
 				this.searchedClientId = id; 
 
-				// 3. Request details from server
-				client.handleMessageFromClientUI(new common.Message(common.ActionType.GET_SUBSCRIBER_DETAILS, id));
+				// 3. Request details from server (answered from the read cache when fresh)
+				client.request(new Message(ActionType.GET_SUBSCRIBER_DETAILS, id)).whenComplete((reply, error) -> {
+					if (error != null)
+						UiUpdatePump.run(() -> messageLabel.setText("Client lookup failed: " + error.getMessage()));
+					else
+						updateFields(reply);
+				});
 
 			} catch (NumberFormatException e) {
 				messageLabel.setText("Invalid ID format.");
@@ -920,14 +1211,23 @@ public class OrderFrameController {
 
 	/**
 	 * Triggers the Smart Check-In process.
-	 * Fetches the list of approved orders for today to allow quick selection.
+	 * Syncs the local order cache (only changes since the last check-in are sent)
+	 * and offers today's approved orders for quick selection.
 	 *
 	 * @param event the button click event
 	 */
 	@FXML
 	public void smartCheckIn(ActionEvent event) {
 		if (client != null) {
-			client.handleMessageFromClientUI(new common.Message(common.ActionType.GET_APPROVED_ORDERS_FOR_TODAY, null));
+			client.request(new Message(ActionType.SYNC_ORDERS, orderCache.getVersion()))
+					.whenCompleteAsync((reply, error) -> {
+						if (error != null) {
+							messageLabel.setText("Check-in list request failed: " + error.getMessage());
+							return;
+						}
+						orderCache.apply((OrderSync) reply.getContent());
+						showSmartSelectionDialog(orderCache.approvedForToday());
+					}, UiUpdatePump::run);
 		}
 	}
 
@@ -936,7 +1236,7 @@ public class OrderFrameController {
 	 *
 	 * @param ordersList the list of strings representing today's approved orders
 	 */
-	private void showSmartSelectionDialog(ArrayList<String> ordersList) {
+	private void showSmartSelectionDialog(ArrayList<OrderSummary> ordersList) {
 		if (ordersList.isEmpty()) {
 			Alert alert = new Alert(AlertType.INFORMATION);
 			alert.setTitle("Smart Check-In");
@@ -947,28 +1247,18 @@ public class OrderFrameController {
 		}
 
 		// Selection Dialog
-		javafx.scene.control.ChoiceDialog<String> dialog = new javafx.scene.control.ChoiceDialog<>(ordersList.get(0),
-				ordersList);
+		javafx.scene.control.ChoiceDialog<OrderSummary> dialog = new javafx.scene.control.ChoiceDialog<>(
+				ordersList.get(0), ordersList);
 		dialog.setTitle("Quick Identification");
 		dialog.setHeaderText("Select Arriving Client (No Manual Entry)");
 		dialog.setContentText("Choose Order:");
 
-		java.util.Optional<String> result = dialog.showAndWait();
-
-		result.ifPresent(selectedString -> {
-			try {
-				// Format: "Order #105 | 18:00..."
-				// Extract the number after '#'
-				String[] parts = selectedString.split("#");
-				String idPart = parts[1].split(" ")[0]; 
+		java.util.Optional<OrderSummary> result = dialog.showAndWait();
 
-				// --- Automatic Action ---
-				idTextField.setText(idPart); // 1. Fill ID
-				searchOrder(null); // 2. Trigger Search
-
-			} catch (Exception e) {
-				e.printStackTrace();
-			}
+		result.ifPresent(selected -> {
+			// --- Automatic Action ---
+			idTextField.setText(String.valueOf(selected.getOrderNumber())); // 1. Fill ID
+			searchOrder(null); // 2. Trigger Search
 		});
 	}
 
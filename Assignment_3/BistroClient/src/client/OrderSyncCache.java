@@ -0,0 +1,82 @@
+package client;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import common.Order;
+import common.OrderSync;
+import common.OrderSummary;
+
+/**
+ * Client-side copy of today's and upcoming orders, kept current with SYNC_ORDERS.
+ * Only the orders changed since the last sync are transferred, so refreshing a staff
+ * screen costs as much as the activity since the previous refresh, not the table size.
+ * Used on the JavaFX thread only.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderSyncCache {
+
+    /** The cached orders, keyed by order number. */
+    private final HashMap<Integer, Order> orders = new HashMap<>();
+
+    /** The version the cache is synced to. */
+    private long version = OrderSync.FULL;
+
+    /**
+     * Returns the version to send with the next SYNC_ORDERS request.
+     *
+     * @return the synced version, or OrderSync.FULL before the first sync
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies a sync answer from the server.
+     *
+     * @param sync the changes since the cached version
+     */
+    public void apply(OrderSync sync) {
+        if (sync.isFull())
+            orders.clear();
+        for (Order o : sync.getChanged())
+            orders.put(o.get_order_number(), o);
+        for (int orderNumber : sync.getRemoved())
+            orders.remove(orderNumber);
+        version = sync.getVersion();
+
+        // Orders of days that have passed are no longer part of the synced range
+        String today = LocalDate.now().toString();
+        for (Iterator<Order> it = orders.values().iterator(); it.hasNext();) {
+            String date = it.next().get_order_date();
+            if (date == null || date.compareTo(today) < 0)
+                it.remove();
+        }
+    }
+
+    /**
+     * Returns today's approved orders by time, for the smart check-in list.
+     *
+     * @return the orders as summaries
+     */
+    public ArrayList<OrderSummary> approvedForToday() {
+        String today = LocalDate.now().toString();
+        ArrayList<Order> list = new ArrayList<>();
+        for (Order o : orders.values()) {
+            if (today.equals(o.get_order_date()) && "APPROVED".equalsIgnoreCase(o.get_status()))
+                list.add(o);
+        }
+        list.sort(Comparator.comparing(o -> o.get_order_time() == null ? "" : o.get_order_time()));
+
+        ArrayList<OrderSummary> summaries = new ArrayList<>();
+        for (Order o : list) {
+            summaries.add(new OrderSummary(o.get_order_number(), o.get_order_date(), o.get_order_time(),
+                    o.get_number_of_guests(), o.get_status(), o.get_table_id(), o.get_subscriber_id()));
+        }
+        return summaries;
+    }
+}
@@ -1,6 +1,14 @@
 package client;
 
-import javafx.application.Platform;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -8,10 +16,19 @@ import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.PieChart;
 import javafx.scene.chart.XYChart;
+import javafx.scene.control.Alert;
 import javafx.scene.control.Label; 
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import common.ActionMetrics;
 import common.ActionType;
 import common.Message;
+import common.MonthlyReport;
+import common.OrderExportRow;
+import common.QueryMetrics;
+import common.ReportChunk;
 
 /**
  * Controller for the Monthly Reports window.
@@ -31,33 +48,200 @@ public class ReportController {
     /** Label for displaying the punctuality summary. */
     @FXML private Label delayLabel; 
 
+    /** First month of a custom report range (YYYY-MM). */
+    @FXML private TextField fromMonthField;
+
+    /** Last month of a custom report range (YYYY-MM). */
+    @FXML private TextField toMonthField;
+
+    /** The CSV file being written by a running export, or null. */
+    private BufferedWriter exportWriter;
+
+    /** The path of the running export's file, deleted if the export fails. */
+    private Path exportFile;
+
+    /** Number of orders written by the running export. */
+    private int exportedRows;
+
     /**
      * Sends a request to the server to fetch the monthly report data.
-     * Sets the current controller instance in ChatClient to handle the response.
      */
     public void requestReportData() {
-        if (ClientUI.chat != null) {
-            ChatClient.reportController = this; 
-            ClientUI.chat.handleMessageFromClientUI(new Message(ActionType.GET_REPORT, null));
+        requestReport(null);
+    }
+
+    /**
+     * Requests the report of the month range typed by the manager.
+     * An empty "To" field means a single month.
+     *
+     * @param event the button click event
+     */
+    @FXML
+    public void loadRange(ActionEvent event) {
+        String from = fromMonthField.getText().trim();
+        String to = toMonthField.getText().trim();
+        if (to.isEmpty())
+            to = from;
+        if (!from.matches("\\d{4}-\\d{2}") || !to.matches("\\d{4}-\\d{2}")) {
+            delayLabel.setText("Please enter months as YYYY-MM.");
+            return;
+        }
+        requestReport(from + "::" + to);
+    }
+
+    /**
+     * Requests a report and shows it when the reply arrives.
+     *
+     * @param range the month range ("YYYY-MM::YYYY-MM"), or null for the current month
+     */
+    private void requestReport(String range) {
+        if (ClientUI.chat == null)
+            return;
+        ClientUI.chat.request(new Message(ActionType.GET_REPORT, range)).whenComplete((reply, error) -> {
+            if (error != null)
+                UiUpdatePump.submit(delayLabel, () -> delayLabel.setText("Report request failed: " + error.getMessage()));
+            else
+                updateReport(reply.getContent());
+        });
+    }
+
+    /**
+     * Exports the orders of the month range typed by the manager (or every order when the
+     * range is empty) to a CSV file. The server streams the orders in chunks and each chunk
+     * is written to the file as it arrives, so the export never has to fit in memory.
+     *
+     * @param event the button click event
+     */
+    @FXML
+    public void exportOrders(ActionEvent event) {
+        if (exportWriter != null) {
+            delayLabel.setText("An export is already running.");
+            return;
+        }
+        String from = fromMonthField.getText().trim();
+        String to = toMonthField.getText().trim();
+        if (to.isEmpty())
+            to = from;
+        if (!from.isEmpty() && (!from.matches("\\d{4}-\\d{2}") || !to.matches("\\d{4}-\\d{2}"))) {
+            delayLabel.setText("Please enter months as YYYY-MM.");
+            return;
+        }
+
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Orders");
+        chooser.setInitialFileName(from.isEmpty() ? "orders.csv" : "orders_" + from + "_" + to + ".csv");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+        File file = chooser.showSaveDialog(activityChart.getScene().getWindow());
+        if (file == null || ClientUI.chat == null)
+            return;
+
+        try {
+            exportFile = file.toPath();
+            exportWriter = Files.newBufferedWriter(exportFile, StandardCharsets.UTF_8);
+            exportWriter.write(OrderExportRow.CSV_HEADER);
+            exportWriter.newLine();
+        } catch (IOException e) {
+            delayLabel.setText("Cannot write " + file.getName() + ": " + e.getMessage());
+            discardExport();
+            return;
+        }
+        exportedRows = 0;
+        delayLabel.setText("Exporting orders...");
+        ChatClient.reportController = this;
+        ClientUI.chat.handleMessageFromClientUI(
+                new Message(ActionType.EXPORT_ORDERS, from.isEmpty() ? null : from + "::" + to));
+    }
+
+    /**
+     * Writes a chunk of the running export to the CSV file.
+     * Called on the network thread, so the file is written without involving the UI thread.
+     *
+     * An error text ends the export and deletes the partial file.
+     *
+     * @param content a {@link ReportChunk} of {@link OrderExportRow}, or an error text
+     */
+    @SuppressWarnings("unchecked")
+    public void exportChunk(Object content) {
+        if (!(content instanceof ReportChunk)) {
+            boolean deleted = discardExport();
+            UiUpdatePump.submit(delayLabel, () -> delayLabel.setText(content
+                    + (deleted ? " The incomplete file was deleted." : "")));
+            return;
+        }
+        if (exportWriter == null)
+            return;
+        ReportChunk<OrderExportRow> chunk = (ReportChunk<OrderExportRow>) content;
+        try {
+            for (OrderExportRow row : chunk.getRows()) {
+                exportWriter.write(row.toCsv());
+                exportWriter.newLine();
+            }
+            exportedRows += chunk.getRows().size();
+        } catch (IOException e) {
+            discardExport();
+            UiUpdatePump.submit(delayLabel, () -> delayLabel.setText("Export failed: " + e.getMessage()));
+            return;
+        }
+        int rows = exportedRows;
+        if (chunk.isLast()) {
+            closeExport();
+            UiUpdatePump.submit(delayLabel, () -> delayLabel.setText("Exported " + rows + " orders."));
+        } else {
+            // Progress updates for the label collapse into one per batch
+            UiUpdatePump.submit(delayLabel, () -> delayLabel.setText("Exporting orders... " + rows));
+        }
+    }
+
+    private void closeExport() {
+        try {
+            if (exportWriter != null)
+                exportWriter.close();
+        } catch (IOException e) {
+            System.out.println("Error closing export file: " + e.getMessage());
+        }
+        exportWriter = null;
+    }
+
+    /**
+     * Closes a failed export and deletes its incomplete file.
+     *
+     * @return true if a file was deleted
+     */
+    private boolean discardExport() {
+        boolean running = exportWriter != null;
+        closeExport();
+        Path file = exportFile;
+        exportFile = null;
+        if (!running || file == null)
+            return false;
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.out.println("Error deleting export file: " + e.getMessage());
+            return false;
         }
     }
 
     /**
      * Updates the charts and labels with data received from the server.
-     * This method runs on the JavaFX Application Thread.
+     * The charts are redrawn by the {@link UiUpdatePump}; a newer report replaces one still queued.
      *
-     * @param data a comma-separated string containing all report statistics
+     * @param data the {@link MonthlyReport}, or an error text
      */
-    public void updateReport(String data) {
-        Platform.runLater(() -> {
+    public void updateReport(Object data) {
+        UiUpdatePump.submit(activityChart, () -> {
             try {
-                String[] parts = data.split(",");
+                if (!(data instanceof MonthlyReport)) {
+                    delayLabel.setText(String.valueOf(data));
+                    return;
+                }
+                MonthlyReport report = (MonthlyReport) data;
                 
                 // --- Part 1: Pie Chart Data ---
-                int total = Integer.parseInt(parts[0]);
-                int cancelled = Integer.parseInt(parts[1]);
-                int noShow = Integer.parseInt(parts[2]);
-                int waiting = Integer.parseInt(parts[3]);
+                int total = report.getTotal();
+                int cancelled = report.getCancelled();
+                int noShow = report.getNoShow();
+                int waiting = report.getWaiting();
                 
                 int approved = total - cancelled - noShow;
                 if (approved < 0) approved = 0;
@@ -69,7 +253,7 @@ public class ReportController {
                     new PieChart.Data("Waiting (" + waiting + ")", waiting)
                 );
                 statusPieChart.setData(pieData);
-                statusPieChart.setTitle("Orders Status");
+                statusPieChart.setTitle("Orders Status (" + report.getPeriod() + ")");
 
                 // --- Part 2: Bar Chart Data ---
                 activityChart.setAnimated(false);
@@ -83,27 +267,20 @@ public class ReportController {
                 seriesLeft.setName("Left");
                 
                 int startHour = 12;
+                int[] arrived = report.getArrivalsByHour();
+                int[] left = report.getDeparturesByHour();
 
                 // Loop for 12 hours (12:00 to 23:00)
-                for (int i = 0; i < 12; i++) {
-                    String timeLabel = String.format("%02d:00", startHour + i);
-                    
-                    // Safe parsing using fixed indices
-                    int arrivedVal = Integer.parseInt(parts[4 + i]);
-                    int leftVal = Integer.parseInt(parts[16 + i]);
-                    
-                    seriesArrived.getData().add(new XYChart.Data<>(timeLabel, arrivedVal));
-                    seriesLeft.getData().add(new XYChart.Data<>(timeLabel, leftVal));
+                for (int hour = startHour; hour < 24; hour++) {
+                    String timeLabel = String.format("%02d:00", hour);
+                    seriesArrived.getData().add(new XYChart.Data<>(timeLabel, arrived[hour]));
+                    seriesLeft.getData().add(new XYChart.Data<>(timeLabel, left[hour]));
                 }
                 activityChart.getData().addAll(seriesArrived, seriesLeft);
 
                 // --- Part 3: Update Delay Label ---
-                if (parts.length >= 30) {
-                    int lateVal = Integer.parseInt(parts[28]);   // Late arrivals
-                    int actualVal = Integer.parseInt(parts[29]); // Total arrivals
-                    
-                    updateDelayLabel(actualVal, lateVal);
-                }
+                updateDelayLabel(report.getActualArrivals(), report.getLateArrivals(), report.getCovers(),
+                        report.getAverageStayMinutes());
                 
             } catch (Exception e) {
                 e.printStackTrace();
@@ -116,8 +293,10 @@ public class ReportController {
      *
      * @param actualArrivals total number of customers who arrived
      * @param trueLate number of customers who arrived late (>10 mins)
+     * @param covers number of guests who arrived
+     * @param averageStay average stay in minutes
      */
-    private void updateDelayLabel(int actualArrivals, int trueLate) {
+    private void updateDelayLabel(int actualArrivals, int trueLate, int covers, double averageStay) {
         if (delayLabel == null) return; 
 
         if (actualArrivals == 0) {
@@ -130,8 +309,10 @@ public class ReportController {
         String text = String.format(
             "Punctuality Report:\n" +
             "Total Arrived: %d\n" +
-            "❌ Late (>10m): %d (%.1f%%)",
-            actualArrivals, trueLate, latePct
+            "❌ Late (>10m): %d (%.1f%%)\n" +
+            "Covers: %d\n" +
+            "Average Stay: %.0f min",
+            actualArrivals, trueLate, latePct, covers, averageStay
         );
         delayLabel.setText(text);
     }
@@ -164,6 +345,44 @@ public class ReportController {
         delayLabel.setText(text);
     }
 
+    /**
+     * Shows the server's per-request-type latency and throughput metrics
+     * and its most expensive SQL statements.
+     * @param event the button click event
+     */
+    @FXML
+    @SuppressWarnings("unchecked")
+    public void showServerMetrics(ActionEvent event) {
+        if (ClientUI.chat == null)
+            return;
+        CompletableFuture<Message> requests = ClientUI.chat.request(new Message(ActionType.GET_SERVER_METRICS, null));
+        CompletableFuture<Message> queries = ClientUI.chat.request(new Message(ActionType.GET_QUERY_METRICS, null));
+        requests.thenCombine(queries, (reply, queryReply) -> {
+            StringBuilder text = new StringBuilder();
+            for (ActionMetrics m : (ArrayList<ActionMetrics>) reply.getContent())
+                text.append(m).append('\n');
+            text.append("\nMost expensive SQL statements:\n");
+            for (QueryMetrics q : (ArrayList<QueryMetrics>) queryReply.getContent())
+                text.append(q).append('\n');
+            return text;
+        }).whenCompleteAsync((text, error) -> {
+            if (error != null) {
+                delayLabel.setText("Metrics request failed: " + error.getMessage());
+                return;
+            }
+            TextArea area = new TextArea(text.length() > 0 ? text.toString() : "No requests recorded yet.");
+            area.setEditable(false);
+            area.setStyle("-fx-font-family: monospace;");
+            area.setPrefSize(900, 400);
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Server Request Metrics");
+            alert.setHeaderText("Latency per request type (microseconds)");
+            alert.getDialogPane().setContent(area);
+            alert.setResizable(true);
+            alert.show();
+        }, UiUpdatePump::run);
+    }
+
     /**
      * Closes the report window.
      * @param event the button click event
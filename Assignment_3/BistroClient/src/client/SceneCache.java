@@ -0,0 +1,205 @@
+package client;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * Builds the client's screens and keeps likely-next screens ready.
+ * A preloaded screen is parsed from its FXML on a background thread, so opening it
+ * only has to show the already-built scene graph; after it is handed out a new spare
+ * is prepared for the next opening. Screens opened with {@link #reuse} keep one
+ * controller and window for the whole session. The time from navigation to the first
+ * laid-out frame of each screen is logged.
+ * @author Group-17
+ * @version 1.0
+ */
+public class SceneCache {
+
+    public static final String LOGIN_FRAME = "/client/LoginFrame.fxml";
+    public static final String ORDER_FRAME = "/client/OrderFrame.fxml";
+    public static final String HISTORY_FRAME = "/client/HistoryFrame.fxml";
+    public static final String REPORT_FRAME = "/client/ReportFrame.fxml";
+    public static final String REGISTER_FRAME = "/client/RegisterFrame.fxml";
+    public static final String EDIT_PROFILE_FRAME = "/client/EditProfileFrame.fxml";
+    public static final String FORGOT_ID_FRAME = "/client/ForgotIdFrame.fxml";
+    public static final String MANAGEMENT_FRAME = "/client/ManagementFrame.fxml";
+
+    /**
+     * A loaded screen: its scene graph and controller.
+     *
+     * @param <C> the controller type
+     */
+    public static class Screen<C> {
+        private final String fxml;
+        private final Parent root;
+        private final C controller;
+        private final boolean preloaded;
+        private Stage stage;
+        private long openedAt;
+
+        private Screen(String fxml, Parent root, C controller, boolean preloaded) {
+            this.fxml = fxml;
+            this.root = root;
+            this.controller = controller;
+            this.preloaded = preloaded;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        public C getController() {
+            return controller;
+        }
+    }
+
+    /** Thread parsing preloaded screens. */
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "scene-preload");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Screens kept ready: a spare is prepared again each time one is handed out. */
+    private static final Set<String> warm = ConcurrentHashMap.newKeySet();
+
+    /** The spare instance of each warm screen. */
+    private static final ConcurrentHashMap<String, CompletableFuture<Screen<?>>> spares = new ConcurrentHashMap<>();
+
+    /** The single instance of each reused screen (FX thread only). */
+    private static final HashMap<String, Screen<?>> reused = new HashMap<>();
+
+    /** Time-to-interactive per screen: count, total and max milliseconds (FX thread only). */
+    private static final HashMap<String, long[]> timings = new HashMap<>();
+
+    /**
+     * Starts preparing screens the user is likely to open next.
+     *
+     * @param fxmls the screens' FXML resources
+     */
+    public static void preload(String... fxmls) {
+        for (String fxml : fxmls) {
+            warm.add(fxml);
+            prepareSpare(fxml);
+        }
+    }
+
+    /**
+     * Returns a new instance of a screen, using the preloaded spare when it is ready.
+     * Must be called on the FX thread.
+     *
+     * @param <C> the controller type
+     * @param fxml the screen's FXML resource
+     * @return the screen
+     * @throws IOException if the FXML cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Screen<C> open(String fxml) throws IOException {
+        long start = System.nanoTime();
+        Screen<?> screen = null;
+        CompletableFuture<Screen<?>> spare = spares.get(fxml);
+        if (spare != null && spare.isDone()) {
+            spares.remove(fxml, spare);
+            screen = spare.isCompletedExceptionally() ? null : spare.join();
+        }
+        if (screen == null)
+            screen = load(fxml, false);
+        if (warm.contains(fxml))
+            prepareSpare(fxml);
+        screen.openedAt = start;
+        return (Screen<C>) screen;
+    }
+
+    /**
+     * Returns the session's single instance of a screen, loading it the first time.
+     * Its controller and window are kept, so opening it again only shows it.
+     * Must be called on the FX thread.
+     *
+     * @param <C> the controller type
+     * @param fxml the screen's FXML resource
+     * @return the screen
+     * @throws IOException if the FXML cannot be loaded
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Screen<C> reuse(String fxml) throws IOException {
+        long start = System.nanoTime();
+        Screen<?> screen = reused.get(fxml);
+        if (screen == null) {
+            warm.remove(fxml);
+            screen = open(fxml);
+            reused.put(fxml, screen);
+        }
+        screen.openedAt = start;
+        return (Screen<C>) screen;
+    }
+
+    /**
+     * Shows a screen in a window (its own window for a reused screen, a new one otherwise)
+     * and logs the time until its first frame is laid out.
+     *
+     * @param screen the screen
+     * @param title the window title, or null to leave it unset
+     * @return the window
+     */
+    public static Stage show(Screen<?> screen, String title) {
+        boolean isReused = reused.get(screen.fxml) == screen;
+        Stage stage = isReused ? screen.stage : null;
+        String how = (stage != null) ? " (reused)" : screen.preloaded ? " (preloaded)" : "";
+        if (stage == null) {
+            stage = new Stage();
+            stage.setScene(new Scene(screen.root));
+            if (isReused)
+                screen.stage = stage;
+        }
+        if (title != null)
+            stage.setTitle(title);
+        measure(screen, stage.getScene(), how);
+        stage.show();
+        stage.toFront();
+        return stage;
+    }
+
+    private static void measure(Screen<?> screen, Scene scene, String how) {
+        long start = screen.openedAt;
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            long[] t = timings.computeIfAbsent(screen.fxml, k -> new long[3]);
+            t[0]++;
+            t[1] += ms;
+            t[2] = Math.max(t[2], ms);
+            System.out.println("Screen " + screen.fxml + " interactive in " + ms + " ms" + how + ", avg " + (t[1] / t[0]) + " ms, max " + t[2]
+                    + " ms over " + t[0] + " openings.");
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    private static void prepareSpare(String fxml) {
+        spares.computeIfAbsent(fxml, k -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(k, true);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Could not preload " + k + ": " + e.getMessage());
+                warm.remove(k);
+                throw new IllegalStateException(e);
+            }
+        }, loader));
+    }
+
+    private static Screen<?> load(String fxml, boolean preloaded) throws IOException {
+        FXMLLoader fxmlLoader = new FXMLLoader(SceneCache.class.getResource(fxml));
+        Parent root = fxmlLoader.load();
+        return new Screen<>(fxml, root, fxmlLoader.getController(), preloaded);
+    }
+}
@@ -0,0 +1,133 @@
+package client;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import javafx.application.Platform;
+
+/**
+ * Applies UI updates caused by server messages on the JavaFX thread in batches,
+ * with a single pending {@code Platform.runLater} task instead of one per message.
+ * An update may carry a key naming what it updates (an order in a live list, the report
+ * charts...); a newer update with the same key replaces the queued one, so a burst of
+ * pushed changes to the same entity is applied once. Each batch runs updates for at most
+ * {@link #BATCH_BUDGET_NANOS}, leaving the rest for another task so rendering and input
+ * are not starved. The batches run as ordinary FX tasks, outside animation and layout
+ * processing, so an update may open a modal dialog ({@code showAndWait}).
+ * @author Group-17
+ * @version 1.0
+ */
+public class UiUpdatePump {
+
+    /** Time (nanoseconds) a single batch may spend applying updates. */
+    private static final long BATCH_BUDGET_NANOS = 8_000_000;
+
+    /**
+     * A queued update.
+     */
+    private static class Update {
+        final Object key;
+        Runnable action;
+
+        Update(Object key, Runnable action) {
+            this.key = key;
+            this.action = action;
+        }
+    }
+
+    /** Updates waiting for the next batch, in arrival order. */
+    private static final ArrayDeque<Update> queue = new ArrayDeque<>();
+
+    /** Queued updates by key, to replace superseded ones. */
+    private static final HashMap<Object, Update> byKey = new HashMap<>();
+
+    /** Whether a batch task is waiting to run. */
+    private static boolean scheduled = false;
+
+    /**
+     * Queues an update that is never collapsed. Usable as an executor for
+     * future continuations: {@code whenCompleteAsync(..., UiUpdatePump::run)}.
+     *
+     * @param action the update
+     */
+    public static void run(Runnable action) {
+        submit(null, action);
+    }
+
+    /**
+     * Queues an update. If an update with the same key is still waiting it is replaced,
+     * keeping its place in the queue.
+     *
+     * @param key what the update updates, or null if it must always run
+     * @param action the update
+     */
+    public static void submit(Object key, Runnable action) {
+        synchronized (queue) {
+            Update queued = (key == null) ? null : byKey.get(key);
+            if (queued != null) {
+                queued.action = action;
+            } else {
+                Update update = new Update(key, action);
+                queue.addLast(update);
+                if (key != null)
+                    byKey.put(key, update);
+            }
+            if (scheduled)
+                return;
+            scheduled = true;
+        }
+        Platform.runLater(UiUpdatePump::drain);
+    }
+
+    /**
+     * Applies the queued updates on the FX thread, within the batch budget.
+     * The queue is taken as a whole first, so updates submitted while an update blocks
+     * (a modal dialog runs a nested event loop) get a batch task of their own.
+     */
+    private static void drain() {
+        ArrayDeque<Update> batch;
+        synchronized (queue) {
+            batch = new ArrayDeque<>(queue);
+            queue.clear();
+            byKey.clear();
+            scheduled = false;
+        }
+        long deadline = System.nanoTime() + BATCH_BUDGET_NANOS;
+        while (!batch.isEmpty()) {
+            if (System.nanoTime() >= deadline) {
+                requeue(batch);
+                return;
+            }
+            try {
+                batch.pollFirst().action.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Puts the updates a batch had no time for back at the head of the queue, unless a
+     * newer update with the same key was submitted meanwhile, and schedules another batch.
+     *
+     * @param rest the updates left, in order
+     */
+    private static void requeue(ArrayDeque<Update> rest) {
+        synchronized (queue) {
+            for (Iterator<Update> it = rest.descendingIterator(); it.hasNext();) {
+                Update update = it.next();
+                if (update.key != null) {
+                    if (byKey.containsKey(update.key))
+                        continue;
+                    byKey.put(update.key, update);
+                }
+                queue.addFirst(update);
+            }
+            if (scheduled)
+                return;
+            scheduled = true;
+        }
+        Platform.runLater(UiUpdatePump::drain);
+    }
+}
@@ -0,0 +1,67 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the server's request metrics for one action (GET_SERVER_METRICS).
+ * Latencies are in microseconds; queries are the SQL statements executed per request.
+ * @author Group-17
+ * @version 1.0
+ */
+public class ActionMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ActionType action;
+    private final long count;
+    private final long errors;
+    private final int inFlight;
+    private final double perSecond;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+    private final double meanQueries;
+    private final long maxQueries;
+
+    /**
+     * Constructs a snapshot.
+     */
+    public ActionMetrics(ActionType action, long count, long errors, int inFlight, double perSecond, long meanMicros,
+            long p50Micros, long p99Micros, long p999Micros, long maxMicros, double meanQueries, long maxQueries) {
+        this.action = action;
+        this.count = count;
+        this.errors = errors;
+        this.inFlight = inFlight;
+        this.perSecond = perSecond;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+        this.meanQueries = meanQueries;
+        this.maxQueries = maxQueries;
+    }
+
+    public ActionType getAction() { return action; }
+    public long getCount() { return count; }
+    public long getErrors() { return errors; }
+    public int getInFlight() { return inFlight; }
+    public double getPerSecond() { return perSecond; }
+    public long getMeanMicros() { return meanMicros; }
+    public long getP50Micros() { return p50Micros; }
+    public long getP99Micros() { return p99Micros; }
+    public long getP999Micros() { return p999Micros; }
+    public long getMaxMicros() { return maxMicros; }
+    public double getMeanQueries() { return meanQueries; }
+    public long getMaxQueries() { return maxQueries; }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "%-30s n=%d err=%d busy=%d %.2f/s mean=%dus p50=%dus p99=%dus p999=%dus max=%dus sql/req=%.1f (max %d)",
+                action, count, errors, inFlight, perSecond, meanMicros, p50Micros, p99Micros, p999Micros, maxMicros,
+                meanQueries, maxQueries);
+    }
+}
@@ -30,5 +30,15 @@ public enum ActionType {
     GET_WAITING_LIST,
     GET_HISTORY_BY_USER_ID,
     GET_SUBSCRIBER_DETAILS,
-    GET_APPROVED_ORDERS_FOR_TODAY
+    GET_AVAILABILITY,
+    EXPORT_ORDERS,
+    SYNC_ORDERS,
+    SUBSCRIBE,
+    UNSUBSCRIBE,
+    PUSH_EVENT,
+    SESSION_TOKEN,
+    RESUME_SESSION,
+    INVALIDATE_CACHE,
+    GET_SERVER_METRICS,
+    GET_QUERY_METRICS
 }
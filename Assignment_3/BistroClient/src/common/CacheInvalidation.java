@@ -0,0 +1,44 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Tells clients that cached replies to a read request are stale (INVALIDATE_CACHE).
+ * Broadcast by the server when the data behind them changes.
+ * @author Group-17
+ * @version 1.0
+ */
+public class CacheInvalidation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The read request whose replies are stale. */
+    private final ActionType action;
+
+    /** The request content whose reply is stale, or null for every reply of the action. */
+    private final Serializable key;
+
+    /**
+     * Constructs an invalidation.
+     *
+     * @param action the read request whose replies are stale
+     * @param key the request content whose reply is stale, or null for all
+     */
+    public CacheInvalidation(ActionType action, Serializable key) {
+        this.action = action;
+        this.key = key;
+    }
+
+    public ActionType getAction() {
+        return action;
+    }
+
+    public Serializable getKey() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return "Invalidate " + action + (key != null ? " " + key : "");
+    }
+}
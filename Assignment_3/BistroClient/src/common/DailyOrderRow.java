@@ -0,0 +1,59 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * A single row of the daily orders report (today's approved and active orders).
+ * @author Group-17
+ * @version 1.0
+ */
+public class DailyOrderRow implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int orderNumber;
+    private String time;
+    private String name;
+    private int guests;
+    private String status;
+
+    /** The table the party sits at, or 0 if not seated. */
+    private int tableId;
+
+    /**
+     * Constructs a new DailyOrderRow.
+     *
+     * @param orderNumber the order number
+     * @param time the order time (HH:MM)
+     * @param name the display name of the client
+     * @param guests the number of guests
+     * @param status the order status
+     * @param tableId the table ID, or 0 if not seated
+     */
+    public DailyOrderRow(int orderNumber, String time, String name, int guests, String status, int tableId) {
+        this.orderNumber = orderNumber;
+        this.time = time;
+        this.name = name;
+        this.guests = guests;
+        this.status = status;
+        this.tableId = tableId;
+    }
+
+    public int getOrderNumber() { return orderNumber; }
+
+    public String getTime() { return time; }
+
+    public String getName() { return name; }
+
+    public int getGuests() { return guests; }
+
+    public String getStatus() { return status; }
+
+    public int getTableId() { return tableId; }
+
+    @Override
+    public String toString() {
+        return String.format("ID: %d | Time: %s | Name: %s | Guests: %d | Status: %s | Table: %s", orderNumber, time,
+                name, guests, status, (tableId > 0 ? String.valueOf(tableId) : "-"));
+    }
+}
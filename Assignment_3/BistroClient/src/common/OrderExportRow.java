@@ -0,0 +1,96 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * A single row of the orders export (one order, as stored in the orders table).
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderExportRow implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Header line of the CSV export, matching {@link #toCsv()}. */
+    public static final String CSV_HEADER = "order_number,order_date,order_time,guests,confirmation_code,subscriber_id,"
+            + "placed_on,status,table_id,client_phone,client_email,arrival_time,leave_time";
+
+    private int orderNumber;
+    private String date;
+    private String time;
+    private int guests;
+    private int confirmationCode;
+    private int subscriberId;
+    private String placedOn;
+    private String status;
+    private int tableId;
+    private String phone;
+    private String email;
+    private String arrivalTime;
+    private String leaveTime;
+
+    /**
+     * Constructs a new OrderExportRow.
+     *
+     * @param orderNumber the order number
+     * @param date the order date
+     * @param time the order time
+     * @param guests the number of guests
+     * @param confirmationCode the confirmation code
+     * @param subscriberId the subscriber ID
+     * @param placedOn the date the order was placed
+     * @param status the order status
+     * @param tableId the table ID, or 0 if none
+     * @param phone the client phone, may be null
+     * @param email the client email, may be null
+     * @param arrivalTime the actual arrival time, may be null
+     * @param leaveTime the actual leave time, may be null
+     */
+    public OrderExportRow(int orderNumber, String date, String time, int guests, int confirmationCode,
+            int subscriberId, String placedOn, String status, int tableId, String phone, String email,
+            String arrivalTime, String leaveTime) {
+        this.orderNumber = orderNumber;
+        this.date = date;
+        this.time = time;
+        this.guests = guests;
+        this.confirmationCode = confirmationCode;
+        this.subscriberId = subscriberId;
+        this.placedOn = placedOn;
+        this.status = status;
+        this.tableId = tableId;
+        this.phone = phone;
+        this.email = email;
+        this.arrivalTime = arrivalTime;
+        this.leaveTime = leaveTime;
+    }
+
+    public int getOrderNumber() { return orderNumber; }
+
+    public String getDate() { return date; }
+
+    public String getStatus() { return status; }
+
+    /**
+     * Formats the row as a CSV line (without line break).
+     *
+     * @return the CSV line
+     */
+    public String toCsv() {
+        return orderNumber + "," + csv(date) + "," + csv(time) + "," + guests + "," + confirmationCode + ","
+                + subscriberId + "," + csv(placedOn) + "," + csv(status) + "," + tableId + "," + csv(phone) + ","
+                + csv(email) + "," + csv(arrivalTime) + "," + csv(leaveTime);
+    }
+
+    private static String csv(String value) {
+        if (value == null)
+            return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n"))
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return toCsv();
+    }
+}
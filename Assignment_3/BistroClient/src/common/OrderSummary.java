@@ -0,0 +1,77 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Narrow projection of an order for list views: only the columns a list shows,
+ * read with a narrow SELECT instead of building full {@link Order} objects.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int orderNumber;
+    private String date;
+    private String time;
+    private int guests;
+    private String status;
+
+    /** The table the party sits at, or 0 if not seated. */
+    private int tableId;
+
+    private int subscriberId;
+
+    /**
+     * Constructs a new OrderSummary.
+     *
+     * @param orderNumber the order number
+     * @param date the order date
+     * @param time the order time
+     * @param guests the number of guests
+     * @param status the order status
+     * @param tableId the table ID, or 0 if not seated
+     * @param subscriberId the subscriber ID
+     */
+    public OrderSummary(int orderNumber, String date, String time, int guests, String status, int tableId,
+            int subscriberId) {
+        this.orderNumber = orderNumber;
+        this.date = date;
+        this.time = time;
+        this.guests = guests;
+        this.status = status;
+        this.tableId = tableId;
+        this.subscriberId = subscriberId;
+    }
+
+    public int getOrderNumber() { return orderNumber; }
+
+    public String getDate() { return date; }
+
+    public String getTime() { return time; }
+
+    public int getGuests() { return guests; }
+
+    public String getStatus() { return status; }
+
+    public int getTableId() { return tableId; }
+
+    public int getSubscriberId() { return subscriberId; }
+
+    /**
+     * Returns whether the order belongs to a registered subscriber (not a guest or walk-in).
+     *
+     * @return true for subscriber orders
+     */
+    public boolean isSubscriber() {
+        return subscriberId > 1 && subscriberId != 999;
+    }
+
+    @Override
+    public String toString() {
+        String shortTime = (time != null && time.length() > 5) ? time.substring(0, 5) : time;
+        return "Order #" + orderNumber + " | " + shortTime + " | " + guests + " ppl"
+                + (isSubscriber() ? " (Subscriber)" : "");
+    }
+}
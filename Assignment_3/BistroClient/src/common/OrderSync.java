@@ -0,0 +1,60 @@
+package common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * Answer to a SYNC_ORDERS request: the orders (today's and upcoming) changed since
+ * the version the client last synced to, and the orders that no longer exist.
+ * The client keeps {@link #getVersion()} and sends it with its next request.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderSync implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Version to send for a full load (no previous sync). */
+    public static final long FULL = -1;
+
+    /** The version the client is now synced to. */
+    private long version;
+
+    /** Whether this is a full load that replaces everything the client holds. */
+    private boolean full;
+
+    /** Orders added or changed since the requested version. */
+    private ArrayList<Order> changed;
+
+    /** Numbers of orders removed since the requested version (tombstones). */
+    private ArrayList<Integer> removed;
+
+    /**
+     * Constructs a new OrderSync.
+     *
+     * @param version the version the client is now synced to
+     * @param full whether this is a full load
+     * @param changed the orders added or changed
+     * @param removed the numbers of the removed orders
+     */
+    public OrderSync(long version, boolean full, ArrayList<Order> changed, ArrayList<Integer> removed) {
+        this.version = version;
+        this.full = full;
+        this.changed = changed;
+        this.removed = removed;
+    }
+
+    public long getVersion() { return version; }
+
+    public boolean isFull() { return full; }
+
+    public ArrayList<Order> getChanged() { return changed; }
+
+    public ArrayList<Integer> getRemoved() { return removed; }
+
+    @Override
+    public String toString() {
+        return "OrderSync [version=" + version + ", full=" + full + ", changed=" + changed.size() + ", removed="
+                + removed.size() + "]";
+    }
+}
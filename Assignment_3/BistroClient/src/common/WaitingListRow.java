@@ -0,0 +1,48 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * A single row of the waiting list report.
+ * @author Group-17
+ * @version 1.0
+ */
+public class WaitingListRow implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int orderNumber;
+    private String time;
+    private int guests;
+
+    /** The client's phone number, or "Subscriber" if none was given. */
+    private String client;
+
+    /**
+     * Constructs a new WaitingListRow.
+     *
+     * @param orderNumber the order number
+     * @param time the requested time
+     * @param guests the number of guests
+     * @param client the client's phone number or "Subscriber"
+     */
+    public WaitingListRow(int orderNumber, String time, int guests, String client) {
+        this.orderNumber = orderNumber;
+        this.time = time;
+        this.guests = guests;
+        this.client = client;
+    }
+
+    public int getOrderNumber() { return orderNumber; }
+
+    public String getTime() { return time; }
+
+    public int getGuests() { return guests; }
+
+    public String getClient() { return client; }
+
+    @Override
+    public String toString() {
+        return String.format("ID: %d | Time: %s | Guests: %d | Client: %s", orderNumber, time, guests, client);
+    }
+}
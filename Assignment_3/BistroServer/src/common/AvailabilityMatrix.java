@@ -0,0 +1,112 @@
+package common;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Compact table availability for one party size over the whole booking horizon.
+ * Each day is a single 32-bit bitset word: bit i is set when reservation slot i
+ * (08:00 + i * 30 minutes) still has a table that fits the party.
+ * @author Group-17
+ * @version 1.0
+ */
+public class AvailabilityMatrix implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Minute of the day of the first reservation slot (08:00). */
+    public static final int FIRST_SLOT_MINUTE = 8 * 60;
+
+    /** Length of a reservation slot in minutes. */
+    public static final int SLOT_MINUTES = 30;
+
+    /** Number of reservation slots per day (08:00 to 23:30), one bit each in an int. */
+    public static final int SLOTS_PER_DAY = Integer.SIZE;
+
+    /** The first day covered by the matrix (YYYY-MM-DD). */
+    private String startDate;
+
+    /** The party size the matrix was computed for. */
+    private int guests;
+
+    /** One bitset per day, starting at startDate. */
+    private int[] days;
+
+    /**
+     * Constructs a new AvailabilityMatrix.
+     *
+     * @param startDate the first day covered
+     * @param guests the party size
+     * @param days the per-day slot bitsets
+     */
+    public AvailabilityMatrix(String startDate, int guests, int[] days) {
+        this.startDate = startDate;
+        this.guests = guests;
+        this.days = days;
+    }
+
+    public String getStartDate() { return startDate; }
+
+    public int getGuests() { return guests; }
+
+    public int[] getDays() { return days; }
+
+    /**
+     * Converts a time string (HH:MM) to its slot index.
+     *
+     * @param time the time string
+     * @return the slot index, or -1 if the time is not on the slot grid
+     */
+    public static int slotOf(String time) {
+        try {
+            String[] parts = time.split(":");
+            int minute = Integer.parseInt(parts[0]) * 60 + Integer.parseInt(parts[1]) - FIRST_SLOT_MINUTE;
+            if (minute < 0 || minute % SLOT_MINUTES != 0 || minute / SLOT_MINUTES >= SLOTS_PER_DAY)
+                return -1;
+            return minute / SLOT_MINUTES;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the bitset of a day, or 0 if the day is outside the horizon.
+     *
+     * @param date the day
+     * @return the slot bitset
+     */
+    public int getDay(LocalDate date) {
+        long index = ChronoUnit.DAYS.between(LocalDate.parse(startDate), date);
+        if (index < 0 || index >= days.length)
+            return 0;
+        return days[(int) index];
+    }
+
+    /**
+     * Checks whether a day has at least one free slot.
+     *
+     * @param date the day
+     * @return true if any slot is free
+     */
+    public boolean hasAnySlot(LocalDate date) {
+        return getDay(date) != 0;
+    }
+
+    /**
+     * Checks whether a specific slot is free.
+     *
+     * @param date the day
+     * @param time the slot time (HH:MM)
+     * @return true if a table fits the party at that time
+     */
+    public boolean isAvailable(LocalDate date, String time) {
+        int slot = slotOf(time);
+        return slot != -1 && (getDay(date) & (1 << slot)) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Availability [from=" + startDate + ", days=" + days.length + ", guests=" + guests + "]";
+    }
+}
@@ -5,6 +5,8 @@ import java.io.Serializable;
 /**
  * Represents a generic message wrapper for communication between Client and Server.
  * Contains an action type and a payload object.
+ * A request may carry a request ID; the server copies it into the replyTo field of
+ * every reply, so the client can match replies to requests.
  * @author Group-17
  * @version 1.0
  */
@@ -18,6 +20,12 @@ public class Message implements Serializable {
     /** The data associated with the action (can be null). */
     private Object content;
 
+    /** ID of this request (0 if the sender does not expect a matched reply). */
+    private long requestId;
+
+    /** ID of the request this message answers (0 for pushed or unmatched messages). */
+    private long replyTo;
+
     /**
      * Constructs a new Message.
      *
@@ -45,6 +53,22 @@ public class Message implements Serializable {
         this.content = content;
     }
 
+    public long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(long requestId) {
+        this.requestId = requestId;
+    }
+
+    public long getReplyTo() {
+        return replyTo;
+    }
+
+    public void setReplyTo(long replyTo) {
+        this.replyTo = replyTo;
+    }
+
     @Override
     public String toString() {
         return "Message [Action=" + action + ", Content=" + content + "]";
@@ -0,0 +1,93 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Typed payload of GET_REPORT: order status totals, punctuality, covers, average stay
+ * and per-hour activity of a month (or a range of months).
+ * @author Group-17
+ * @version 1.0
+ */
+public class MonthlyReport implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The period covered, e.g. "2026-01" or "2025-11 - 2026-01". */
+    private String period;
+
+    private int total;
+    private int cancelled;
+    private int noShow;
+    private int waiting;
+    private int lateArrivals;
+    private int actualArrivals;
+
+    /** Arrivals per hour of the day (index 0-23). */
+    private int[] arrivalsByHour;
+
+    /** Departures per hour of the day (index 0-23). */
+    private int[] departuresByHour;
+
+    /** Number of guests that actually arrived. */
+    private int covers;
+
+    /** Average stay (arrival to leave) in minutes, 0 if nobody left yet. */
+    private double averageStayMinutes;
+
+    /**
+     * Constructs a new MonthlyReport.
+     *
+     * @param period the period covered
+     * @param total the total number of orders
+     * @param cancelled the number of cancelled orders
+     * @param noShow the number of no-shows
+     * @param waiting the number of orders still waiting
+     * @param lateArrivals the number of late arrivals (over 10 minutes)
+     * @param actualArrivals the number of arrivals
+     * @param arrivalsByHour arrivals per hour of the day
+     * @param departuresByHour departures per hour of the day
+     * @param covers the number of guests that arrived
+     * @param averageStayMinutes the average stay in minutes
+     */
+    public MonthlyReport(String period, int total, int cancelled, int noShow, int waiting, int lateArrivals,
+            int actualArrivals, int[] arrivalsByHour, int[] departuresByHour, int covers, double averageStayMinutes) {
+        this.period = period;
+        this.total = total;
+        this.cancelled = cancelled;
+        this.noShow = noShow;
+        this.waiting = waiting;
+        this.lateArrivals = lateArrivals;
+        this.actualArrivals = actualArrivals;
+        this.arrivalsByHour = arrivalsByHour;
+        this.departuresByHour = departuresByHour;
+        this.covers = covers;
+        this.averageStayMinutes = averageStayMinutes;
+    }
+
+    public String getPeriod() { return period; }
+
+    public int getTotal() { return total; }
+
+    public int getCancelled() { return cancelled; }
+
+    public int getNoShow() { return noShow; }
+
+    public int getWaiting() { return waiting; }
+
+    public int getLateArrivals() { return lateArrivals; }
+
+    public int getActualArrivals() { return actualArrivals; }
+
+    public int[] getArrivalsByHour() { return arrivalsByHour; }
+
+    public int[] getDeparturesByHour() { return departuresByHour; }
+
+    public int getCovers() { return covers; }
+
+    public double getAverageStayMinutes() { return averageStayMinutes; }
+
+    @Override
+    public String toString() {
+        return "MonthlyReport [period=" + period + ", total=" + total + "]";
+    }
+}
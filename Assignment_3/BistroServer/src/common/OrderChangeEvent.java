@@ -0,0 +1,81 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * A compact change event pushed to subscribed staff clients when an order's
+ * status or table changes.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderChangeEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private PushTopic topic;
+    private int orderNumber;
+    private String date;
+    private String time;
+    private int guests;
+
+    /** The status before the change, or null if the order is new to the server's view. */
+    private String oldStatus;
+
+    private String newStatus;
+
+    /** The table the party sits at, or 0 if not seated. */
+    private int tableId;
+
+    /** Short client label (name, phone or subscriber). */
+    private String contact;
+
+    /**
+     * Constructs a new OrderChangeEvent.
+     *
+     * @param topic the topic the event is published on
+     * @param orderNumber the order number
+     * @param date the order date
+     * @param time the order time
+     * @param guests the number of guests
+     * @param oldStatus the previous status, or null
+     * @param newStatus the current status
+     * @param tableId the table ID, or 0
+     * @param contact the client label
+     */
+    public OrderChangeEvent(PushTopic topic, int orderNumber, String date, String time, int guests, String oldStatus,
+            String newStatus, int tableId, String contact) {
+        this.topic = topic;
+        this.orderNumber = orderNumber;
+        this.date = date;
+        this.time = time;
+        this.guests = guests;
+        this.oldStatus = oldStatus;
+        this.newStatus = newStatus;
+        this.tableId = tableId;
+        this.contact = contact;
+    }
+
+    public PushTopic getTopic() { return topic; }
+
+    public int getOrderNumber() { return orderNumber; }
+
+    public String getDate() { return date; }
+
+    public String getTime() { return time; }
+
+    public int getGuests() { return guests; }
+
+    public String getOldStatus() { return oldStatus; }
+
+    public String getNewStatus() { return newStatus; }
+
+    public int getTableId() { return tableId; }
+
+    public String getContact() { return contact; }
+
+    @Override
+    public String toString() {
+        return "Order #" + orderNumber + " (" + time + ", " + guests + " ppl): "
+                + (oldStatus != null ? oldStatus + " -> " : "") + newStatus + (tableId > 0 ? " at table " + tableId : "");
+    }
+}
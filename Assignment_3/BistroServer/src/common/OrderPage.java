@@ -0,0 +1,60 @@
+package common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * One page of an order list, answering an {@link OrderPageRequest}.
+ * The rows are full {@link Order}s or {@link OrderSummary} projections,
+ * as selected by the request.
+ * @author Group-17
+ * @version 1.0
+ *
+ * @param <T> the row type
+ */
+public class OrderPage<T extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The request this page answers. */
+    private OrderPageRequest request;
+
+    /** The rows of this page, newest first. */
+    private ArrayList<T> rows;
+
+    /** The request for the following page, or null if this is the last page. */
+    private OrderPageRequest nextRequest;
+
+    /**
+     * Constructs a new OrderPage.
+     *
+     * @param request the request this page answers
+     * @param rows the rows of the page
+     * @param nextRequest the request for the following page, or null
+     */
+    public OrderPage(OrderPageRequest request, ArrayList<T> rows, OrderPageRequest nextRequest) {
+        this.request = request;
+        this.rows = rows;
+        this.nextRequest = nextRequest;
+    }
+
+    public OrderPageRequest getRequest() { return request; }
+
+    public ArrayList<T> getRows() { return rows; }
+
+    public boolean hasMore() { return nextRequest != null; }
+
+    /**
+     * Returns the request for the next page.
+     *
+     * @return the next page request, or null if this is the last page
+     */
+    public OrderPageRequest nextRequest() {
+        return nextRequest;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderPage [rows=" + rows.size() + ", hasMore=" + hasMore() + "]";
+    }
+}
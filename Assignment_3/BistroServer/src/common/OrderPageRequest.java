@@ -0,0 +1,124 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Request for one page of an order list (all orders, or one subscriber's history),
+ * newest first, with optional date range and status filters.
+ * Pages are chained with a keyset cursor (the date, time and number of the last order
+ * already received), so fetching a later page costs the same as fetching the first one.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderPageRequest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Page size used when none is given. */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /** Largest page size the server accepts. */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * What each row of the page contains.
+     */
+    public enum Projection {
+        /** Full {@link Order} objects. */
+        FULL,
+        /** {@link OrderSummary} rows (number, date, time, guests, status, table). */
+        SUMMARY
+    }
+
+    private int pageSize;
+
+    private Projection projection = Projection.FULL;
+
+    /** Only orders of this subscriber, or null for all orders. */
+    private Integer subscriberId;
+
+    /** Filters (null = no filter): first and last order date (YYYY-MM-DD), exact status. */
+    private String fromDate;
+    private String toDate;
+    private String status;
+
+    /** Cursor: the last order of the previous page, or null afterDate for the first page. */
+    private String afterDate;
+    private String afterTime;
+    private int afterOrderNumber;
+
+    /**
+     * Constructs a request for the first page.
+     *
+     * @param pageSize the number of orders per page
+     * @param subscriberId only orders of this subscriber, or null for all orders
+     * @param fromDate the first order date to include, or null
+     * @param toDate the last order date to include, or null
+     * @param status the status to match, or null for any status
+     */
+    public OrderPageRequest(int pageSize, Integer subscriberId, String fromDate, String toDate, String status) {
+        this.pageSize = pageSize;
+        this.subscriberId = subscriberId;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.status = status;
+    }
+
+    /**
+     * Constructs a request for the first page with a row projection.
+     *
+     * @param pageSize the number of orders per page
+     * @param subscriberId only orders of this subscriber, or null for all orders
+     * @param fromDate the first order date to include, or null
+     * @param toDate the last order date to include, or null
+     * @param status the status to match, or null for any status
+     * @param projection what each row contains
+     */
+    public OrderPageRequest(int pageSize, Integer subscriberId, String fromDate, String toDate, String status,
+            Projection projection) {
+        this(pageSize, subscriberId, fromDate, toDate, status);
+        this.projection = projection;
+    }
+
+    /**
+     * Returns the request for the page following the given last order (same filters and projection).
+     *
+     * @param lastDate the date of the last order received
+     * @param lastTime the time of the last order received
+     * @param lastOrderNumber the number of the last order received
+     * @return the request for the next page
+     */
+    public OrderPageRequest nextPage(String lastDate, String lastTime, int lastOrderNumber) {
+        OrderPageRequest next = new OrderPageRequest(pageSize, subscriberId, fromDate, toDate, status, projection);
+        next.afterDate = lastDate;
+        next.afterTime = lastTime;
+        next.afterOrderNumber = lastOrderNumber;
+        return next;
+    }
+
+    public boolean isFirstPage() { return afterDate == null; }
+
+    public int getPageSize() { return pageSize; }
+
+    public Projection getProjection() { return projection; }
+
+    public Integer getSubscriberId() { return subscriberId; }
+
+    public String getFromDate() { return fromDate; }
+
+    public String getToDate() { return toDate; }
+
+    public String getStatus() { return status; }
+
+    public String getAfterDate() { return afterDate; }
+
+    public String getAfterTime() { return afterTime; }
+
+    public int getAfterOrderNumber() { return afterOrderNumber; }
+
+    @Override
+    public String toString() {
+        return "OrderPageRequest [size=" + pageSize + ", subscriber=" + subscriberId + ", after=" + afterDate + " "
+                + afterTime + " #" + afterOrderNumber + "]";
+    }
+}
@@ -0,0 +1,16 @@
+package common;
+
+/**
+ * Topics a staff client can subscribe to (SUBSCRIBE / UNSUBSCRIBE) to receive
+ * PUSH_EVENT messages when orders change.
+ * @author Group-17
+ * @version 1.0
+ */
+public enum PushTopic {
+    /** Any change of an order dated today. */
+    TODAY_ORDERS,
+    /** Orders entering or leaving the waiting list (including promotions). */
+    WAITING_LIST,
+    /** Parties being seated or leaving (tables taken or freed). */
+    FLOOR
+}
@@ -0,0 +1,47 @@
+package common;
+
+import java.io.Serializable;
+
+/**
+ * Snapshot of the server's metrics for one SQL statement (GET_SERVER_METRICS).
+ * Times are in microseconds.
+ * @author Group-17
+ * @version 1.0
+ */
+public class QueryMetrics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String sql;
+    private final long executions;
+    private final long totalMicros;
+    private final long meanMicros;
+    private final long maxMicros;
+    private final long rows;
+
+    /**
+     * Constructs a snapshot.
+     */
+    public QueryMetrics(String sql, long executions, long totalMicros, long meanMicros, long maxMicros, long rows) {
+        this.sql = sql;
+        this.executions = executions;
+        this.totalMicros = totalMicros;
+        this.meanMicros = meanMicros;
+        this.maxMicros = maxMicros;
+        this.rows = rows;
+    }
+
+    public String getSql() { return sql; }
+    public long getExecutions() { return executions; }
+    public long getTotalMicros() { return totalMicros; }
+    public long getMeanMicros() { return meanMicros; }
+    public long getMaxMicros() { return maxMicros; }
+    public long getRows() { return rows; }
+
+    @Override
+    public String toString() {
+        String text = sql.replaceAll("\\s+", " ");
+        return String.format("n=%d total=%dms mean=%dus max=%dus rows=%d  %s", executions, totalMicros / 1000,
+                meanMicros, maxMicros, rows, text.length() > 120 ? text.substring(0, 120) + "..." : text);
+    }
+}
@@ -0,0 +1,59 @@
+package common;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+
+/**
+ * One part of a long report list sent in several messages.
+ * Chunks of the same report arrive in order; the client can display each
+ * chunk as soon as it arrives and knows the report is complete when
+ * {@link #isLast()} is true.
+ * @author Group-17
+ * @version 1.0
+ *
+ * @param <T> the row type
+ */
+public class ReportChunk<T extends Serializable> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The date the report was produced for (YYYY-MM-DD). */
+    private String reportDate;
+
+    /** Position of this chunk in the report, starting at 0. */
+    private int chunkIndex;
+
+    /** Whether this is the final chunk of the report. */
+    private boolean last;
+
+    /** The rows carried by this chunk. */
+    private ArrayList<T> rows;
+
+    /**
+     * Constructs a new ReportChunk.
+     *
+     * @param reportDate the report date
+     * @param chunkIndex the chunk position
+     * @param last whether this is the final chunk
+     * @param rows the rows of this chunk
+     */
+    public ReportChunk(String reportDate, int chunkIndex, boolean last, ArrayList<T> rows) {
+        this.reportDate = reportDate;
+        this.chunkIndex = chunkIndex;
+        this.last = last;
+        this.rows = rows;
+    }
+
+    public String getReportDate() { return reportDate; }
+
+    public int getChunkIndex() { return chunkIndex; }
+
+    public boolean isLast() { return last; }
+
+    public ArrayList<T> getRows() { return rows; }
+
+    @Override
+    public String toString() {
+        return "ReportChunk [date=" + reportDate + ", index=" + chunkIndex + ", rows=" + rows.size() + ", last=" + last + "]";
+    }
+}
@@ -0,0 +1,192 @@
+package db;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import common.Order;
+
+/**
+ * Hands out the 6-digit confirmation codes of new orders.
+ * The codes of all live orders (not yet finished, cancelled or no-show) are kept in a bitset,
+ * so a free code is found without querying the database and two live orders never share a code.
+ * A code becomes free again once no live order holds it: its order's lifecycle has ended, or
+ * the order's date has passed without it being seated (orders left approved or waiting never
+ * change status, so their codes are released when the day rolls over). The live holders of each
+ * code are counted, so older orders that share a code (or an ended order that is touched again)
+ * never free a code another live order still uses.
+ * @author Group-17
+ * @version 1.0
+ */
+public class ConfirmationCodes {
+
+    /** Smallest confirmation code. */
+    public static final int MIN_CODE = 100000;
+
+    /** Largest confirmation code. */
+    public static final int MAX_CODE = 999999;
+
+    private static final int RANGE = MAX_CODE - MIN_CODE + 1;
+
+    /** Bit (code - MIN_CODE) is set while that code belongs to a live order. */
+    private static final BitSet live = new BitSet(RANGE);
+
+    /** The live orders holding a code, by order number. */
+    private static final HashMap<Integer, Order> holders = new HashMap<>();
+
+    /** Number of live orders holding each code. */
+    private static final HashMap<Integer, Integer> holderCount = new HashMap<>();
+
+    /** Releases the codes of past orders after midnight. */
+    private static final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "confirmation-codes");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Marks the codes of the live orders in the database, follows order changes
+     * to free codes whose order has ended and schedules the nightly release of past orders' codes.
+     */
+    public static void start() {
+        ArrayList<Order> orders = mysqlConnection.getLiveOrders();
+        synchronized (ConfirmationCodes.class) {
+            live.clear();
+            holders.clear();
+            holderCount.clear();
+            for (Order o : orders)
+                hold(o);
+        }
+        OrderEvents.addListener(ConfirmationCodes::orderChanged);
+        System.out.println("Confirmation codes loaded: " + inUse() + " in use.");
+        scheduleDayRoll();
+    }
+
+    /**
+     * Reserves a free code, starting the search at a random position.
+     *
+     * @return the code
+     * @throws IllegalStateException if every code is in use
+     */
+    public static synchronized int allocate() {
+        int bit = live.nextClearBit(ThreadLocalRandom.current().nextInt(RANGE));
+        if (bit >= RANGE)
+            bit = live.nextClearBit(0);
+        if (bit >= RANGE)
+            throw new IllegalStateException("No free confirmation code.");
+        live.set(bit);
+        return MIN_CODE + bit;
+    }
+
+    /**
+     * Frees a code (its order ended, or was never saved).
+     *
+     * @param code the code
+     */
+    public static synchronized void release(int code) {
+        if (code >= MIN_CODE && code <= MAX_CODE)
+            live.clear(code - MIN_CODE);
+    }
+
+    /**
+     * Returns the number of codes in use.
+     *
+     * @return the number of live codes
+     */
+    public static synchronized int inUse() {
+        return live.cardinality();
+    }
+
+    /**
+     * Records an order as a holder of its code while it is live, and frees the code
+     * once its last live holder has ended.
+     *
+     * @param change the changed row
+     */
+    public static void orderChanged(OrderEvents.Change change) {
+        synchronized (ConfirmationCodes.class) {
+            Order old = holders.get(change.getOrderNumber());
+            if (old != null)
+                drop(old);
+            Order order = change.getOrder();
+            if (order != null && isLive(order))
+                hold(order);
+        }
+    }
+
+    /**
+     * Returns whether an order still needs its code: it is seated, or it is approved,
+     * waiting or pending for today or a later day.
+     *
+     * @param order the order
+     * @return true while the order may still be checked in or served
+     */
+    static boolean isLive(Order order) {
+        String status = order.get_status();
+        if (status == null)
+            return false;
+        if (status.equalsIgnoreCase("ACTIVE"))
+            return true;
+        return (status.equalsIgnoreCase("APPROVED") || status.equalsIgnoreCase("WAITING")
+                || status.equalsIgnoreCase("PENDING")) && order.get_order_date() != null
+                && order.get_order_date().compareTo(LocalDate.now().toString()) >= 0;
+    }
+
+    private static void scheduleDayRoll() {
+        LocalDateTime nextRun = LocalDate.now().plusDays(1).atTime(0, 1);
+        long delay = Duration.between(LocalDateTime.now(), nextRun).toMillis();
+        worker.schedule(() -> {
+            try {
+                System.out.println("Confirmation codes released for yesterday's orders: " + releasePast() + ".");
+            } catch (Exception e) {
+                System.out.println("Confirmation code release error: " + e.getMessage());
+            }
+            scheduleDayRoll();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drops the holders whose date has passed without them being seated.
+     *
+     * @return the number of orders dropped
+     */
+    private static synchronized int releasePast() {
+        ArrayList<Order> past = new ArrayList<>();
+        for (Order o : holders.values())
+            if (!isLive(o))
+                past.add(o);
+        for (Order o : past)
+            drop(o);
+        return past.size();
+    }
+
+    private static void hold(Order order) {
+        int code = order.get_confirmation_code();
+        if (code < MIN_CODE || code > MAX_CODE)
+            return;
+        holders.put(order.get_order_number(), order);
+        holderCount.merge(code, 1, Integer::sum);
+        live.set(code - MIN_CODE);
+    }
+
+    private static void drop(Order order) {
+        holders.remove(order.get_order_number());
+        int code = order.get_confirmation_code();
+        Integer count = holderCount.get(code);
+        if (count == null)
+            return;
+        if (count > 1) {
+            holderCount.put(code, count - 1);
+        } else {
+            holderCount.remove(code);
+            release(code);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package db;
+
+/**
+ * Local stub sender that prints notifications to the server console
+ * instead of contacting a real SMS or email gateway.
+ * @author Group-17
+ * @version 1.0
+ */
+public class ConsoleNotificationSender implements NotificationSender {
+
+    @Override
+    public void send(NotificationOutbox.Notification n) {
+        if (NotificationOutbox.EMAIL.equals(n.getChannel()))
+            System.out.println("\n[SIMULATION] Email sent to: " + n.getRecipient() + " (" + n.getBody() + ")");
+        else
+            System.out.println(">>> SIMULATION [SMS]: " + n.getBody());
+    }
+}
@@ -0,0 +1,146 @@
+package db;
+
+import common.MonthlyReport;
+
+/**
+ * Report totals of a single day (or of several days added together).
+ * Mirrors a row of the daily_stats rollup table.
+ * @author Group-17
+ * @version 1.0
+ */
+public class DailyStats {
+
+    /** The day (YYYY-MM-DD), or the first day when several days were added together. */
+    String date;
+
+    int total, approved, active, finished, cancelled, noShow, waiting;
+
+    /** Number of guests that actually arrived. */
+    int covers;
+
+    int lateArrivals, actualArrivals;
+
+    /** Arrivals and departures per hour of the day. */
+    int[] arrivals = new int[24];
+    int[] departures = new int[24];
+
+    /** Sum and count of the stays (arrival to leave) in minutes, kept apart so days add up exactly. */
+    long totalStayMinutes;
+    int stayCount;
+
+    /**
+     * Constructs empty totals for a day.
+     *
+     * @param date the day (YYYY-MM-DD)
+     */
+    public DailyStats(String date) {
+        this.date = date;
+    }
+
+    /**
+     * Adds a single order row to the totals.
+     *
+     * @param status the order status
+     * @param guests the number of guests
+     * @param orderTime the ordered time
+     * @param arrivalTime the actual arrival time, may be null
+     * @param leaveTime the actual leave time, may be null
+     */
+    public void addOrder(String status, int guests, String orderTime, String arrivalTime, String leaveTime) {
+        total++;
+        if ("APPROVED".equalsIgnoreCase(status)) approved++;
+        else if ("ACTIVE".equalsIgnoreCase(status)) active++;
+        else if ("FINISHED".equalsIgnoreCase(status)) finished++;
+
+        MonthlyReportAggregates.Contribution c = MonthlyReportAggregates.Contribution.of(status, guests, arrivalTime,
+                leaveTime, orderTime);
+        if ("CANCELLED".equals(c.bucket)) cancelled++;
+        else if ("NO_SHOW".equals(c.bucket)) noShow++;
+        else if ("WAITING".equals(c.bucket)) waiting++;
+        if (c.arrived) actualArrivals++;
+        covers += c.covers;
+        if (c.late) lateArrivals++;
+        if (c.arrivalHour != -1) arrivals[c.arrivalHour]++;
+        if (c.departureHour != -1) departures[c.departureHour]++;
+
+        if (c.stayMinutes != -1) {
+            totalStayMinutes += c.stayMinutes;
+            stayCount++;
+        }
+    }
+
+    /**
+     * Adds the totals of another day to these totals.
+     *
+     * @param other the other day
+     */
+    public void add(DailyStats other) {
+        total += other.total;
+        approved += other.approved;
+        active += other.active;
+        finished += other.finished;
+        cancelled += other.cancelled;
+        noShow += other.noShow;
+        waiting += other.waiting;
+        covers += other.covers;
+        lateArrivals += other.lateArrivals;
+        actualArrivals += other.actualArrivals;
+        for (int h = 0; h < 24; h++) {
+            arrivals[h] += other.arrivals[h];
+            departures[h] += other.departures[h];
+        }
+        totalStayMinutes += other.totalStayMinutes;
+        stayCount += other.stayCount;
+    }
+
+    /**
+     * Returns the average stay in minutes.
+     *
+     * @return the average stay, or 0 if nobody left yet
+     */
+    public double getAverageStayMinutes() {
+        return stayCount == 0 ? 0 : (double) totalStayMinutes / stayCount;
+    }
+
+    /**
+     * Converts the totals to the report payload sent to the client.
+     *
+     * @param period the period covered
+     * @return the report
+     */
+    public MonthlyReport toReport(String period) {
+        return new MonthlyReport(period, total, cancelled, noShow, waiting, lateArrivals, actualArrivals,
+                arrivals.clone(), departures.clone(), covers, getAverageStayMinutes());
+    }
+
+    /**
+     * Joins a per-hour array for storage.
+     *
+     * @param hours the per-hour counts
+     * @return the comma-separated counts
+     */
+    static String joinHours(int[] hours) {
+        StringBuilder sb = new StringBuilder();
+        for (int h = 0; h < hours.length; h++) {
+            if (h > 0) sb.append(",");
+            sb.append(hours[h]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses a stored per-hour array.
+     *
+     * @param stored the comma-separated counts
+     * @return the per-hour counts
+     */
+    static int[] parseHours(String stored) {
+        int[] hours = new int[24];
+        if (stored == null || stored.isEmpty())
+            return hours;
+        String[] parts = stored.split(",");
+        for (int h = 0; h < parts.length && h < 24; h++)
+            hours[h] = Integer.parseInt(parts[h].trim());
+        return hours;
+    }
+}
@@ -0,0 +1,243 @@
+package db;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import common.MonthlyReport;
+
+/**
+ * Maintains the daily_stats rollup table used for historical reports.
+ * Each finished day is rolled up once shortly after midnight; changes made later to
+ * orders of a past day (late corrections) re-roll that day. Reports over a month range
+ * then add up one small row per day instead of scanning the orders table.
+ * If the table is empty when the server starts, the whole history is backfilled in the
+ * background; until it is done, range reports that include past days are refused rather
+ * than returned as zeros. The backfill can also be run by hand ({@link #main(String[])}).
+ * @author Group-17
+ * @version 1.0
+ */
+public class DailyStatsRollup {
+
+    /** Number of days processed per backfill chunk. */
+    private static final int CHUNK_DAYS = 31;
+
+    /** Delay (ms) used to coalesce several corrections of the same day into one re-roll. */
+    private static final long CORRECTION_DELAY_MS = 1000;
+
+    /** Separator between the two months of a report range ("YYYY-MM::YYYY-MM"). */
+    public static final String RANGE_SEPARATOR = "::";
+
+    /** Past days changed since their last rollup. */
+    private static final TreeSet<String> dirtyDates = new TreeSet<>();
+
+    /** Whether a correction pass is already scheduled. */
+    private static boolean flushScheduled = false;
+
+    /** Why past days cannot be reported yet (backfill running or failed), or null once they can. */
+    private static volatile String historyUnavailable = null;
+
+    /** Background thread running the nightly rollup and the corrections. */
+    private static final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "daily-rollup");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Rolls up the days missed while the server was down (or backfills the whole history
+     * in the background if nothing was rolled up yet), subscribes to order changes
+     * and schedules the nightly rollup.
+     */
+    public static void start() {
+        String last = mysqlConnection.getLastRolledUpDate();
+        LocalDate today = LocalDate.now();
+        if (last == null) {
+            String first = mysqlConnection.getFirstOrderDate();
+            if (first != null && LocalDate.parse(first).isBefore(today)) {
+                historyUnavailable = "Report history is still being built, please try again shortly.";
+                System.out.println("daily_stats is empty - backfilling from " + first + ".");
+                worker.execute(() -> {
+                    try {
+                        backfill(LocalDate.parse(first), today, Runtime.getRuntime().availableProcessors());
+                        historyUnavailable = null;
+                    } catch (Exception e) {
+                        System.out.println("Backfill failed: " + e.getMessage());
+                        historyUnavailable = "Report history is not available (backfill failed).";
+                    }
+                });
+            }
+        } else if (LocalDate.parse(last).isBefore(today)) {
+            int days = mysqlConnection.rollupDailyStats(last, today.toString());
+            System.out.println("Daily rollup caught up: " + days + " days.");
+        }
+        OrderEvents.addListener(DailyStatsRollup::orderChanged);
+        scheduleEndOfDay();
+    }
+
+    /**
+     * Re-rolls the day of an order changed after its day was over.
+     *
+     * @param change the changed row
+     */
+    public static void orderChanged(OrderEvents.Change change) {
+        String date = change.getOrder() == null ? null : change.getOrder().get_order_date();
+        if (date == null || date.compareTo(LocalDate.now().toString()) >= 0)
+            return;
+        synchronized (DailyStatsRollup.class) {
+            dirtyDates.add(date);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                worker.schedule(DailyStatsRollup::flushCorrections, CORRECTION_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Builds the report of a month range ("YYYY-MM::YYYY-MM", both months included).
+     * Finished days come from the rollup; today and the future days of the range are computed
+     * live, so a range covering the current month counts its future-dated orders exactly like
+     * the live report of that month.
+     *
+     * @param range the month range
+     * @return the report of the range
+     * @throws IllegalArgumentException if the range is not valid
+     * @throws IllegalStateException if the range includes past days and the history is not rolled up yet
+     */
+    public static MonthlyReport getReport(String range) {
+        YearMonth from;
+        YearMonth to;
+        try {
+            String[] parts = range.split(RANGE_SEPARATOR);
+            from = YearMonth.parse(parts[0].trim());
+            to = YearMonth.parse(parts[parts.length - 1].trim());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid month range (expected YYYY-MM::YYYY-MM).");
+        }
+        if (to.isBefore(from))
+            throw new IllegalArgumentException("Invalid month range (end is before start).");
+
+        LocalDate start = from.atDay(1);
+        LocalDate end = to.plusMonths(1).atDay(1);
+        LocalDate today = LocalDate.now();
+        String unavailable = historyUnavailable;
+        if (unavailable != null && start.isBefore(today))
+            throw new IllegalStateException(unavailable);
+
+        DailyStats sum = new DailyStats(start.toString());
+        LocalDate rolledEnd = end.isAfter(today) ? today : end;
+        if (start.isBefore(rolledEnd)) {
+            for (DailyStats day : mysqlConnection.getDailyStats(start.toString(), rolledEnd.toString()))
+                sum.add(day);
+        }
+        if (today.isBefore(end)) {
+            LocalDate liveStart = today.isBefore(start) ? start : today;
+            for (DailyStats day : mysqlConnection.computeDailyStats(liveStart.toString(), end.toString()))
+                sum.add(day);
+        }
+        return sum.toReport(from.equals(to) ? from.toString() : from + " - " + to);
+    }
+
+    private static void flushCorrections() {
+        ArrayList<String> dates;
+        synchronized (DailyStatsRollup.class) {
+            flushScheduled = false;
+            dates = new ArrayList<>(dirtyDates);
+            dirtyDates.clear();
+        }
+        for (String date : dates)
+            mysqlConnection.rollupDailyStats(date, LocalDate.parse(date).plusDays(1).toString());
+        System.out.println("Daily rollup corrected " + dates.size() + " day(s).");
+    }
+
+    private static void scheduleEndOfDay() {
+        LocalDateTime nextRun = LocalDate.now().plusDays(1).atTime(0, 1);
+        long delay = Duration.between(LocalDateTime.now(), nextRun).toMillis();
+        worker.schedule(() -> {
+            try {
+                LocalDate today = LocalDate.now();
+                mysqlConnection.rollupDailyStats(today.minusDays(1).toString(), today.toString());
+                System.out.println("Daily rollup written for " + today.minusDays(1) + ".");
+            } catch (Exception e) {
+                System.out.println("Daily rollup error: " + e.getMessage());
+            }
+            scheduleEndOfDay();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Rolls up a date range in parallel, one chunk of {@value #CHUNK_DAYS} days per task,
+     * each task on its own database connection.
+     *
+     * @param from the first day (inclusive)
+     * @param to the last day (exclusive)
+     * @param threads the number of parallel workers
+     * @return the number of days written
+     * @throws Exception if a chunk failed
+     */
+    public static int backfill(LocalDate from, LocalDate to, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ArrayList<Future<Integer>> chunks = new ArrayList<>();
+        AtomicInteger done = new AtomicInteger();
+        int chunkCount = 0;
+
+        for (LocalDate chunkStart = from; chunkStart.isBefore(to); chunkStart = chunkStart.plusDays(CHUNK_DAYS)) {
+            LocalDate start = chunkStart;
+            LocalDate end = start.plusDays(CHUNK_DAYS).isAfter(to) ? to : start.plusDays(CHUNK_DAYS);
+            chunkCount++;
+            chunks.add(pool.submit(() -> {
+                try (Connection c = mysqlConnection.openConnection()) {
+                    int days = mysqlConnection.rollupDailyStats(c, start.toString(), end.toString());
+                    System.out.println("Backfilled " + start + " .. " + end.minusDays(1) + " (" + done.incrementAndGet()
+                            + " chunks done)");
+                    return days;
+                }
+            }));
+        }
+
+        int total = 0;
+        try {
+            for (Future<Integer> chunk : chunks)
+                total += chunk.get();
+        } finally {
+            pool.shutdown();
+        }
+        System.out.println("Backfill finished: " + total + " days in " + chunkCount + " chunks.");
+        return total;
+    }
+
+    /**
+     * One-off backfill of the daily_stats table.
+     * Usage: DailyStatsRollup [fromDate] [toDate] [threads]
+     * fromDate defaults to the first order date, toDate (exclusive) to today,
+     * threads to the number of processors.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        try {
+            mysqlConnection.connectToDB();
+            String first = (args.length > 0) ? args[0] : mysqlConnection.getFirstOrderDate();
+            if (first == null) {
+                System.out.println("No orders to backfill.");
+                return;
+            }
+            LocalDate from = LocalDate.parse(first);
+            LocalDate to = (args.length > 1) ? LocalDate.parse(args[1]) : LocalDate.now();
+            int threads = (args.length > 2) ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+            backfill(from, to, Math.max(1, threads));
+        } catch (Exception e) {
+            System.out.println("Backfill failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package db;
 
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ArrayList;
@@ -8,16 +9,25 @@ import java.util.ArrayList;
 import ocsf.server.AbstractServer;
 import ocsf.server.ConnectionToClient;
 
+import common.CacheInvalidation;
 import common.Order;
+import common.OrderExportRow;
+import common.OrderPage;
+import common.OrderPageRequest;
+import common.OrderSync;
+import common.PushTopic;
 import common.Message;
 import common.ActionType;
 import common.User;
 import common.Subscriber;
+import common.DailyOrderRow;
+import common.MonthlyReport;
+import common.WaitingListRow;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 
 /**
  * The main server class for the Bistro application.
@@ -47,15 +57,80 @@ public class EchoServer extends AbstractServer {
         super(port);
     }
 
+    /** Request ID of the message being handled on the current thread (0 if none). */
+    private static final ThreadLocal<Long> currentRequestId = ThreadLocal.withInitial(() -> 0L);
+
+    /** The client whose message is being handled on the current thread. */
+    private static final ThreadLocal<ConnectionToClient> currentClient = new ThreadLocal<>();
+
     /**
      * Handles any message received from the client.
-     * Routes the message to the appropriate handler based on the ActionType.
+     * The request ID of the message is remembered for the handling thread, so every
+     * reply sent while handling it is tagged with it (see {@link #prepareMessageToClient}).
+     * Latency, errors and concurrency are recorded per action in {@link RequestMetrics},
+     * and slow requests are emitted as a {@link ServerEvents.RequestHandled} JFR event.
      *
      * @param msg the message received
      * @param client the connection from which the message originated
      */
     @Override
     protected void handleMessageFromClient(Object msg, ConnectionToClient client) {
+        ActionType action = (msg instanceof Message) ? ((Message) msg).getAction() : null;
+        if (msg instanceof Message)
+            currentRequestId.set(((Message) msg).getRequestId());
+        currentClient.set(client);
+        long start = (action != null) ? RequestMetrics.begin(action) : 0;
+        QueryInstrumentation.beginRequest(action);
+        ServerEvents.RequestHandled event = new ServerEvents.RequestHandled();
+        event.begin();
+        boolean failed = true;
+        try {
+            dispatch(msg, client);
+            failed = false;
+        } finally {
+            int queries = QueryInstrumentation.endRequest();
+            if (action != null)
+                RequestMetrics.end(action, start, failed, queries);
+            event.end();
+            if (event.shouldCommit()) {
+                event.action = String.valueOf(action);
+                event.client = String.valueOf(client.getInetAddress());
+                event.queries = queries;
+                event.failed = failed;
+                event.commit();
+            }
+            currentRequestId.remove();
+            currentClient.remove();
+        }
+    }
+
+    /**
+     * Tags replies sent to the requesting client while a request is handled with the ID
+     * of that request. Messages sent from other threads (pushed events), to other
+     * clients or to every client (see {@link #sendToAllClients}) are left untagged.
+     * A tagged copy is sent, so a message object shared between several clients is never changed.
+     *
+     * @param msg the message to be sent
+     * @param client the receiving client
+     * @return the message to write
+     */
+    @Override
+    protected Object prepareMessageToClient(Object msg, ConnectionToClient client) {
+        long requestId = currentRequestId.get();
+        if (requestId == 0 || client != currentClient.get() || !(msg instanceof Message))
+            return msg;
+        Message reply = new Message(((Message) msg).getAction(), ((Message) msg).getContent());
+        reply.setReplyTo(requestId);
+        return reply;
+    }
+
+    /**
+     * Routes a message to the appropriate handler based on the ActionType.
+     *
+     * @param msg the message received
+     * @param client the connection from which the message originated
+     */
+    private void dispatch(Object msg, ConnectionToClient client) {
         if (msg instanceof Message) {
             Message receivedMsg = (Message) msg;
 
@@ -71,7 +146,7 @@ public class EchoServer extends AbstractServer {
                 if (content instanceof String) {
                     try {
                         int orderId = Integer.parseInt((String) content);
-                        Order order = mysqlConnection.getOrder(orderId);
+                        Order order = OrderIndex.getOrder(orderId);
 
                         if (order != null) {
                             client.sendToClient(new Message(ActionType.GET_ORDER, order));
@@ -85,20 +160,15 @@ public class EchoServer extends AbstractServer {
                     }
                 }
 
-                // Case 2: Request history (Subscriber clicking My Order)
+                // Case 2: Request history (Subscriber clicking My Order), first page
                 else if (content instanceof Integer) {
-                    int subId = (Integer) content;
-                    ArrayList<Order> history = mysqlConnection.getSubscriberOrders(subId);
+                    sendOrderPage(ActionType.GET_ORDER, new OrderPageRequest(OrderPageRequest.DEFAULT_PAGE_SIZE,
+                            (Integer) content, null, null, null), client);
+                }
 
-                    try {
-                        if (!history.isEmpty()) {
-                            client.sendToClient(new Message(ActionType.GET_ORDER, history));
-                        } else {
-                            client.sendToClient(new Message(ActionType.GET_ORDER, "No orders found in history."));
-                        }
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
+                // Case 3: Further pages (or filtered pages) of a subscriber's history
+                else if (content instanceof OrderPageRequest) {
+                    sendOrderPage(ActionType.GET_ORDER, (OrderPageRequest) content, client);
                 }
                 break;
 
@@ -108,6 +178,11 @@ public class EchoServer extends AbstractServer {
                 int tSeats = Integer.parseInt(tableData[1]);
                 
                 String resultMsg = mysqlConnection.addTable(tId, tSeats);
+                if (resultMsg.contains("Added Successfully")) {
+                    FloorState.tableAdded(tId, tSeats);
+                    WaitingListManager.capacityFreedAllDates(tSeats);
+                    invalidateClientCaches(ActionType.GET_ALL_TABLES, null);
+                }
                 
                 try {
                     client.sendToClient(new Message(ActionType.UPDATE_ORDER, resultMsg));
@@ -118,6 +193,10 @@ public class EchoServer extends AbstractServer {
             case DELETE_TABLE:
                 int delTId = (int) receivedMsg.getContent();
                 boolean delSuccess = mysqlConnection.deleteTable(delTId);
+                if (delSuccess) {
+                    FloorState.tableRemoved(delTId);
+                    invalidateClientCaches(ActionType.GET_ALL_TABLES, null);
+                }
                 try {
                     client.sendToClient(new Message(ActionType.UPDATE_ORDER,
                             delSuccess ? "Table Deleted!" : "Error Deleting Table"));
@@ -134,6 +213,10 @@ public class EchoServer extends AbstractServer {
                     
                     boolean success = mysqlConnection.updateTableSeats(id, seats);
                     if (success) {
+                        int oldSeats = FloorState.tableResized(id, seats);
+                        if (seats > oldSeats)
+                            WaitingListManager.capacityFreedAllDates(seats);
+                        invalidateClientCaches(ActionType.GET_ALL_TABLES, null);
                         client.sendToClient(new Message(ActionType.UPDATE_TABLE, "Table " + id + " updated successfully!"));
                     } else {
                         client.sendToClient(new Message(ActionType.UPDATE_TABLE, "Failed to update table (ID not found)."));
@@ -144,19 +227,25 @@ public class EchoServer extends AbstractServer {
                 break;
                 
             case GET_HISTORY_BY_USER_ID:
-                try {
+                if (receivedMsg.getContent() instanceof OrderPageRequest) {
+                    sendOrderPage(ActionType.GET_HISTORY_BY_USER_ID, (OrderPageRequest) receivedMsg.getContent(), client);
+                } else {
                     int targetClientId = (Integer) receivedMsg.getContent();
-                    java.util.ArrayList<common.Order> history = mysqlConnection.getOrdersByClientId(targetClientId);
-                    client.sendToClient(new common.Message(common.ActionType.GET_HISTORY_BY_USER_ID, history));
-                } catch (java.io.IOException e) {
-                    System.out.println("Error sending history: " + e.getMessage());
+                    sendOrderPage(ActionType.GET_HISTORY_BY_USER_ID, new OrderPageRequest(
+                            OrderPageRequest.DEFAULT_PAGE_SIZE, targetClientId, null, null, null), client);
                 }
                 break;
                 
             case UPDATE_OPENING_HOURS:
                 String[] hoursData = ((String) receivedMsg.getContent()).split("::");
                 // hoursData[0] = day or date, hoursData[1] = hours range
-                mysqlConnection.updateOpeningHour(hoursData[0], hoursData[1]);
+                if (mysqlConnection.updateOpeningHour(hoursData[0], hoursData[1])) {
+                    // Longer hours may open slots; a specific date only affects that date's queue
+                    if (hoursData[0].matches("\\d{4}-\\d{2}-\\d{2}"))
+                        WaitingListManager.capacityFreed(hoursData[0], WaitingListManager.ALL_SEATS);
+                    else
+                        WaitingListManager.capacityFreedAllDates(WaitingListManager.ALL_SEATS);
+                }
                 try {
                     client.sendToClient(new Message(ActionType.UPDATE_ORDER, "Hours Updated for " + hoursData[0]));
                 } catch (IOException e) {
@@ -169,16 +258,34 @@ public class EchoServer extends AbstractServer {
                 break;
                 
             case GET_ALL_ORDERS:
-                ArrayList<Order> allOrders = mysqlConnection.getAllOrders();
-                try {
-                    client.sendToClient(new Message(ActionType.GET_ORDER, allOrders)); 
-                } catch (IOException e) {
-                }
+                OrderPageRequest pageRequest = (receivedMsg.getContent() instanceof OrderPageRequest)
+                        ? (OrderPageRequest) receivedMsg.getContent()
+                        : new OrderPageRequest(OrderPageRequest.DEFAULT_PAGE_SIZE, null, null, null, null);
+                sendOrderPage(ActionType.GET_ALL_ORDERS, pageRequest, client);
                 break;
                 
             case UPDATE_ORDER:
                 Order orderToUpdate = (Order) receivedMsg.getContent();
+                Order beforeUpdate = mysqlConnection.getOrder(orderToUpdate.get_order_number());
                 boolean updateSuccess = mysqlConnection.updateOrder(orderToUpdate);
+                if (updateSuccess) {
+                    FloorState.reloadReservations();
+                    Order afterUpdate = mysqlConnection.getOrder(orderToUpdate.get_order_number());
+                    if (afterUpdate != null && "APPROVED".equals(afterUpdate.get_status()))
+                        OrderDeadlineScheduler.scheduleNoShow(afterUpdate.get_order_number(),
+                                afterUpdate.get_order_date(), afterUpdate.get_order_time());
+                    if (WaitingListManager.remove(orderToUpdate.get_order_number())) {
+                        if (afterUpdate != null) {
+                            WaitingListManager.enqueue(afterUpdate);
+                            WaitingListManager.capacityFreed(afterUpdate.get_order_date(),
+                                    FloorState.seatsFor(afterUpdate.get_number_of_guests()));
+                        }
+                    } else if (beforeUpdate != null) {
+                        // The old date/time slot is no longer held by this order
+                        WaitingListManager.capacityFreed(beforeUpdate.get_order_date(),
+                                FloorState.seatsFor(beforeUpdate.get_number_of_guests()));
+                    }
+                }
                 try {
                     if (updateSuccess)
                         client.sendToClient(new Message(ActionType.UPDATE_ORDER, "Order Updated Successfully"));
@@ -192,6 +299,8 @@ public class EchoServer extends AbstractServer {
                 Subscriber subToUpdate = (Subscriber) receivedMsg.getContent();
                 boolean subUpdSuccess = mysqlConnection.updateSubscriberDetails(subToUpdate.getId(),
                         subToUpdate.getPhoneNumber(), subToUpdate.getEmail());
+                if (subUpdSuccess)
+                    invalidateClientCaches(ActionType.GET_SUBSCRIBER_DETAILS, subToUpdate.getId());
                 try {
                     client.sendToClient(
                             new Message(ActionType.UPDATE_ORDER, subUpdSuccess ? "Details Updated" : "Update Failed"));
@@ -209,6 +318,7 @@ public class EchoServer extends AbstractServer {
                 try {
                     if (foundSub != null) {
                         client.sendToClient(new Message(ActionType.IDENTIFY_SUBSCRIBER, foundSub));
+                        startSession(client, null);
                     } else {
                         client.sendToClient(new Message(ActionType.IDENTIFY_SUBSCRIBER, "Wrong ID or Username"));
                     }
@@ -219,6 +329,8 @@ public class EchoServer extends AbstractServer {
             case REGISTER_SUBSCRIBER:
                 common.Subscriber newSub = (common.Subscriber) receivedMsg.getContent();
                 int newSubId = mysqlConnection.addSubscriber(newSub);
+                if (newSubId != -1)
+                    invalidateClientCaches(ActionType.GET_SUBSCRIBER_DETAILS, newSubId);
                 try {
                     if (newSubId != -1) {
                         client.sendToClient(new Message(ActionType.REGISTER_SUBSCRIBER, "Success, Subscriber ID: " + newSubId));
@@ -232,10 +344,11 @@ public class EchoServer extends AbstractServer {
 
             case IDENTIFY_BY_CODE:
                 int code = (int) receivedMsg.getContent();
-                Order foundOrder = mysqlConnection.getOrderByConfirmationCode(code);
+                Order foundOrder = OrderIndex.getByConfirmationCode(code);
                 try {
                     if (foundOrder != null) {
                         client.sendToClient(new Message(ActionType.IDENTIFY_BY_CODE, foundOrder));
+                        startSession(client, null);
                     } else {
                         client.sendToClient(new Message(ActionType.IDENTIFY_BY_CODE, "Invalid Confirmation Code"));
                     }
@@ -256,22 +369,32 @@ public class EchoServer extends AbstractServer {
                 }
                 break;
                 
-            case GET_APPROVED_ORDERS_FOR_TODAY:
-                try {
-                    ArrayList<String> list = mysqlConnection.getApprovedOrdersForToday();
-                    client.sendToClient(new common.Message(common.ActionType.GET_APPROVED_ORDERS_FOR_TODAY, list));
-                } catch (Exception e) { e.printStackTrace(); }
-                break;
-                
             case MARK_ARRIVED:
                 try {
                     int id = (Integer) receivedMsg.getContent();
-                    int assignedTable = mysqlConnection.markOrderAsArrived(id);
-                    
-                    if (assignedTable != -1) {
-                        String msgq = "Client Arrived marked successfully. Table: " + assignedTable;
+                    Order arriving = OrderIndex.getOrder(id);
+                    if (arriving == null) {
+                        client.sendToClient(new Message(ActionType.MARK_ARRIVED, "Failed to mark arrived."));
+                        break;
+                    }
+                    // Only a booked or already seated party can be checked in
+                    if (!"APPROVED".equals(arriving.get_status()) && !"ACTIVE".equals(arriving.get_status())) {
+                        client.sendToClient(new Message(ActionType.MARK_ARRIVED, "Order #" + id + " is "
+                                + arriving.get_status() + " and cannot be marked as arrived."));
+                        break;
+                    }
+
+                    // Seat the party at the best free table according to the live floor state
+                    int assignedTable = FloorState.assignTable(id, arriving.get_number_of_guests());
+                    if (assignedTable == -1) {
+                        client.sendToClient(new Message(ActionType.MARK_ARRIVED, "No free table for "
+                                + arriving.get_number_of_guests() + " guests right now. Please wait a few minutes."));
+                    } else if (mysqlConnection.markOrderAsArrived(id, assignedTable)) {
+                        OrderDeadlineScheduler.scheduleStayLimit(id, LocalDateTime.now());
+                        String msgq = "Client Arrived marked successfully. Assigned Table: " + assignedTable;
                         client.sendToClient(new Message(ActionType.MARK_ARRIVED, msgq));
                     } else {
+                        FloorState.release(id);
                         client.sendToClient(new Message(ActionType.MARK_ARRIVED, "Failed to mark arrived."));
                     }
                 } catch (Exception e) { 
@@ -284,24 +407,31 @@ public class EchoServer extends AbstractServer {
                     int orderId = (Integer) receivedMsg.getContent();
                     
                     // 1. Check client type (for discount calculation)
-                    int subIdt = mysqlConnection.getSubscriberIdByOrder(orderId);
-                    
-                    // 2. Mark as finished in DB and set leave time
-                    mysqlConnection.markOrderAsFinished(orderId);
+                    Order finishing = OrderIndex.getOrder(orderId);
+                    int subIdt = (finishing != null) ? finishing.get_subscriber_id() : 0;
                     
-                    // 3. Prepare simulation messages
-                    String simulationMsg = ">>> SIMULATION [SMS]: Order #" + orderId + " Bill sent via SMS";
+                    // 2. Prepare the bill SMS and the client response
+                    String billMsg = "Order #" + orderId + " Bill sent via SMS";
                     String clientResponse = "Order #" + orderId + " Finished Successfully.";
                     
                     // Apply discount logic if subscriber
                     if (subIdt > 1 && subIdt != 999) {
-                        simulationMsg += " [*** 10% DISCOUNT APPLIED ***]";
+                        billMsg += " [*** 10% DISCOUNT APPLIED ***]";
                         clientResponse += " (Includes 10% Subscriber Discount!)";
                     } else {
-                        simulationMsg += " [Standard Bill]";
+                        billMsg += " [Standard Bill]";
+                    }
+                    
+                    // 3. Mark as finished in DB and queue the bill in the same transaction;
+                    //    the table is freed only if the order really was finished
+                    if (mysqlConnection.markOrderAsFinished(orderId, new NotificationOutbox.Notification("bill:" + orderId,
+                            NotificationOutbox.SMS, finishing != null ? finishing.getPhone() : null, billMsg))) {
+                        OrderDeadlineScheduler.cancel(orderId);
+                        FloorState.release(orderId);
+                    } else {
+                        clientResponse = "Failed to finish order #" + orderId + ".";
                     }
                     
-                    System.out.println(simulationMsg);
                     client.sendToClient(new common.Message(common.ActionType.MARK_FINISHED, clientResponse));
                     
                 } catch (Exception e) {
@@ -310,10 +440,85 @@ public class EchoServer extends AbstractServer {
                 }
                 break;
                 
+            case SUBSCRIBE:
+                PushHub.subscribe(client, (PushTopic) receivedMsg.getContent());
+                SessionRegistry.subscribed(client, (PushTopic) receivedMsg.getContent());
+                break;
+
+            case UNSUBSCRIBE:
+                PushHub.unsubscribe(client, (PushTopic) receivedMsg.getContent());
+                SessionRegistry.unsubscribed(client, (PushTopic) receivedMsg.getContent());
+                break;
+
+            case GET_SERVER_METRICS:
+                try {
+                    client.sendToClient(new Message(ActionType.GET_SERVER_METRICS, RequestMetrics.snapshot()));
+                } catch (IOException e) {
+                }
+                break;
+
+            case GET_QUERY_METRICS:
+                try {
+                    client.sendToClient(new Message(ActionType.GET_QUERY_METRICS, QueryInstrumentation.top(30)));
+                } catch (IOException e) {
+                }
+                break;
+
+            case RESUME_SESSION:
+                boolean resumed = SessionRegistry.resume(client, (String) receivedMsg.getContent());
+                String resumedUser = SessionRegistry.getUsername(client);
+                if (resumed && resumedUser != null)
+                    connectedUsers.put(client, resumedUser);
+                try {
+                    client.sendToClient(new Message(ActionType.RESUME_SESSION, resumed));
+                } catch (IOException e) {
+                }
+                break;
+
+            case SYNC_ORDERS:
+                try {
+                    long since = (receivedMsg.getContent() instanceof Long) ? (Long) receivedMsg.getContent()
+                            : OrderSync.FULL;
+                    client.sendToClient(new Message(ActionType.SYNC_ORDERS, OrderVersions.sync(since)));
+                } catch (IOException e) {
+                    System.out.println("Error sending order sync: " + e.getMessage());
+                }
+                break;
+
+            case EXPORT_ORDERS:
+                // Content: "YYYY-MM::YYYY-MM" month range, or null for every order
+                try {
+                    String fromDate = null;
+                    String toDate = null;
+                    if (receivedMsg.getContent() instanceof String) {
+                        String[] months = ((String) receivedMsg.getContent()).split("::");
+                        fromDate = YearMonth.parse(months[0].trim()).atDay(1).toString();
+                        toDate = YearMonth.parse(months[months.length - 1].trim()).plusMonths(1).atDay(1).toString();
+                    }
+                    ReportChunkWriter<OrderExportRow> exportOut = new ReportChunkWriter<>(LocalDate.now().toString(),
+                            ReportChunkWriter.EXPORT_CHUNK_ROWS,
+                            chunk -> client.sendToClient(new Message(ActionType.EXPORT_ORDERS, chunk)));
+                    if (!mysqlConnection.streamOrders(fromDate, toDate, exportOut))
+                        client.sendToClient(new Message(ActionType.EXPORT_ORDERS, "Error exporting orders."));
+                    else
+                        System.out.println("Exported " + exportOut.getRowCount() + " orders.");
+                } catch (DateTimeParseException e) {
+                    try {
+                        client.sendToClient(new Message(ActionType.EXPORT_ORDERS, "Invalid month range."));
+                    } catch (IOException ex) {
+                    }
+                } catch (IOException e) {
+                    System.out.println("Error sending export: " + e.getMessage());
+                }
+                break;
+
             case GET_DAILY_REPORT:
                 try {
-                    String dailyRep = mysqlConnection.getDailyReport();
-                    client.sendToClient(new Message(ActionType.GET_DAILY_REPORT, dailyRep));
+                    ReportChunkWriter<DailyOrderRow> dailyOut = new ReportChunkWriter<>(LocalDate.now().toString(),
+                            ReportChunkWriter.DEFAULT_CHUNK_ROWS,
+                            chunk -> client.sendToClient(new Message(ActionType.GET_DAILY_REPORT, chunk)));
+                    if (!mysqlConnection.streamDailyReport(LocalDate.now().toString(), dailyOut))
+                        client.sendToClient(new Message(ActionType.GET_DAILY_REPORT, "Error generating report."));
                 } catch (IOException e) {
                     System.out.println("Error sending daily report: " + e.getMessage());
                 }
@@ -337,8 +542,11 @@ public class EchoServer extends AbstractServer {
                 
             case GET_WAITING_LIST:
                 try {
-                    String waitingRep = mysqlConnection.getWaitingListReport();
-                    client.sendToClient(new Message(ActionType.GET_WAITING_LIST, waitingRep));
+                    ReportChunkWriter<WaitingListRow> waitingOut = new ReportChunkWriter<>(LocalDate.now().toString(),
+                            ReportChunkWriter.DEFAULT_CHUNK_ROWS,
+                            chunk -> client.sendToClient(new Message(ActionType.GET_WAITING_LIST, chunk)));
+                    if (!mysqlConnection.streamWaitingListReport(LocalDate.now().toString(), waitingOut))
+                        client.sendToClient(new Message(ActionType.GET_WAITING_LIST, "Error fetching waiting list."));
                 } catch (IOException e) {
                     System.out.println("Error sending waiting list: " + e.getMessage());
                 }
@@ -346,8 +554,15 @@ public class EchoServer extends AbstractServer {
                 
             case GET_REPORT:
                 try {
-                    String reportData = mysqlConnection.generateMonthlyReport();
-                    client.sendToClient(new Message(ActionType.GET_REPORT, reportData));
+                    // No content: current month (live); "YYYY-MM::YYYY-MM": month range from the daily rollup
+                    Object range = receivedMsg.getContent();
+                    try {
+                        MonthlyReport report = (range instanceof String) ? DailyStatsRollup.getReport((String) range)
+                                : MonthlyReportAggregates.getReport();
+                        client.sendToClient(new Message(ActionType.GET_REPORT, report));
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        client.sendToClient(new Message(ActionType.GET_REPORT, "Error: " + e.getMessage()));
+                    }
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
@@ -365,6 +580,16 @@ public class EchoServer extends AbstractServer {
                 }
                 break;
 
+            case GET_AVAILABILITY:
+                try {
+                    int partySize = (Integer) receivedMsg.getContent();
+                    client.sendToClient(new Message(ActionType.GET_AVAILABILITY,
+                            mysqlConnection.buildAvailabilityMatrix(partySize)));
+                } catch (IOException e) {
+                    System.out.println("Error sending availability: " + e.getMessage());
+                }
+                break;
+
             case GET_ALL_TABLES:
                 try {
                     client.sendToClient(new Message(ActionType.GET_ALL_TABLES, mysqlConnection.getAllTables()));
@@ -433,13 +658,21 @@ public class EchoServer extends AbstractServer {
                 order.set_table_id(-1);
             }
 
+            // The server picks the confirmation code so it is unique among live orders
+            order.set_confirmation_code(ConfirmationCodes.allocate());
             int orderNum = mysqlConnection.saveOrderToDB(order);
             if (orderNum != -1) {
                 order.set_order_number(orderNum);
+                if (order.get_status().equals("APPROVED")) {
+                    FloorState.reservationApproved(order);
+                    OrderDeadlineScheduler.scheduleNoShow(orderNum, order.get_order_date(), order.get_order_time());
+                } else if (order.get_status().equals("WAITING"))
+                    WaitingListManager.enqueue(order);
                 String msg = "Order Created Successfully! #" + orderNum;
                 client.sendToClient(new common.Message(common.ActionType.ADD_ORDER, order));
                 client.sendToClient(new common.Message(common.ActionType.ADD_ORDER, msg));
             } else {
+                ConfirmationCodes.release(order.get_confirmation_code());
                 client.sendToClient(new common.Message(common.ActionType.ADD_ORDER, "Error: Database Save Failed."));
             }
 
@@ -451,6 +684,48 @@ public class EchoServer extends AbstractServer {
         }
     }
 
+    /**
+     * Sends a message to every client, untagged even for the client whose request is
+     * being handled: a broadcast is never the reply to a request.
+     *
+     * @param msg the message to be sent
+     */
+    @Override
+    public void sendToAllClients(Object msg) {
+        ConnectionToClient requester = currentClient.get();
+        currentClient.remove();
+        try {
+            super.sendToAllClients(msg);
+        } finally {
+            if (requester != null)
+                currentClient.set(requester);
+        }
+    }
+
+    /**
+     * Tells every client that its cached replies to a read request are stale.
+     * Order changes need no broadcast: staff clients invalidate on PUSH_EVENT.
+     *
+     * @param action the read request
+     * @param key the request content whose reply is stale, or null for all
+     */
+    private void invalidateClientCaches(ActionType action, Serializable key) {
+        sendToAllClients(new Message(ActionType.INVALIDATE_CACHE, new CacheInvalidation(action, key)));
+    }
+
+    /**
+     * Opens a resumable session for an identified client and sends it the session token.
+     *
+     * @param client the identified client
+     * @param username the staff username, or null for subscribers and guests
+     */
+    private static void startSession(ConnectionToClient client, String username) {
+        try {
+            client.sendToClient(new Message(ActionType.SESSION_TOKEN, SessionRegistry.open(client, username)));
+        } catch (IOException e) {
+        }
+    }
+
     /**
      * Handles the login process for a user (staff/manager).
      *
@@ -467,6 +742,7 @@ public class EchoServer extends AbstractServer {
                 } else {
                     connectedUsers.put(client, full.getUsername());
                     client.sendToClient(new Message(ActionType.LOGIN, full));
+                    startSession(client, full.getUsername());
                 }
             } else {
                 client.sendToClient(new Message(ActionType.LOGIN, "Wrong username or password"));
@@ -496,7 +772,8 @@ public class EchoServer extends AbstractServer {
 
     /**
      * Handles the deletion (cancellation) of an order.
-     * Also checks the waiting list for potential promotions.
+     * A cancelled waiting order leaves the queue; any other cancellation frees its seats
+     * for the waiting list of that date.
      *
      * @param msg the delete message
      * @param client the client connection
@@ -509,13 +786,12 @@ public class EchoServer extends AbstractServer {
 
         try {
             if (isDeleted) {
+                OrderDeadlineScheduler.cancel(orderId);
+                FloorState.release(orderId);
                 client.sendToClient(new Message(ActionType.DELETE_ORDER, "Order Deleted Successfully"));
-                if (dateToCheck != null) {
+                if (!WaitingListManager.remove(orderId) && dateToCheck != null) {
                     System.out.println("Spot opened on " + dateToCheck + "! Checking waiting list...");
-                    String promotions = mysqlConnection.checkWaitingList(dateToCheck);
-                    if (!promotions.isEmpty()) {
-                        System.out.println("Promotions made:\n" + promotions);
-                    }
+                    WaitingListManager.capacityFreed(dateToCheck, FloorState.seatsFor(orderToDelete.get_number_of_guests()));
                 }
             } else {
                 client.sendToClient(new Message(ActionType.DELETE_ORDER, "Error: Could not delete order."));
@@ -557,6 +833,8 @@ public class EchoServer extends AbstractServer {
         System.out.println(msg);
         if (serverController != null)
             serverController.addToLog(msg);
+        PushHub.removeClient(client);
+        SessionRegistry.detach(client);
         String username = connectedUsers.get(client);
         if (username != null) {
             System.out.println("Logging out user: " + username);
@@ -567,7 +845,8 @@ public class EchoServer extends AbstractServer {
 
     /**
      * Invoked when the server successfully starts listening for connections.
-     * Initializes database connection and background services.
+     * Initializes database connection and background services. Each service is started
+     * on its own, so one that fails does not keep the others from starting.
      */
     @Override
     protected void serverStarted() {
@@ -579,76 +858,110 @@ public class EchoServer extends AbstractServer {
             mysqlConnection.connectToDB();
             if (serverController != null)
                 serverController.addToLog("Database connected successfully!");
-            startAutoCancelService();
         } catch (Exception e) {
+            System.out.println("DB Connection Failed: " + e);
+            if (serverController != null)
+                serverController.addToLog("DB Connection Failed! " + e);
+        }
+        startService("floor state", FloorState::load);
+        startService("order index", OrderIndex::start);
+        startService("confirmation codes", ConfirmationCodes::start);
+        startService("order versions", OrderVersions::start);
+        startService("push hub", PushHub::start);
+        startService("waiting list", WaitingListManager::load);
+        startService("notification outbox", NotificationOutbox::start);
+        startService("monthly report", MonthlyReportAggregates::start);
+        startService("daily rollup", DailyStatsRollup::start);
+        startService("deadline scheduler", () -> OrderDeadlineScheduler.start(this::deadlineReached));
+        try {
+            int metricsPort = MetricsEndpoint.start(this);
+            if (metricsPort > 0 && serverController != null)
+                serverController.addToLog("Metrics on http://localhost:" + metricsPort + "/metrics");
+        } catch (Exception e) {
+            System.out.println("Metrics endpoint not started: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts one background service, logging (instead of propagating) its failure.
+     *
+     * @param name the service name, for the log
+     * @param start starts the service
+     */
+    private void startService(String name, Runnable start) {
+        try {
+            start.run();
+        } catch (Exception e) {
+            System.out.println("Failed to start " + name + ": " + e);
+            e.printStackTrace();
             if (serverController != null)
-                serverController.addToLog("DB Connection Failed!");
+                serverController.addToLog("Failed to start " + name + ": " + e);
         }
     }
 
     /**
-     * Starts a background service to automatically manage orders.
-     * Performs two main tasks every minute:
-     * 1. Cancels 'No-Show' orders (15 min delay).
-     * 2. Auto-closes active orders after 2 hours.
+     * Sends one page of an order list.
+     *
+     * @param action the action the page answers
+     * @param req the page request
+     * @param client the requesting client
      */
-    private void startAutoCancelService() {
-        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-        Runnable cancelTask = () -> {
-            try {
-                // Task 1: Cancel No-Shows
-                int cancelledCount = mysqlConnection.cancelNoShows();
-                if (cancelledCount > 0) {
-                    System.out.println("[AUTO-CANCEL] Cancelled " + cancelledCount + " orders due to 15 min delay.");
-                    String today = java.time.LocalDate.now().toString();
-                    String promotions = mysqlConnection.checkWaitingList(today);
-                    if (!promotions.isEmpty()) {
-                        System.out.println("[AUTO-CANCEL] Waiting List Update:\n" + promotions);
-                    }
-                }
+    private void sendOrderPage(ActionType action, OrderPageRequest req, ConnectionToClient client) {
+        OrderPage<?> page = mysqlConnection.getOrderPage(req);
+        try {
+            client.sendToClient(new Message(action, page));
+        } catch (IOException e) {
+            System.out.println("Error sending orders page: " + e.getMessage());
+        }
+    }
 
-                // Task 2: Auto-close after 2 hours
-                ArrayList<String> timeLimitList = mysqlConnection.checkTimeLimit();
-                
-                for (String info : timeLimitList) {
-                    try {
-                        String idStr = info.replace("Order #", "").trim();
-                        int orderId = Integer.parseInt(idStr);
-                        
-                        int subId = mysqlConnection.getSubscriberIdByOrder(orderId);
-                        
-                        String simulationMsg = ">>> SIMULATION [SMS]: " + info + " Bill sent via SMS";
-                        
-                        if (subId > 0 && subId != 999) {
-                             simulationMsg += " [Includes 10% Subscriber Discount!]";
-                        } else {
-                             simulationMsg += " [Standard Bill]";
-                        }
-                        
-                        System.out.println(simulationMsg);
-                        
-                        if (serverController != null) {
-                             serverController.addToLog("Auto-Closed: " + info + " (2 Hours Limit)");
-                        }
-                        
-                    } catch (NumberFormatException e) {
-                        System.out.println(">>> SIMULATION [SMS]: " + info + " Bill sent via SMS");
-                    }
-                }
+    /**
+     * Handles an order deadline fired by the {@link OrderDeadlineScheduler}.
+     * NO_SHOW: cancels an order whose client did not arrive within 15 minutes.
+     * STAY_LIMIT: auto-closes an active order after 2 hours and sends the bill.
+     *
+     * @param kind the kind of deadline
+     * @param orderId the order number
+     */
+    private void deadlineReached(OrderDeadlineScheduler.Kind kind, int orderId) {
+        if (kind == OrderDeadlineScheduler.Kind.NO_SHOW) {
+            Order order = mysqlConnection.getOrder(orderId);
+            if (order == null || !mysqlConnection.markNoShow(orderId))
+                return;
+            System.out.println("[AUTO-CANCEL] Order #" + orderId + " cancelled due to 15 min delay.");
+            FloorState.release(orderId);
+            WaitingListManager.capacityFreed(order.get_order_date(), FloorState.seatsFor(order.get_number_of_guests()));
+            return;
+        }
 
-            } catch (Exception e) {
-                System.out.println("Auto-Service Error: " + e.getMessage());
-            }
-        };
-        // Schedule to run every 60 seconds
-        scheduler.scheduleAtFixedRate(cancelTask, 0, 60, TimeUnit.SECONDS);
+        Order order = mysqlConnection.getOrder(orderId);
+        if (order == null)
+            return;
+        String info = "Order #" + orderId;
+
+        int subId = order.get_subscriber_id();
+        String billMsg = info + " Bill sent via SMS";
+        if (subId > 0 && subId != 999) {
+            billMsg += " [Includes 10% Subscriber Discount!]";
+        } else {
+            billMsg += " [Standard Bill]";
+        }
+        if (!mysqlConnection.autoCloseOrder(orderId,
+                new NotificationOutbox.Notification("bill:" + orderId, NotificationOutbox.SMS, order.getPhone(), billMsg)))
+            return;
+        FloorState.release(orderId);
+
+        if (serverController != null) {
+            serverController.addToLog("Auto-Closed: " + info + " (2 Hours Limit)");
+        }
     }
-    
+
     /**
      * Invoked when the server stops listening for connections.
      */
     @Override
     protected void serverStopped() {
+        MetricsEndpoint.stop();
     }
 
     /**
@@ -0,0 +1,303 @@
+package db;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import common.Order;
+import common.Table;
+
+/**
+ * Live in-memory view of the restaurant floor.
+ * Keeps the seat count of every table, which tables are currently taken by ACTIVE orders
+ * and today's upcoming APPROVED reservations, so an arriving party can be seated
+ * without scanning the orders table.
+ * Free tables are bucketed by seat count, which makes finding the smallest fitting table
+ * a single ordered-map lookup.
+ * @author Group-17
+ * @version 1.0
+ */
+public class FloorState {
+
+    /** How long ahead (in minutes) an upcoming reservation keeps a table protected. */
+    private static final int RESERVATION_HOLD_MINUTES = 120;
+
+    /** How long (in minutes) a late reservation is still expected to show up. */
+    private static final int LATE_GRACE_MINUTES = 15;
+
+    /** Seat count of every known table, keyed by table ID. */
+    private static final HashMap<Integer, Integer> seatsByTable = new HashMap<>();
+
+    /** Free table IDs bucketed by their seat count. */
+    private static final TreeMap<Integer, TreeSet<Integer>> freeTablesBySeats = new TreeMap<>();
+
+    /** Tables currently taken, keyed by the seated order number. */
+    private static final HashMap<Integer, Integer> tableByOrder = new HashMap<>();
+
+    /** Today's APPROVED reservations that have not arrived yet, keyed by order number. */
+    private static final HashMap<Integer, Reservation> upcoming = new HashMap<>();
+
+    /** The date the upcoming reservations were loaded for. */
+    private static LocalDate reservationsDate;
+
+    /**
+     * A reservation expected to arrive later today.
+     */
+    private static class Reservation {
+        LocalTime time;
+        int guests;
+
+        Reservation(LocalTime time, int guests) {
+            this.time = time;
+            this.guests = guests;
+        }
+    }
+
+    /**
+     * Rebuilds the whole floor state from the database.
+     * Called once the database connection is established.
+     */
+    public static synchronized void load() {
+        seatsByTable.clear();
+        freeTablesBySeats.clear();
+        tableByOrder.clear();
+
+        for (Table t : mysqlConnection.getRestaurantTables()) {
+            seatsByTable.put(t.getTableId(), t.getSeats());
+            markFree(t.getTableId());
+        }
+
+        for (Map.Entry<Integer, Integer> seating : mysqlConnection.getActiveSeatings().entrySet()) {
+            int tableId = seating.getValue();
+            if (seatsByTable.containsKey(tableId) && !tableByOrder.containsValue(tableId)) {
+                markTaken(tableId);
+                tableByOrder.put(seating.getKey(), tableId);
+            }
+        }
+
+        reloadReservations();
+        System.out.println("Floor state loaded: " + seatsByTable.size() + " tables, " + tableByOrder.size()
+                + " seated, " + upcoming.size() + " upcoming.");
+    }
+
+    /**
+     * Reloads today's upcoming APPROVED reservations from the database.
+     * Used after bulk changes such as no-show sweeps or waiting list promotions.
+     */
+    public static synchronized void reloadReservations() {
+        upcoming.clear();
+        reservationsDate = LocalDate.now();
+        for (Order o : mysqlConnection.getApprovedOrdersForDate(reservationsDate.toString())) {
+            addReservation(o);
+        }
+    }
+
+    /**
+     * Picks the best free table for an arriving party and marks it as taken.
+     * The smallest table that fits is preferred, as long as the tables left free can still
+     * seat the reservations expected within the next two hours.
+     *
+     * @param orderNumber the arriving order
+     * @param guests the party size
+     * @return the assigned table ID, or -1 if no free table fits the party
+     */
+    public static synchronized int assignTable(int orderNumber, int guests) {
+        Integer alreadySeated = tableByOrder.get(orderNumber);
+        if (alreadySeated != null)
+            return alreadySeated;
+
+        if (!LocalDate.now().equals(reservationsDate))
+            reloadReservations();
+        upcoming.remove(orderNumber);
+
+        ArrayList<Integer> expected = expectedPartySizes(LocalTime.now());
+        int fallback = -1;
+
+        for (Map.Entry<Integer, TreeSet<Integer>> bucket : freeTablesBySeats.tailMap(guests, true).entrySet()) {
+            int seats = bucket.getKey();
+            if (fallback == -1)
+                fallback = bucket.getValue().first();
+            if (expected.isEmpty() || canSeatAfterTaking(seats, expected)) {
+                int tableId = bucket.getValue().first();
+                seat(orderNumber, tableId);
+                return tableId;
+            }
+        }
+
+        if (fallback != -1)
+            seat(orderNumber, fallback);
+        return fallback;
+    }
+
+    /**
+     * Frees the table held by an order (on finish, auto-close or cancellation).
+     *
+     * @param orderNumber the order leaving the table
+     * @return the freed table ID, or -1 if the order was not seated
+     */
+    public static synchronized int release(int orderNumber) {
+        upcoming.remove(orderNumber);
+        Integer tableId = tableByOrder.remove(orderNumber);
+        if (tableId == null)
+            return -1;
+        if (seatsByTable.containsKey(tableId))
+            markFree(tableId);
+        return tableId;
+    }
+
+    /**
+     * Registers an order approved for today as an upcoming reservation.
+     * Orders for other dates are ignored.
+     *
+     * @param order the approved order
+     */
+    public static synchronized void reservationApproved(Order order) {
+        if (reservationsDate != null && reservationsDate.toString().equals(order.get_order_date()))
+            addReservation(order);
+    }
+
+    /**
+     * Registers a newly added table as free.
+     *
+     * @param tableId the table ID
+     * @param seats the number of seats
+     */
+    public static synchronized void tableAdded(int tableId, int seats) {
+        if (seatsByTable.containsKey(tableId))
+            return;
+        seatsByTable.put(tableId, seats);
+        markFree(tableId);
+    }
+
+    /**
+     * Removes a deleted table from the floor.
+     * If a party is still seated there it keeps the table until it leaves.
+     *
+     * @param tableId the table ID
+     */
+    public static synchronized void tableRemoved(int tableId) {
+        if (!tableByOrder.containsValue(tableId))
+            markTaken(tableId);
+        seatsByTable.remove(tableId);
+    }
+
+    /**
+     * Updates the seat count of a table.
+     *
+     * @param tableId the table ID
+     * @param seats the new number of seats
+     * @return the previous number of seats, or 0 if the table was unknown
+     */
+    public static synchronized int tableResized(int tableId, int seats) {
+        Integer oldSeats = seatsByTable.get(tableId);
+        if (oldSeats == null)
+            return 0;
+        boolean free = !tableByOrder.containsValue(tableId);
+        if (free)
+            markTaken(tableId);
+        seatsByTable.put(tableId, seats);
+        if (free)
+            markFree(tableId);
+        return oldSeats;
+    }
+
+    /**
+     * Returns the seats a party takes: the seat count of the smallest table that fits it.
+     *
+     * @param guests the party size
+     * @return the seats of the smallest fitting table, or the party size if no table fits
+     */
+    public static synchronized int seatsFor(int guests) {
+        int best = Integer.MAX_VALUE;
+        for (int seats : seatsByTable.values())
+            if (seats >= guests && seats < best)
+                best = seats;
+        return best == Integer.MAX_VALUE ? guests : best;
+    }
+
+    private static void addReservation(Order o) {
+        String t = o.get_order_time();
+        if (t == null)
+            return;
+        if (t.length() == 4)
+            t = "0" + t;
+        if (t.length() > 5)
+            t = t.substring(0, 5);
+        try {
+            upcoming.put(o.get_order_number(), new Reservation(LocalTime.parse(t), o.get_number_of_guests()));
+        } catch (Exception e) {
+            System.out.println("Floor state: bad time for order #" + o.get_order_number());
+        }
+    }
+
+    private static void seat(int orderNumber, int tableId) {
+        markTaken(tableId);
+        tableByOrder.put(orderNumber, tableId);
+    }
+
+    private static void markFree(int tableId) {
+        freeTablesBySeats.computeIfAbsent(seatsByTable.get(tableId), k -> new TreeSet<>()).add(tableId);
+    }
+
+    private static void markTaken(int tableId) {
+        Integer seats = seatsByTable.get(tableId);
+        if (seats == null)
+            return;
+        TreeSet<Integer> bucket = freeTablesBySeats.get(seats);
+        if (bucket != null) {
+            bucket.remove(tableId);
+            if (bucket.isEmpty())
+                freeTablesBySeats.remove(seats);
+        }
+    }
+
+    /**
+     * Collects the party sizes of reservations due within the hold window, largest first.
+     */
+    private static ArrayList<Integer> expectedPartySizes(LocalTime now) {
+        ArrayList<Integer> sizes = new ArrayList<>();
+        LocalTime from = now.minusMinutes(LATE_GRACE_MINUTES);
+        LocalTime to = now.plusMinutes(RESERVATION_HOLD_MINUTES);
+        boolean wraps = to.isBefore(now);
+        for (Reservation r : upcoming.values()) {
+            boolean afterStart = !r.time.isBefore(from) || from.isAfter(now);
+            boolean beforeEnd = wraps || !r.time.isAfter(to);
+            if (afterStart && beforeEnd)
+                sizes.add(r.guests);
+        }
+        sizes.sort(Collections.reverseOrder());
+        return sizes;
+    }
+
+    /**
+     * Simulates taking one free table of the given size and checks whether the remaining
+     * free tables can still seat every expected party (largest party first, smallest fitting table).
+     */
+    private static boolean canSeatAfterTaking(int takenSeats, ArrayList<Integer> expected) {
+        TreeMap<Integer, Integer> remaining = new TreeMap<>();
+        for (Map.Entry<Integer, TreeSet<Integer>> bucket : freeTablesBySeats.entrySet())
+            remaining.put(bucket.getKey(), bucket.getValue().size());
+        decrement(remaining, takenSeats);
+
+        for (int guests : expected) {
+            Integer fit = remaining.ceilingKey(guests);
+            if (fit == null)
+                return false;
+            decrement(remaining, fit);
+        }
+        return true;
+    }
+
+    private static void decrement(TreeMap<Integer, Integer> counts, int seats) {
+        int left = counts.get(seats) - 1;
+        if (left == 0)
+            counts.remove(seats);
+        else
+            counts.put(seats, left);
+    }
+}
@@ -0,0 +1,167 @@
+package db;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A hash map from primitive int keys to objects (open addressing, linear probing).
+ * Avoids boxing every key into an Integer and the per-entry node objects of a HashMap,
+ * which matters for lookup tables that are hit on every request.
+ * Not thread-safe; callers synchronize.
+ * @author Group-17
+ * @version 1.0
+ *
+ * @param <V> the value type
+ */
+public class IntObjectMap<V> {
+
+    private static final float MAX_LOAD = 0.5f;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Constructs a map sized for the expected number of entries.
+     *
+     * @param expected the expected number of entries
+     */
+    public IntObjectMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expected / MAX_LOAD)) - 1) << 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key)
+                return (V) values[i];
+        }
+        return null;
+    }
+
+    /**
+     * Stores a value for a key.
+     *
+     * @param key the key
+     * @param value the value (not null)
+     * @return the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (size + 1 > keys.length * MAX_LOAD)
+            resize(keys.length * 2);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @param key the key
+     * @return the removed value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key)
+                break;
+        }
+        if (values[i] == null)
+            return null;
+        V old = (V) values[i];
+        values[i] = null;
+        size--;
+
+        // Shift back the entries of the same probe run so lookups keep finding them
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            boolean movable = (i <= j) ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                values[j] = null;
+                i = j;
+            }
+        }
+        return old;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Passes every value to an action.
+     *
+     * @param action the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<V> action) {
+        for (Object v : values.clone()) {
+            if (v != null)
+                action.accept((V) v);
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null)
+                putRaw(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private void putRaw(int key, Object value) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != null)
+            i = (i + 1) & mask;
+        keys[i] = key;
+        values[i] = value;
+        size++;
+    }
+}
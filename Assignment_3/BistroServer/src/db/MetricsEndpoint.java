@@ -0,0 +1,213 @@
+package db;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import common.ActionMetrics;
+import ocsf.server.AbstractServer;
+
+/**
+ * Optional HTTP endpoint that exposes the server metrics at {@code /metrics} in the
+ * Prometheus text format, so a monitoring system can scrape them.
+ * It is off unless the {@link #PORT_PROPERTY} system property gives a port, and it only
+ * listens on the loopback address. Every scrape reads the current counters; nothing is
+ * recorded in between.
+ * @author Group-17
+ * @version 1.0
+ */
+public class MetricsEndpoint {
+
+    /** System property holding the endpoint's port (e.g. -Dbistro.metrics.port=9464). */
+    public static final String PORT_PROPERTY = "bistro.metrics.port";
+
+    private static HttpServer http;
+    private static ExecutorService executor;
+
+    /**
+     * Starts the endpoint if a port is configured.
+     *
+     * @param server the server whose connections are reported
+     * @return the port the endpoint listens on, or -1 if it is disabled
+     * @throws IOException if the port could not be bound
+     */
+    public static synchronized int start(AbstractServer server) throws IOException {
+        String port = System.getProperty(PORT_PROPERTY);
+        if (http != null || port == null || port.isBlank())
+            return -1;
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(port.trim())), 0);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "metrics-http");
+            t.setDaemon(true);
+            return t;
+        });
+        http.setExecutor(executor);
+        http.createContext("/metrics", exchange -> scrape(exchange, server));
+        http.start();
+        return http.getAddress().getPort();
+    }
+
+    /**
+     * Stops the endpoint, if it is running.
+     */
+    public static synchronized void stop() {
+        if (http == null)
+            return;
+        http.stop(0);
+        executor.shutdown();
+        http = null;
+        executor = null;
+    }
+
+    private static void scrape(HttpExchange exchange, AbstractServer server) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render(server).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Metrics Error: " + e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Builds the exposition text.
+     *
+     * @param server the server whose connections are reported
+     * @return the metrics in the Prometheus text format
+     */
+    static String render(AbstractServer server) {
+        StringBuilder sb = new StringBuilder(8192);
+
+        // Requests, per action
+        ArrayList<ActionMetrics> actions = RequestMetrics.snapshot();
+        header(sb, "bistro_requests_total", "counter", "Requests handled, per action.");
+        for (ActionMetrics m : actions)
+            sample(sb, "bistro_requests_total", action(m), m.getCount());
+        header(sb, "bistro_request_errors_total", "counter", "Requests that ended with an exception, per action.");
+        for (ActionMetrics m : actions)
+            sample(sb, "bistro_request_errors_total", action(m), m.getErrors());
+        header(sb, "bistro_requests_in_flight", "gauge", "Requests being handled, per action.");
+        for (ActionMetrics m : actions)
+            sample(sb, "bistro_requests_in_flight", action(m), m.getInFlight());
+        header(sb, "bistro_request_duration_seconds", "summary", "Request handling time, per action.");
+        for (ActionMetrics m : actions) {
+            String a = "action=\"" + m.getAction() + "\"";
+            sample(sb, "bistro_request_duration_seconds", "{" + a + ",quantile=\"0.5\"}", m.getP50Micros() / 1e6);
+            sample(sb, "bistro_request_duration_seconds", "{" + a + ",quantile=\"0.99\"}", m.getP99Micros() / 1e6);
+            sample(sb, "bistro_request_duration_seconds", "{" + a + ",quantile=\"0.999\"}", m.getP999Micros() / 1e6);
+            sample(sb, "bistro_request_duration_seconds_sum", action(m), m.getMeanMicros() * m.getCount() / 1e6);
+            sample(sb, "bistro_request_duration_seconds_count", action(m), m.getCount());
+        }
+
+        // Connections and sessions
+        gauge(sb, "bistro_clients_connected", "Client connections open.", server.getNumberOfClients());
+        gauge(sb, "bistro_sessions_attached", "Sessions attached to a connection.", SessionRegistry.attached());
+        gauge(sb, "bistro_sessions_detached", "Sessions waiting to be resumed.", SessionRegistry.detached());
+
+        // Database
+        long[] totals = QueryInstrumentation.totals();
+        gauge(sb, "bistro_db_connections_open", "Open database connections.", QueryInstrumentation.getOpenConnections());
+        counter(sb, "bistro_db_statements_total", "SQL statements executed.", totals[0]);
+        counter(sb, "bistro_db_statement_seconds_total", "Time spent executing SQL statements.", totals[1] / 1e6);
+        counter(sb, "bistro_db_rows_total", "Rows read or affected by SQL statements.", totals[2]);
+        counter(sb, "bistro_db_slow_statements_total", "SQL statements slower than the slow query threshold.",
+                QueryInstrumentation.getSlowQueries());
+
+        // Order index (cache in front of the orders table)
+        long hits = OrderIndex.getHits();
+        long misses = OrderIndex.getMisses();
+        counter(sb, "bistro_order_index_hits_total", "Order lookups answered by the in-memory index.", hits);
+        counter(sb, "bistro_order_index_misses_total", "Order lookups that fell back to the database.", misses);
+        gauge(sb, "bistro_order_index_hit_ratio", "Share of order lookups answered by the index.",
+                hits + misses == 0 ? 0 : (double) hits / (hits + misses));
+        gauge(sb, "bistro_order_index_size", "Orders held by the index.", OrderIndex.size());
+
+        // Background jobs
+        gauge(sb, "bistro_deadlines_pending", "Orders waiting for a no-show or stay-limit deadline.",
+                OrderDeadlineScheduler.pending());
+        gauge(sb, "bistro_deadline_lag_seconds", "How late the last deadline fired.",
+                OrderDeadlineScheduler.getLastLagMillis() / 1e3);
+        gauge(sb, "bistro_waiting_list_size", "Orders on the waiting list.", WaitingListManager.size());
+        counter(sb, "bistro_notifications_sent_total", "Notifications delivered by the outbox.",
+                NotificationOutbox.getSentCount());
+        counter(sb, "bistro_notification_failures_total", "Failed notification delivery attempts.",
+                NotificationOutbox.getFailedAttempts());
+        gauge(sb, "bistro_notification_lag_seconds", "How late the last notification was delivered.",
+                NotificationOutbox.getLastLagMillis() / 1e3);
+
+        // JVM
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        MemoryUsage nonHeap = memory.getNonHeapMemoryUsage();
+        header(sb, "jvm_memory_used_bytes", "gauge", "Memory used, per area.");
+        sample(sb, "jvm_memory_used_bytes", "{area=\"heap\"}", heap.getUsed());
+        sample(sb, "jvm_memory_used_bytes", "{area=\"nonheap\"}", nonHeap.getUsed());
+        header(sb, "jvm_memory_committed_bytes", "gauge", "Memory committed, per area.");
+        sample(sb, "jvm_memory_committed_bytes", "{area=\"heap\"}", heap.getCommitted());
+        sample(sb, "jvm_memory_committed_bytes", "{area=\"nonheap\"}", nonHeap.getCommitted());
+        gauge(sb, "jvm_memory_max_bytes", "Maximum heap size.", heap.getMax());
+        header(sb, "jvm_gc_collections_total", "counter", "Garbage collections, per collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            sample(sb, "jvm_gc_collections_total", "{gc=\"" + escape(gc.getName()) + "\"}", Math.max(0, gc.getCollectionCount()));
+        header(sb, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection, per collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            sample(sb, "jvm_gc_collection_seconds_total", "{gc=\"" + escape(gc.getName()) + "\"}",
+                    Math.max(0, gc.getCollectionTime()) / 1e3);
+        gauge(sb, "jvm_threads_live", "Live threads.", ManagementFactory.getThreadMXBean().getThreadCount());
+        return sb.toString();
+    }
+
+    private static String action(ActionMetrics m) {
+        return "{action=\"" + m.getAction() + "\"}";
+    }
+
+    private static void gauge(StringBuilder sb, String name, String help, double value) {
+        header(sb, name, "gauge", help);
+        sample(sb, name, "", value);
+    }
+
+    private static void counter(StringBuilder sb, String name, String help, double value) {
+        header(sb, name, "counter", help);
+        sample(sb, name, "", value);
+    }
+
+    private static void header(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder sb, String name, String labels, double value) {
+        sb.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+            sb.append((long) value);
+        else
+            sb.append(value);
+        sb.append('\n');
+    }
+
+    private static String escape(String label) {
+        return label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,271 @@
+package db;
+
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import common.MonthlyReport;
+import common.Order;
+
+/**
+ * Live totals for the current month's report.
+ * The contribution of every order of the month (status bucket, arrival, lateness,
+ * arrival and departure hour, covers, stay) is remembered, so when an order changes only the
+ * difference between its old and new contribution is applied and GET_REPORT
+ * just formats the running totals.
+ * The totals are rebuilt from the database at startup and on month change,
+ * and compared against a fresh scan every hour.
+ * @author Group-17
+ * @version 1.0
+ */
+public class MonthlyReportAggregates {
+
+    /** How often (minutes) the live totals are compared against the database. */
+    private static final long CONSISTENCY_CHECK_MINUTES = 60;
+
+    /** Minutes after the ordered time from which an arrival counts as late. */
+    private static final int LATE_THRESHOLD_MINUTES = 10;
+
+    /**
+     * What a single order adds to the monthly totals.
+     */
+    public static class Contribution {
+        final String bucket;
+        final boolean arrived;
+        final boolean late;
+        final int arrivalHour;
+        final int departureHour;
+        /** Guests seated (0 if the party did not arrive). */
+        final int covers;
+        /** Minutes from arrival to leave, or -1 if the party has not left. */
+        final int stayMinutes;
+
+        private Contribution(String bucket, boolean arrived, boolean late, int arrivalHour, int departureHour,
+                int covers, int stayMinutes) {
+            this.bucket = bucket;
+            this.arrived = arrived;
+            this.late = late;
+            this.arrivalHour = arrivalHour;
+            this.departureHour = departureHour;
+            this.covers = covers;
+            this.stayMinutes = stayMinutes;
+        }
+
+        /**
+         * Computes the contribution of an order row.
+         *
+         * @param status the order status
+         * @param guests the number of guests
+         * @param arrivalTime the actual arrival time, may be null
+         * @param leaveTime the actual leave time, may be null
+         * @param orderTime the ordered time
+         * @return the contribution
+         */
+        public static Contribution of(String status, int guests, String arrivalTime, String leaveTime,
+                String orderTime) {
+            String bucket = null;
+            if (status != null) {
+                if (status.equalsIgnoreCase("Cancelled")) bucket = "CANCELLED";
+                else if (status.equalsIgnoreCase("No_Show") || status.equalsIgnoreCase("No-Show")) bucket = "NO_SHOW";
+                else if (status.equalsIgnoreCase("Waiting")) bucket = "WAITING";
+            }
+
+            boolean arrived = false;
+            boolean late = false;
+            if (arrivalTime != null && !arrivalTime.isEmpty() && orderTime != null && !orderTime.isEmpty()) {
+                arrived = true;
+                try {
+                    LocalTime ordered = LocalTime.parse(withColon(orderTime));
+                    LocalTime actual = LocalTime.parse(withColon(arrivalTime));
+                    late = ChronoUnit.MINUTES.between(ordered, actual) > LATE_THRESHOLD_MINUTES;
+                } catch (Exception e) {}
+            }
+
+            return new Contribution(bucket, arrived, late, hourOf(arrivalTime), hourOf(leaveTime),
+                    arrived ? guests : 0, minutesBetween(arrivalTime, leaveTime));
+        }
+
+        private static String withColon(String t) {
+            return t.contains(":") ? t : t.substring(0, 2) + ":" + t.substring(2);
+        }
+
+        private static int hourOf(String t) {
+            if (t == null || !t.contains(":"))
+                return -1;
+            try {
+                int h = Integer.parseInt(t.split(":")[0]);
+                return (h >= 0 && h < 24) ? h : -1;
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        private static int minutesBetween(String from, String to) {
+            try {
+                String[] a = from.split(":");
+                String[] b = to.split(":");
+                int minutes = (Integer.parseInt(b[0]) * 60 + Integer.parseInt(b[1]))
+                        - (Integer.parseInt(a[0]) * 60 + Integer.parseInt(a[1]));
+                return minutes >= 0 ? minutes : -1;
+            } catch (Exception e) {
+                return -1;
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Contribution))
+                return false;
+            Contribution c = (Contribution) o;
+            return arrived == c.arrived && late == c.late && arrivalHour == c.arrivalHour
+                    && departureHour == c.departureHour && covers == c.covers && stayMinutes == c.stayMinutes
+                    && (bucket == null ? c.bucket == null : bucket.equals(c.bucket));
+        }
+
+        @Override
+        public int hashCode() {
+            return (bucket == null ? 0 : bucket.hashCode()) * 31 + arrivalHour * 24 + departureHour;
+        }
+    }
+
+    /** The month the totals belong to. */
+    private static YearMonth month;
+
+    /** The contribution of every order of the month, keyed by order number. */
+    private static final HashMap<Integer, Contribution> byOrder = new HashMap<>();
+
+    private static int cancelled, noShow, waiting, lateArrivals, actualArrivals, covers, stayCount;
+    private static long totalStayMinutes;
+    private static final int[] arrivals = new int[24];
+    private static final int[] departures = new int[24];
+
+    /** Background thread running the periodic consistency check. */
+    private static final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "report-aggregates");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Builds the totals from the database, subscribes to order changes
+     * and schedules the periodic consistency check.
+     */
+    public static void start() {
+        rebuild();
+        OrderEvents.addListener(MonthlyReportAggregates::orderChanged);
+        checker.scheduleAtFixedRate(MonthlyReportAggregates::checkConsistency, CONSISTENCY_CHECK_MINUTES,
+                CONSISTENCY_CHECK_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Recomputes the totals of the current month from the database.
+     */
+    public static synchronized void rebuild() {
+        month = YearMonth.now();
+        HashMap<Integer, Contribution> fresh = mysqlConnection.getReportContributions(firstDay(), nextMonthFirstDay());
+        replaceAll(fresh != null ? fresh : new HashMap<>());
+        System.out.println("Monthly report aggregates built: " + byOrder.size() + " orders for " + month + ".");
+    }
+
+    /**
+     * Applies the change of a single order to the totals.
+     *
+     * @param change the changed row
+     */
+    public static synchronized void orderChanged(OrderEvents.Change change) {
+        if (!YearMonth.now().equals(month)) {
+            rebuild();
+            return;
+        }
+        Order o = change.getOrder();
+        Contribution now = null;
+        if (o != null && o.get_order_date() != null && o.get_order_date().compareTo(firstDay()) >= 0
+                && o.get_order_date().compareTo(nextMonthFirstDay()) < 0)
+            now = Contribution.of(o.get_status(), o.get_number_of_guests(), change.getArrivalTime(),
+                    change.getLeaveTime(), o.get_order_time());
+        int orderNumber = change.getOrderNumber();
+        Contribution before = (now == null) ? byOrder.remove(orderNumber) : byOrder.put(orderNumber, now);
+        if (before != null)
+            apply(before, -1);
+        if (now != null)
+            apply(now, 1);
+    }
+
+    /**
+     * Returns the report of the current month.
+     *
+     * @return the report
+     */
+    public static synchronized MonthlyReport getReport() {
+        if (!YearMonth.now().equals(month))
+            rebuild();
+        return new MonthlyReport(month.toString(), byOrder.size(), cancelled, noShow, waiting, lateArrivals,
+                actualArrivals, arrivals.clone(), departures.clone(), covers,
+                stayCount == 0 ? 0 : (double) totalStayMinutes / stayCount);
+    }
+
+    /**
+     * Compares the live totals with a fresh database scan and replaces them if they drifted
+     * (e.g. after a manual change in the database).
+     *
+     * @return true if the totals were consistent
+     */
+    public static synchronized boolean checkConsistency() {
+        try {
+            if (!YearMonth.now().equals(month)) {
+                rebuild();
+                return true;
+            }
+            HashMap<Integer, Contribution> fresh = mysqlConnection.getReportContributions(firstDay(), nextMonthFirstDay());
+            if (fresh == null || fresh.equals(byOrder))
+                return true;
+            System.out.println("Monthly report aggregates drifted from the database, rebuilding.");
+            replaceAll(fresh);
+            return false;
+        } catch (Exception e) {
+            System.out.println("Aggregates check error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static void replaceAll(HashMap<Integer, Contribution> fresh) {
+        byOrder.clear();
+        cancelled = noShow = waiting = lateArrivals = actualArrivals = covers = stayCount = 0;
+        totalStayMinutes = 0;
+        Arrays.fill(arrivals, 0);
+        Arrays.fill(departures, 0);
+        for (Map.Entry<Integer, Contribution> e : fresh.entrySet()) {
+            byOrder.put(e.getKey(), e.getValue());
+            apply(e.getValue(), 1);
+        }
+    }
+
+    private static void apply(Contribution c, int sign) {
+        if ("CANCELLED".equals(c.bucket)) cancelled += sign;
+        else if ("NO_SHOW".equals(c.bucket)) noShow += sign;
+        else if ("WAITING".equals(c.bucket)) waiting += sign;
+        if (c.arrived) actualArrivals += sign;
+        if (c.late) lateArrivals += sign;
+        if (c.arrivalHour != -1) arrivals[c.arrivalHour] += sign;
+        if (c.departureHour != -1) departures[c.departureHour] += sign;
+        covers += c.covers * sign;
+        if (c.stayMinutes != -1) {
+            totalStayMinutes += c.stayMinutes * sign;
+            stayCount += sign;
+        }
+    }
+
+    private static String firstDay() {
+        return month.atDay(1).toString();
+    }
+
+    private static String nextMonthFirstDay() {
+        return month.plusMonths(1).atDay(1).toString();
+    }
+}
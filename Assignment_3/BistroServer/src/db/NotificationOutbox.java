@@ -0,0 +1,206 @@
+package db;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers SMS and email notifications outside the request path.
+ * Notifications are written to the notification_outbox table in the same database
+ * transaction as the order status change that caused them (see mysqlConnection),
+ * so a notification exists exactly when its status change was committed.
+ * A single background dispatcher drains the outbox in batches to a pluggable
+ * {@link NotificationSender}, retrying failed deliveries with exponential backoff.
+ * Each notification has a unique event key, so the same event is never queued twice.
+ * @author Group-17
+ * @version 1.0
+ */
+public class NotificationOutbox {
+
+    /** Channel name for SMS notifications. */
+    public static final String SMS = "SMS";
+
+    /** Channel name for email notifications. */
+    public static final String EMAIL = "EMAIL";
+
+    /** Maximum number of notifications fetched per batch. */
+    private static final int BATCH_SIZE = 50;
+
+    /** How often (ms) the outbox is checked when nothing wakes the dispatcher up. */
+    private static final long POLL_INTERVAL_MS = 1000;
+
+    /** Delivery attempts before a notification is given up. */
+    public static final int MAX_ATTEMPTS = 8;
+
+    /** Upper bound (seconds) of the retry backoff. */
+    private static final int MAX_BACKOFF_SECONDS = 300;
+
+    /**
+     * A notification waiting in (or read from) the outbox.
+     */
+    public static class Notification {
+        private long id;
+        private final String eventKey;
+        private final String channel;
+        private final String recipient;
+        private final String body;
+        private long createdAt;
+        private int attempts;
+
+        /**
+         * Constructs a new notification to be written to the outbox.
+         *
+         * @param eventKey the unique key of the event (used for dedupe)
+         * @param channel {@link #SMS} or {@link #EMAIL}
+         * @param recipient the phone number or email address, may be null
+         * @param body the message text
+         */
+        public Notification(String eventKey, String channel, String recipient, String body) {
+            this.eventKey = eventKey;
+            this.channel = channel;
+            this.recipient = recipient;
+            this.body = body;
+        }
+
+        Notification(long id, String eventKey, String channel, String recipient, String body, long createdAt,
+                int attempts) {
+            this(eventKey, channel, recipient, body);
+            this.id = id;
+            this.createdAt = createdAt;
+            this.attempts = attempts;
+        }
+
+        public long getId() { return id; }
+
+        public String getEventKey() { return eventKey; }
+
+        public String getChannel() { return channel; }
+
+        public String getRecipient() { return recipient; }
+
+        public String getBody() { return body; }
+
+        public long getCreatedAt() { return createdAt; }
+
+        public int getAttempts() { return attempts; }
+    }
+
+    /** The component delivering notifications. */
+    private static volatile NotificationSender sender = new ConsoleNotificationSender();
+
+    /** Lock the dispatcher waits on between batches. */
+    private static final Object signal = new Object();
+
+    /** Whether new notifications were committed since the last batch. */
+    private static boolean pending = false;
+
+    /** The dispatcher thread, or null if not started. */
+    private static Thread dispatcher;
+
+    private static final AtomicLong sentCount = new AtomicLong();
+    private static final AtomicLong failedAttempts = new AtomicLong();
+    private static final AtomicLong batchCount = new AtomicLong();
+    private static final AtomicLong lastLagMillis = new AtomicLong();
+    private static final AtomicLong maxLagMillis = new AtomicLong();
+
+    /**
+     * Replaces the sender used for delivery (e.g. a real SMS gateway).
+     *
+     * @param newSender the sender
+     */
+    public static void setSender(NotificationSender newSender) {
+        sender = newSender;
+    }
+
+    /**
+     * Starts the dispatcher thread. Notifications left unsent by a previous run
+     * are delivered first.
+     */
+    public static synchronized void start() {
+        if (dispatcher != null)
+            return;
+        dispatcher = new Thread(NotificationOutbox::run, "notification-outbox");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Wakes the dispatcher up after a notification was committed.
+     */
+    public static void wakeUp() {
+        synchronized (signal) {
+            pending = true;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Returns a one-line summary of the dispatcher metrics.
+     *
+     * @return the metrics summary
+     */
+    public static String getMetrics() {
+        return "Outbox: sent=" + sentCount.get() + ", failedAttempts=" + failedAttempts.get() + ", batches="
+                + batchCount.get() + ", lastLagMs=" + lastLagMillis.get() + ", maxLagMs=" + maxLagMillis.get();
+    }
+
+    public static long getSentCount() { return sentCount.get(); }
+
+    public static long getFailedAttempts() { return failedAttempts.get(); }
+
+    public static long getLastLagMillis() { return lastLagMillis.get(); }
+
+    /**
+     * Dispatcher loop: drains every due notification, then sleeps until woken up or polled.
+     */
+    private static void run() {
+        while (true) {
+            try {
+                while (dispatchBatch() == BATCH_SIZE) {
+                    // A full batch means more may be waiting
+                }
+                synchronized (signal) {
+                    if (!pending)
+                        signal.wait(POLL_INTERVAL_MS);
+                    pending = false;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                System.out.println("Outbox Error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Sends one batch of due notifications.
+     *
+     * @return the number of notifications fetched
+     */
+    private static int dispatchBatch() {
+        ArrayList<Notification> batch = mysqlConnection.getDueNotifications(BATCH_SIZE, MAX_ATTEMPTS);
+        if (batch.isEmpty())
+            return 0;
+
+        ArrayList<Long> delivered = new ArrayList<>();
+        for (Notification n : batch) {
+            try {
+                sender.send(n);
+                delivered.add(n.getId());
+                long lag = System.currentTimeMillis() - n.getCreatedAt();
+                lastLagMillis.set(lag);
+                maxLagMillis.accumulateAndGet(lag, Math::max);
+            } catch (Exception e) {
+                failedAttempts.incrementAndGet();
+                int backoff = Math.min(MAX_BACKOFF_SECONDS, 1 << Math.min(n.getAttempts(), 16));
+                mysqlConnection.rescheduleNotification(n.getId(), backoff, e.getMessage());
+                if (n.getAttempts() + 1 >= MAX_ATTEMPTS)
+                    System.out.println("Outbox: giving up on " + n.getEventKey() + " after " + MAX_ATTEMPTS + " attempts.");
+            }
+        }
+
+        mysqlConnection.markNotificationsSent(delivered);
+        sentCount.addAndGet(delivered.size());
+        batchCount.incrementAndGet();
+        return batch.size();
+    }
+}
@@ -0,0 +1,21 @@
+package db;
+
+/**
+ * Delivers a notification (SMS or email) to the outside world.
+ * Implementations are plugged into the {@link NotificationOutbox} dispatcher;
+ * a failed delivery is reported by throwing, and the outbox retries it later.
+ * The event key of a notification stays the same across retries, so a gateway
+ * supporting idempotency keys can drop duplicates.
+ * @author Group-17
+ * @version 1.0
+ */
+public interface NotificationSender {
+
+    /**
+     * Sends a single notification.
+     *
+     * @param notification the notification to send
+     * @throws Exception if the notification could not be delivered
+     */
+    void send(NotificationOutbox.Notification notification) throws Exception;
+}
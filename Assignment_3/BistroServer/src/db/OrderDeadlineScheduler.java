@@ -0,0 +1,230 @@
+package db;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import common.Order;
+
+/**
+ * Fires per-order deadlines instead of polling the orders table.
+ * Each order has at most one pending deadline: 15 minutes after the reservation time while
+ * it is APPROVED (no-show), or 2 hours after arrival while it is ACTIVE (stay limit).
+ * Deadlines are kept in a delay queue, so the worker thread sleeps until exactly the next
+ * due order and only touches the orders that are actually due.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderDeadlineScheduler {
+
+    /** Minutes after the reservation time before an APPROVED order becomes a no-show. */
+    public static final int NO_SHOW_GRACE_MINUTES = 15;
+
+    /** Hours a seated party may stay before the order is closed automatically. */
+    public static final int STAY_LIMIT_HOURS = 2;
+
+    /** The kind of deadline. */
+    public enum Kind { NO_SHOW, STAY_LIMIT }
+
+    /**
+     * Receives due deadlines on the scheduler thread.
+     */
+    public interface Listener {
+        /**
+         * Called when an order's deadline is reached.
+         *
+         * @param kind the kind of deadline
+         * @param orderNumber the order number
+         */
+        void deadlineReached(Kind kind, int orderNumber);
+    }
+
+    /**
+     * A single pending deadline.
+     */
+    private static class Deadline implements Delayed {
+        final int orderNumber;
+        final Kind kind;
+        final long dueMillis;
+
+        Deadline(int orderNumber, Kind kind, long dueMillis) {
+            this.orderNumber = orderNumber;
+            this.kind = kind;
+            this.dueMillis = dueMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return Long.compare(dueMillis, ((Deadline) o).dueMillis);
+        }
+    }
+
+    /** Pending deadlines ordered by due time. */
+    private static final DelayQueue<Deadline> queue = new DelayQueue<>();
+
+    /** The current deadline of each order; older entries left in the queue are ignored when they fire. */
+    private static final Map<Integer, Deadline> current = new ConcurrentHashMap<>();
+
+    /** Delay (ms) between the due time and the actual firing of the last deadline. */
+    private static final AtomicLong lastLagMillis = new AtomicLong();
+
+    /** The component handling due deadlines. */
+    private static Listener listener;
+
+    /** The worker thread, or null if not started. */
+    private static Thread worker;
+
+    /**
+     * Rebuilds the deadlines from the database and starts the worker thread.
+     * APPROVED orders from today onward get a no-show deadline and ACTIVE orders a stay limit;
+     * deadlines already in the past fire immediately.
+     *
+     * @param deadlineListener the component handling due deadlines
+     */
+    public static synchronized void start(Listener deadlineListener) {
+        listener = deadlineListener;
+        queue.clear();
+        current.clear();
+
+        for (Order o : mysqlConnection.getApprovedOrdersFrom(LocalDate.now().toString()))
+            scheduleNoShow(o.get_order_number(), o.get_order_date(), o.get_order_time());
+        for (Map.Entry<Integer, LocalDateTime> arrival : mysqlConnection.getActiveArrivalTimes().entrySet())
+            scheduleStayLimit(arrival.getKey(), arrival.getValue());
+
+        System.out.println("Deadline scheduler started with " + current.size() + " pending deadlines.");
+
+        if (worker == null) {
+            worker = new Thread(OrderDeadlineScheduler::run, "order-deadlines");
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Schedules the no-show deadline of an APPROVED order, replacing any previous deadline.
+     *
+     * @param orderNumber the order number
+     * @param date the reservation date (YYYY-MM-DD)
+     * @param time the reservation time (HH:MM)
+     */
+    public static void scheduleNoShow(int orderNumber, String date, String time) {
+        LocalDateTime reservation = parseDateTime(date, time);
+        if (reservation == null)
+            return;
+        schedule(orderNumber, Kind.NO_SHOW, reservation.plusMinutes(NO_SHOW_GRACE_MINUTES));
+    }
+
+    /**
+     * Schedules the stay limit of a seated order, replacing its no-show deadline.
+     *
+     * @param orderNumber the order number
+     * @param arrivedAt the arrival time
+     */
+    public static void scheduleStayLimit(int orderNumber, LocalDateTime arrivedAt) {
+        schedule(orderNumber, Kind.STAY_LIMIT, arrivedAt.plusHours(STAY_LIMIT_HOURS));
+    }
+
+    /**
+     * Drops the pending deadline of an order (finished, cancelled or deleted).
+     *
+     * @param orderNumber the order number
+     */
+    public static void cancel(int orderNumber) {
+        Deadline d = current.remove(orderNumber);
+        if (d != null)
+            queue.remove(d);
+    }
+
+    /**
+     * Returns the number of orders with a pending deadline.
+     *
+     * @return the pending deadline count
+     */
+    public static int pending() {
+        return current.size();
+    }
+
+    /**
+     * Returns how late (ms) the last deadline fired relative to its due time.
+     *
+     * @return the last firing lag in milliseconds
+     */
+    public static long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    private static void schedule(int orderNumber, Kind kind, LocalDateTime due) {
+        long dueMillis = due.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Deadline d = new Deadline(orderNumber, kind, dueMillis);
+        Deadline previous = current.put(orderNumber, d);
+        if (previous != null)
+            queue.remove(previous);
+        queue.put(d);
+    }
+
+    /**
+     * Worker loop: waits for the next due deadline and hands it to the listener.
+     */
+    private static void run() {
+        while (true) {
+            try {
+                Deadline d = queue.take();
+                if (!current.remove(d.orderNumber, d))
+                    continue;
+                long lag = System.currentTimeMillis() - d.dueMillis;
+                lastLagMillis.set(lag);
+                ServerEvents.DeadlineHandled event = new ServerEvents.DeadlineHandled();
+                event.begin();
+                try {
+                    listener.deadlineReached(d.kind, d.orderNumber);
+                } finally {
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.kind = d.kind.name();
+                        event.orderNumber = d.orderNumber;
+                        event.lagMillis = lag;
+                        event.commit();
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                System.out.println("Deadline Error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Parses a date and a time as stored in the orders table.
+     *
+     * @param date the date (YYYY-MM-DD)
+     * @param time the time (H:MM, HH:MM or HH:MM:SS)
+     * @return the combined date-time, or null if it cannot be parsed
+     */
+    public static LocalDateTime parseDateTime(String date, String time) {
+        if (date == null || time == null)
+            return null;
+        try {
+            String t = time.trim();
+            if (t.length() == 4)
+                t = "0" + t;
+            if (t.length() > 5)
+                t = t.substring(0, 5);
+            return LocalDateTime.of(LocalDate.parse(date), LocalTime.parse(t));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
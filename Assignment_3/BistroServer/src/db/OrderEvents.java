@@ -0,0 +1,127 @@
+package db;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import common.Order;
+
+/**
+ * Notifies interested server components whenever a row of the orders table changes.
+ * Fired by the mysqlConnection write methods after a successful update. The writer only
+ * queues the order number; a single background thread reads the changed row once and hands
+ * it to every listener in order, so the cost of a write does not grow with the listeners.
+ * Until its listeners have run, an order is reported as {@link #isPending pending}, so readers
+ * of derived state (such as {@link OrderIndex}) can go to the database instead.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderEvents {
+
+    /**
+     * Receives order change notifications.
+     */
+    public interface Listener {
+        /**
+         * Called after an order was inserted or updated.
+         *
+         * @param change the changed row
+         */
+        void orderChanged(Change change);
+    }
+
+    /**
+     * The state of an order row after a change.
+     */
+    public static class Change {
+        private final int orderNumber;
+        private final Order order;
+        private final String arrivalTime;
+        private final String leaveTime;
+
+        /**
+         * Constructs a change.
+         *
+         * @param orderNumber the changed order
+         * @param order the order as stored now, or null if it no longer exists
+         * @param arrivalTime the actual arrival time, may be null
+         * @param leaveTime the actual leave time, may be null
+         */
+        public Change(int orderNumber, Order order, String arrivalTime, String leaveTime) {
+            this.orderNumber = orderNumber;
+            this.order = order;
+            this.arrivalTime = arrivalTime;
+            this.leaveTime = leaveTime;
+        }
+
+        public int getOrderNumber() { return orderNumber; }
+
+        public Order getOrder() { return order; }
+
+        public String getArrivalTime() { return arrivalTime; }
+
+        public String getLeaveTime() { return leaveTime; }
+    }
+
+    /** Registered listeners. */
+    private static final CopyOnWriteArrayList<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Number of queued changes per order that the listeners have not seen yet. */
+    private static final ConcurrentHashMap<Integer, Integer> pending = new ConcurrentHashMap<>();
+
+    /** Runs the listeners, one change at a time in the order the writes happened. */
+    private static final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "order-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener the listener
+     */
+    public static void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Queues the notification that an order changed.
+     *
+     * @param orderNumber the changed order
+     */
+    public static void fire(int orderNumber) {
+        pending.merge(orderNumber, 1, Integer::sum);
+        dispatcher.execute(() -> dispatch(orderNumber));
+    }
+
+    /**
+     * Returns whether a change of an order was written but not yet handed to the listeners.
+     *
+     * @param orderNumber the order number
+     * @return true if the listeners have not seen the latest change yet
+     */
+    public static boolean isPending(int orderNumber) {
+        return pending.containsKey(orderNumber);
+    }
+
+    /**
+     * Reads the changed row and notifies every listener.
+     * A failing listener does not prevent the others from running.
+     */
+    private static void dispatch(int orderNumber) {
+        try {
+            Change change = mysqlConnection.getOrderChange(orderNumber);
+            for (Listener l : listeners) {
+                try {
+                    l.orderChanged(change);
+                } catch (Exception e) {
+                    System.out.println("Order event error for #" + orderNumber + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            pending.computeIfPresent(orderNumber, (n, count) -> count == 1 ? null : count - 1);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package db;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import common.Order;
+
+/**
+ * In-memory index of today's and upcoming orders, keyed by order number and by
+ * confirmation code, so kiosk check-ins and staff lookups of current orders
+ * do not query the database. Kept in sync through {@link OrderEvents}; lookups
+ * that miss (historical orders), or hit an order whose change is still being
+ * dispatched, fall back to the database.
+ * Orders of days that have passed are dropped on the first lookup of a new day.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderIndex {
+
+    /** Initial capacity of the index maps. */
+    private static final int EXPECTED_ORDERS = 1024;
+
+    private static final IntObjectMap<Order> byNumber = new IntObjectMap<>(EXPECTED_ORDERS);
+    private static final IntObjectMap<Order> byCode = new IntObjectMap<>(EXPECTED_ORDERS);
+
+    /** The first day the index covers (YYYY-MM-DD). */
+    private static String firstDay;
+
+    /** Lookups answered by the index, and lookups that fell back to the database. */
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * Loads today's and upcoming orders and subscribes to order changes.
+     */
+    public static void start() {
+        reload();
+        OrderEvents.addListener(OrderIndex::orderChanged);
+    }
+
+    /**
+     * Reloads the index from the database.
+     */
+    public static synchronized void reload() {
+        byNumber.clear();
+        byCode.clear();
+        firstDay = LocalDate.now().toString();
+        ArrayList<Order> orders = mysqlConnection.getOrdersFrom(firstDay);
+        for (Order o : orders)
+            add(o);
+        System.out.println("Order index loaded: " + byNumber.size() + " orders from " + firstDay + ".");
+    }
+
+    /**
+     * Refreshes a single order after it was written.
+     *
+     * @param change the changed row
+     */
+    public static void orderChanged(OrderEvents.Change change) {
+        Order fresh = change.getOrder();
+        synchronized (OrderIndex.class) {
+            removeEntry(change.getOrderNumber());
+            if (fresh != null && isCovered(fresh))
+                add(fresh);
+        }
+    }
+
+    /**
+     * Returns an order by number, from the index or else from the database.
+     * The returned order is shared and must not be modified.
+     *
+     * @param orderNumber the order number
+     * @return the order, or null if it does not exist
+     */
+    public static Order getOrder(int orderNumber) {
+        synchronized (OrderIndex.class) {
+            rollDay();
+            Order o = byNumber.get(orderNumber);
+            if (o != null && !OrderEvents.isPending(orderNumber)) {
+                hits.increment();
+                return o;
+            }
+        }
+        misses.increment();
+        return mysqlConnection.getOrder(orderNumber);
+    }
+
+    /**
+     * Returns an order by confirmation code, from the index or else from the database.
+     * The returned order is shared and must not be modified.
+     *
+     * @param code the confirmation code
+     * @return the order, or null if no order has this code
+     */
+    public static Order getByConfirmationCode(int code) {
+        synchronized (OrderIndex.class) {
+            rollDay();
+            Order o = byCode.get(code);
+            // An ended holder may have passed its code to a new order whose event is still queued
+            if (o != null && ConfirmationCodes.isLive(o) && !OrderEvents.isPending(o.get_order_number())) {
+                hits.increment();
+                return o;
+            }
+        }
+        misses.increment();
+        return mysqlConnection.getOrderByConfirmationCode(code);
+    }
+
+    /**
+     * Returns the number of indexed orders.
+     *
+     * @return the index size
+     */
+    public static synchronized int size() {
+        return byNumber.size();
+    }
+
+    /**
+     * Returns the number of lookups answered by the index.
+     *
+     * @return the hit count
+     */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that fell back to the database.
+     *
+     * @return the miss count
+     */
+    public static long getMisses() {
+        return misses.sum();
+    }
+
+    private static boolean isCovered(Order o) {
+        return o.get_order_date() != null && o.get_order_date().compareTo(firstDay) >= 0;
+    }
+
+    private static void add(Order o) {
+        byNumber.put(o.get_order_number(), o);
+        if (o.get_confirmation_code() == 0)
+            return;
+        // Codes are reused once an order ended; the newest order holding a code owns it
+        Order current = byCode.get(o.get_confirmation_code());
+        if (current == null || current.get_order_number() <= o.get_order_number())
+            byCode.put(o.get_confirmation_code(), o);
+    }
+
+    private static void removeEntry(int orderNumber) {
+        Order old = byNumber.remove(orderNumber);
+        // Only drop the code entry if it still points at this order
+        if (old != null && byCode.get(old.get_confirmation_code()) == old)
+            byCode.remove(old.get_confirmation_code());
+    }
+
+    /** Drops the orders of days that have passed once the date changes. */
+    private static void rollDay() {
+        String today = LocalDate.now().toString();
+        if (today.equals(firstDay))
+            return;
+        firstDay = today;
+        ArrayList<Integer> past = new ArrayList<>();
+        byNumber.forEachValue(o -> {
+            if (!isCovered(o))
+                past.add(o.get_order_number());
+        });
+        for (int orderNumber : past)
+            removeEntry(orderNumber);
+    }
+}
@@ -0,0 +1,91 @@
+package db;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+import common.OrderSync;
+
+/**
+ * Stamps every order write with an increasing change version (orders.change_version),
+ * so staff clients can fetch only the orders changed since their last sync
+ * instead of re-reading whole lists.
+ * Versions are assigned and written under one lock, so once a version is handed out
+ * as a sync point every lower version is already in the table.
+ * Orders that disappear are remembered as tombstones (in memory, the most recent
+ * {@value #MAX_TOMBSTONES}); a client whose version is older than the tombstones kept
+ * (e.g. after a server restart) gets a full load instead.
+ * @author Group-17
+ * @version 1.0
+ */
+public class OrderVersions {
+
+    /** Number of tombstones kept. */
+    private static final int MAX_TOMBSTONES = 10000;
+
+    /** The last version written. */
+    private static long current;
+
+    /** Versions up to this one may have lost tombstones; older clients get a full load. */
+    private static long tombstoneFloor;
+
+    /** Removed orders by the version of their removal. */
+    private static final TreeMap<Long, Integer> tombstones = new TreeMap<>();
+
+    /**
+     * Reads the last version from the database and subscribes to order changes.
+     */
+    public static void start() {
+        synchronized (OrderVersions.class) {
+            current = mysqlConnection.getMaxChangeVersion();
+            tombstoneFloor = current;
+            tombstones.clear();
+        }
+        OrderEvents.addListener(OrderVersions::orderChanged);
+    }
+
+    /**
+     * Stamps a changed order with the next version (or records a tombstone if it is gone).
+     * If the stamp could not be written, the change is invisible to delta syncs, so every
+     * client synced before it gets a full load instead.
+     *
+     * @param change the changed row
+     */
+    public static synchronized void orderChanged(OrderEvents.Change change) {
+        int orderNumber = change.getOrderNumber();
+        long version = current + 1;
+        int stamped = mysqlConnection.setChangeVersion(orderNumber, version);
+        if (stamped == 0) {
+            tombstones.put(version, orderNumber);
+            if (tombstones.size() > MAX_TOMBSTONES)
+                tombstoneFloor = tombstones.pollFirstEntry().getKey();
+        } else if (stamped < 0) {
+            tombstoneFloor = version;
+        }
+        current = version;
+    }
+
+    /**
+     * Returns the orders of today and later changed since a version.
+     *
+     * @param since the client's version, or {@link OrderSync#FULL}
+     * @return the changes, as a full load if the client's version cannot be served incrementally
+     */
+    public static OrderSync sync(long since) {
+        long upTo;
+        ArrayList<Integer> removed = new ArrayList<>();
+        boolean full;
+        synchronized (OrderVersions.class) {
+            upTo = current;
+            full = since == OrderSync.FULL || since < tombstoneFloor || since > current;
+            if (!full) {
+                for (Map.Entry<Long, Integer> t : tombstones.subMap(since, false, upTo, true).entrySet())
+                    removed.add(t.getValue());
+            }
+        }
+        return new OrderSync(upTo, full,
+                mysqlConnection.getOrdersChangedSince(LocalDate.now().toString(), full ? OrderSync.FULL : since, upTo),
+                removed);
+    }
+}
@@ -0,0 +1,152 @@
+package db;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import common.ActionType;
+import common.Message;
+import common.Order;
+import common.OrderChangeEvent;
+import common.PushTopic;
+import ocsf.server.ConnectionToClient;
+
+/**
+ * Publishes order changes to subscribed staff clients.
+ * Clients subscribe to {@link PushTopic}s; whenever an order's status or table changes
+ * (new booking, promotion from the waiting list, seating, auto-cancel, auto-close...)
+ * a compact {@link OrderChangeEvent} is pushed to the subscribers of the affected topics.
+ * Events are sent in order on a single background thread, so a slow client never
+ * holds up the write that caused the change.
+ * Must be started after {@link OrderIndex}, whose listener refreshes the order first.
+ * @author Group-17
+ * @version 1.0
+ */
+public class PushHub {
+
+    /** Subscribed clients per topic. */
+    private static final EnumMap<PushTopic, CopyOnWriteArraySet<ConnectionToClient>> subscribers =
+            new EnumMap<>(PushTopic.class);
+
+    static {
+        for (PushTopic topic : PushTopic.values())
+            subscribers.put(topic, new CopyOnWriteArraySet<>());
+    }
+
+    /** Last known state of today's and upcoming orders, to detect transitions. */
+    private static final IntObjectMap<Order> known = new IntObjectMap<>(1024);
+
+    /** Background thread sending the events. */
+    private static final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "push-events");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Loads the current state of today's and upcoming orders and subscribes to order changes.
+     */
+    public static void start() {
+        synchronized (known) {
+            known.clear();
+            for (Order o : mysqlConnection.getOrdersFrom(LocalDate.now().toString()))
+                known.put(o.get_order_number(), o);
+        }
+        OrderEvents.addListener(PushHub::orderChanged);
+    }
+
+    /**
+     * Subscribes a client to a topic.
+     *
+     * @param client the client
+     * @param topic the topic
+     */
+    public static void subscribe(ConnectionToClient client, PushTopic topic) {
+        subscribers.get(topic).add(client);
+    }
+
+    /**
+     * Unsubscribes a client from a topic.
+     *
+     * @param client the client
+     * @param topic the topic
+     */
+    public static void unsubscribe(ConnectionToClient client, PushTopic topic) {
+        subscribers.get(topic).remove(client);
+    }
+
+    /**
+     * Drops every subscription of a client (on disconnect).
+     *
+     * @param client the client
+     */
+    public static void removeClient(ConnectionToClient client) {
+        for (CopyOnWriteArraySet<ConnectionToClient> set : subscribers.values())
+            set.remove(client);
+    }
+
+    /**
+     * Publishes the change of an order if its status or table changed.
+     *
+     * @param change the changed row
+     */
+    public static void orderChanged(OrderEvents.Change change) {
+        int orderNumber = change.getOrderNumber();
+        Order now = change.getOrder();
+        String today = LocalDate.now().toString();
+        Order before;
+        synchronized (known) {
+            if (now != null && now.get_order_date() != null && now.get_order_date().compareTo(today) >= 0)
+                before = known.put(orderNumber, now);
+            else
+                before = known.remove(orderNumber);
+        }
+        if (now == null)
+            return;
+
+        String oldStatus = (before != null) ? before.get_status() : null;
+        String newStatus = now.get_status();
+        if (before != null && same(oldStatus, newStatus) && before.get_table_id() == now.get_table_id())
+            return;
+
+        if (today.equals(now.get_order_date()))
+            publish(PushTopic.TODAY_ORDERS, now, oldStatus);
+        if ("WAITING".equalsIgnoreCase(oldStatus) || "WAITING".equalsIgnoreCase(newStatus))
+            publish(PushTopic.WAITING_LIST, now, oldStatus);
+        if ("ACTIVE".equalsIgnoreCase(oldStatus) || "ACTIVE".equalsIgnoreCase(newStatus))
+            publish(PushTopic.FLOOR, now, oldStatus);
+    }
+
+    private static void publish(PushTopic topic, Order o, String oldStatus) {
+        CopyOnWriteArraySet<ConnectionToClient> clients = subscribers.get(topic);
+        if (clients.isEmpty())
+            return;
+        Message msg = new Message(ActionType.PUSH_EVENT, new OrderChangeEvent(topic, o.get_order_number(),
+                o.get_order_date(), o.get_order_time(), o.get_number_of_guests(), oldStatus, o.get_status(),
+                Math.max(0, o.get_table_id()), contactOf(o)));
+        sender.execute(() -> {
+            for (ConnectionToClient client : clients) {
+                try {
+                    client.sendToClient(msg);
+                } catch (IOException e) {
+                    removeClient(client);
+                }
+            }
+        });
+    }
+
+    private static String contactOf(Order o) {
+        if (o.get_name() != null && !o.get_name().isEmpty())
+            return o.get_name();
+        if (o.getPhone() != null && !o.getPhone().isEmpty())
+            return o.getPhone();
+        return "Subscriber " + o.get_subscriber_id();
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equalsIgnoreCase(b);
+    }
+}
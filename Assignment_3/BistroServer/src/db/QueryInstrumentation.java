@@ -0,0 +1,268 @@
+package db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import common.ActionType;
+import common.QueryMetrics;
+
+/**
+ * Instruments JDBC connections with dynamic proxies.
+ * Every statement execution is timed and counted per SQL text, rows read from result sets
+ * (or affected by updates) are counted, and statements slower than {@link #SLOW_QUERY_MS}
+ * are logged with their parameters. Queries are attributed to the request being handled on
+ * the thread (see {@link #beginRequest}), so the number of queries per request is known.
+ * @author Group-17
+ * @version 1.0
+ */
+public class QueryInstrumentation {
+
+    /** Statements taking longer than this (milliseconds) are logged. */
+    private static final long SLOW_QUERY_MS = 200;
+
+    /** Longest SQL text kept in a log line. */
+    private static final int MAX_LOGGED_SQL = 300;
+
+    /**
+     * Totals of one SQL text.
+     */
+    private static class SqlStats {
+        final LongAdder executions = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * The request being handled on a thread.
+     */
+    private static class RequestContext {
+        final ActionType action;
+        int queries;
+
+        RequestContext(ActionType action) {
+            this.action = action;
+        }
+    }
+
+    private static final ConcurrentHashMap<String, SqlStats> bySql = new ConcurrentHashMap<>();
+    private static final ThreadLocal<RequestContext> currentRequest = new ThreadLocal<>();
+
+    /** Connections wrapped and not closed yet. */
+    private static final AtomicInteger openConnections = new AtomicInteger();
+
+    /** Statements that took longer than {@link #SLOW_QUERY_MS}. */
+    private static final LongAdder slowQueries = new LongAdder();
+
+    /**
+     * Wraps a connection so its statements are instrumented.
+     *
+     * @param conn the connection
+     * @return the instrumented connection
+     */
+    public static Connection wrap(Connection conn) {
+        openConnections.incrementAndGet();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    boolean closing = name.equals("close") && !conn.isClosed();
+                    Object result = invoke(conn, method, args);
+                    if (closing)
+                        openConnections.decrementAndGet();
+                    if (result instanceof CallableStatement && name.equals("prepareCall"))
+                        return statement((Statement) result, CallableStatement.class, (String) args[0]);
+                    if (result instanceof PreparedStatement && name.equals("prepareStatement"))
+                        return statement((Statement) result, PreparedStatement.class, (String) args[0]);
+                    if (result instanceof Statement && name.equals("createStatement"))
+                        return statement((Statement) result, Statement.class, null);
+                    return result;
+                });
+    }
+
+    /**
+     * Starts attributing the current thread's queries to a request.
+     *
+     * @param action the request's action
+     */
+    public static void beginRequest(ActionType action) {
+        currentRequest.set(new RequestContext(action));
+    }
+
+    /**
+     * Stops attributing queries to the current thread's request.
+     *
+     * @return the number of statements the request executed
+     */
+    public static int endRequest() {
+        RequestContext context = currentRequest.get();
+        currentRequest.remove();
+        return context == null ? 0 : context.queries;
+    }
+
+    /**
+     * Returns the statements that took the most total time.
+     *
+     * @param limit how many statements to return
+     * @return the statement metrics, slowest total first
+     */
+    public static ArrayList<QueryMetrics> top(int limit) {
+        ArrayList<QueryMetrics> result = new ArrayList<>();
+        for (Map.Entry<String, SqlStats> e : bySql.entrySet()) {
+            SqlStats s = e.getValue();
+            long n = s.executions.sum();
+            result.add(new QueryMetrics(e.getKey(), n, s.totalNanos.sum() / 1000, n == 0 ? 0 : s.totalNanos.sum() / n / 1000,
+                    s.maxNanos.get() / 1000, s.rows.sum()));
+        }
+        result.sort(Comparator.comparingLong(QueryMetrics::getTotalMicros).reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    /**
+     * Returns the number of open instrumented connections.
+     *
+     * @return the open connection count
+     */
+    public static int getOpenConnections() {
+        return openConnections.get();
+    }
+
+    /**
+     * Returns the number of statements slower than {@link #SLOW_QUERY_MS}.
+     *
+     * @return the slow statement count
+     */
+    public static long getSlowQueries() {
+        return slowQueries.sum();
+    }
+
+    /**
+     * Returns the totals over every SQL text.
+     *
+     * @return the executions, the total time in microseconds and the rows, in this order
+     */
+    public static long[] totals() {
+        long[] totals = new long[3];
+        for (SqlStats s : bySql.values()) {
+            totals[0] += s.executions.sum();
+            totals[1] += s.totalNanos.sum() / 1000;
+            totals[2] += s.rows.sum();
+        }
+        return totals;
+    }
+
+    private static Statement statement(Statement real, Class<? extends Statement> type, String preparedSql) {
+        TreeMap<Integer, Object> params = new TreeMap<>();
+        InvocationHandler handler = (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getDeclaringClass() != Statement.class) {
+                params.put((Integer) args[0], args[1]);
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            } else if (name.startsWith("execute")) {
+                String sql = (args != null && args.length > 0 && args[0] instanceof String) ? (String) args[0] : preparedSql;
+                return execute(real, method, args, sql, params);
+            }
+            return invoke(real, method, args);
+        };
+        return (Statement) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, handler);
+    }
+
+    private static Object execute(Statement real, Method method, Object[] args, String sql, TreeMap<Integer, Object> params)
+            throws Throwable {
+        RequestContext context = currentRequest.get();
+        if (context != null)
+            context.queries++;
+        SqlStats stats = bySql.computeIfAbsent(sql == null ? "?" : sql, k -> new SqlStats());
+        ServerEvents.SqlStatement event = new ServerEvents.SqlStatement();
+        event.begin();
+        long start = System.nanoTime();
+        Object result = invoke(real, method, args);
+        long nanos = System.nanoTime() - start;
+        event.end();
+        if (event.shouldCommit()) {
+            event.sql = shorten(sql);
+            event.action = context != null ? String.valueOf(context.action) : "background";
+            event.commit();
+        }
+        stats.executions.increment();
+        stats.totalNanos.add(nanos);
+        stats.maxNanos.accumulate(nanos);
+
+        boolean[] logged = { false };
+        if (nanos / 1_000_000 > SLOW_QUERY_MS) {
+            logSlow(sql, params, context, nanos, -1);
+            logged[0] = true;
+        }
+        if (result instanceof Integer)
+            stats.rows.add((Integer) result);
+        else if (result instanceof Long)
+            stats.rows.add((Long) result);
+        if (!(result instanceof ResultSet))
+            return result;
+
+        // Count rows as they are read; check the total time (execution and fetch) once the rows are read
+        ResultSet rs = (ResultSet) result;
+        long[] rows = { 0 };
+        boolean[] finished = { false };
+        return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                (proxy, m, a) -> {
+                    Object r = invoke(rs, m, a);
+                    String name = m.getName();
+                    if (name.equals("next") && Boolean.TRUE.equals(r)) {
+                        rows[0]++;
+                        stats.rows.increment();
+                    } else if ((name.equals("next") || name.equals("close")) && !finished[0]) {
+                        finished[0] = true;
+                        long total = System.nanoTime() - start;
+                        if (!logged[0] && total / 1_000_000 > SLOW_QUERY_MS)
+                            logSlow(sql, params, context, total, rows[0]);
+                    }
+                    return r;
+                });
+    }
+
+    /**
+     * Logs a slow statement. The parameters are formatted only here, so fast statements
+     * pay nothing for them; they are the statement's current ones, which are still those
+     * of the execution while its result set is being read.
+     */
+    private static void logSlow(String sql, TreeMap<Integer, Object> params, RequestContext context, long nanos,
+            long rows) {
+        String paramText = params.isEmpty() ? "" : " params=" + params.values();
+        slowQueries.increment();
+        System.out.println("Slow query (" + nanos / 1_000_000 + " ms" + (rows >= 0 ? ", " + rows + " rows" : "") + ", "
+                + (context != null ? context.action : "background") + "): " + shorten(sql) + paramText);
+    }
+
+    /** SQL text on one line, cut to {@link #MAX_LOGGED_SQL} characters. */
+    private static String shorten(String sql) {
+        String text = sql == null ? "?" : sql.replaceAll("\\s+", " ");
+        if (text.length() > MAX_LOGGED_SQL)
+            text = text.substring(0, MAX_LOGGED_SQL) + "...";
+        return text;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package db;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+
+import common.ReportChunk;
+
+/**
+ * Collects report rows and hands them to the client in fixed-size chunks,
+ * so a long report never has to be held (or formatted) in memory as a whole.
+ * @author Group-17
+ * @version 1.0
+ *
+ * @param <T> the row type
+ */
+public class ReportChunkWriter<T extends Serializable> {
+
+    /** Default number of rows per chunk. */
+    public static final int DEFAULT_CHUNK_ROWS = 50;
+
+    /** Number of rows per chunk for bulk exports. */
+    public static final int EXPORT_CHUNK_ROWS = 500;
+
+    /**
+     * Delivers a finished chunk (typically by sending it to the client).
+     *
+     * @param <T> the row type
+     */
+    public interface Sink<T extends Serializable> {
+        /**
+         * Delivers a chunk.
+         *
+         * @param chunk the chunk
+         * @throws IOException if the chunk could not be delivered
+         */
+        void send(ReportChunk<T> chunk) throws IOException;
+    }
+
+    private final String reportDate;
+    private final int chunkRows;
+    private final Sink<T> sink;
+    private ArrayList<T> buffer = new ArrayList<>();
+    private int chunkIndex = 0;
+    private int rowCount = 0;
+
+    /**
+     * Constructs a new ReportChunkWriter.
+     *
+     * @param reportDate the date the report is produced for
+     * @param chunkRows the number of rows per chunk
+     * @param sink where finished chunks go
+     */
+    public ReportChunkWriter(String reportDate, int chunkRows, Sink<T> sink) {
+        this.reportDate = reportDate;
+        this.chunkRows = chunkRows;
+        this.sink = sink;
+    }
+
+    /**
+     * Adds a row, sending a chunk when it is full.
+     *
+     * @param row the row
+     * @throws IOException if a chunk could not be delivered
+     */
+    public void add(T row) throws IOException {
+        buffer.add(row);
+        rowCount++;
+        if (buffer.size() >= chunkRows)
+            flush(false);
+    }
+
+    /**
+     * Sends the remaining rows as the final chunk (possibly empty).
+     *
+     * @throws IOException if the chunk could not be delivered
+     */
+    public void finish() throws IOException {
+        flush(true);
+    }
+
+    /**
+     * Returns the number of rows added so far.
+     *
+     * @return the row count
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private void flush(boolean last) throws IOException {
+        sink.send(new ReportChunk<>(reportDate, chunkIndex++, last, buffer));
+        buffer = new ArrayList<>();
+    }
+}
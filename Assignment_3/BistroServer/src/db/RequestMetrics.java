@@ -0,0 +1,144 @@
+package db;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import common.ActionMetrics;
+import common.ActionType;
+
+/**
+ * Per-action request metrics: request and error counters, an in-flight gauge, a
+ * latency histogram and the number of SQL statements per request. Recording only
+ * updates atomic counters (no locks), so it can run around every request.
+ * The histogram is log-linear: every power of two is split into {@link #SUB_BUCKETS}
+ * buckets, so percentiles are within 12.5% of the true value.
+ * @author Group-17
+ * @version 1.0
+ */
+public class RequestMetrics {
+
+    /** Buckets per power of two (must be a power of two). */
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+
+    /** Enough buckets for any non-negative long. */
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    /**
+     * The metrics of one action.
+     */
+    private static class Stats {
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalMicros = new LongAdder();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        final LongAdder totalQueries = new LongAdder();
+        final LongAccumulator maxQueries = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    }
+
+    private static final EnumMap<ActionType, Stats> stats = new EnumMap<>(ActionType.class);
+
+    static {
+        for (ActionType action : ActionType.values())
+            stats.put(action, new Stats());
+    }
+
+    /** When the metrics started, for the throughput. */
+    private static final long startedAt = System.nanoTime();
+
+    /**
+     * Records the start of a request.
+     *
+     * @param action the request's action
+     * @return the start time, to pass to {@link #end}
+     */
+    public static long begin(ActionType action) {
+        stats.get(action).inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the end of a request.
+     *
+     * @param action the request's action
+     * @param start the value returned by {@link #begin}
+     * @param failed whether the request ended with an exception
+     * @param queries the number of SQL statements the request executed
+     */
+    public static void end(ActionType action, long start, boolean failed, int queries) {
+        long micros = (System.nanoTime() - start) / 1000;
+        Stats s = stats.get(action);
+        s.inFlight.decrementAndGet();
+        s.count.increment();
+        if (failed)
+            s.errors.increment();
+        s.totalMicros.add(micros);
+        s.maxMicros.accumulate(micros);
+        s.histogram.incrementAndGet(bucketOf(micros));
+        s.totalQueries.add(queries);
+        s.maxQueries.accumulate(queries);
+    }
+
+    /**
+     * Returns a snapshot of every action that received requests.
+     *
+     * @return the metrics, in ActionType order
+     */
+    public static ArrayList<ActionMetrics> snapshot() {
+        double seconds = Math.max(1e-9, (System.nanoTime() - startedAt) / 1e9);
+        ArrayList<ActionMetrics> result = new ArrayList<>();
+        for (ActionType action : ActionType.values()) {
+            Stats s = stats.get(action);
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = s.histogram.get(i);
+                total += counts[i];
+            }
+            if (total == 0 && s.inFlight.get() == 0)
+                continue;
+            long count = s.count.sum();
+            result.add(new ActionMetrics(action, count, s.errors.sum(), s.inFlight.get(), count / seconds,
+                    count == 0 ? 0 : s.totalMicros.sum() / count, percentile(counts, total, 0.50),
+                    percentile(counts, total, 0.99), percentile(counts, total, 0.999), s.maxMicros.get(),
+                    count == 0 ? 0 : (double) s.totalQueries.sum() / count, s.maxQueries.get()));
+        }
+        return result;
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) Math.max(0, value);
+        int exp = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** Highest value that falls in a bucket. */
+    private static long bucketTop(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double p) {
+        if (total == 0)
+            return 0;
+        long rank = (long) Math.ceil(total * p);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank)
+                return bucketTop(i);
+        }
+        return bucketTop(counts.length - 1);
+    }
+}
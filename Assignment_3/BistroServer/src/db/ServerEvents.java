@@ -0,0 +1,85 @@
+package db;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder events of the server, so profiling samples can be matched to the
+ * request, SQL statement or deadline being handled on a thread.
+ * When no recording is running, begin and commit do nothing, and the fields are only filled
+ * in after {@code shouldCommit()}, so the events cost almost nothing. Each event has a default
+ * threshold that a recording can override (e.g. {@code bistro.Request#threshold=0 ms}).
+ * @author Group-17
+ * @version 1.0
+ */
+public class ServerEvents {
+
+    /**
+     * The handling of one client request.
+     */
+    @Name("bistro.Request")
+    @Label("Request")
+    @Category({ "Bistro", "Server" })
+    @Description("A client request handled by the server")
+    @Threshold("10 ms")
+    @StackTrace(false)
+    public static class RequestHandled extends Event {
+        @Label("Action")
+        public String action;
+
+        @Label("Client")
+        public String client;
+
+        @Label("SQL Statements")
+        public int queries;
+
+        @Label("Failed")
+        public boolean failed;
+    }
+
+    /**
+     * The execution of one SQL statement.
+     */
+    @Name("bistro.SqlStatement")
+    @Label("SQL Statement")
+    @Category({ "Bistro", "Database" })
+    @Description("A SQL statement executed through an instrumented connection")
+    @Threshold("5 ms")
+    @StackTrace(false)
+    public static class SqlStatement extends Event {
+        @Label("SQL")
+        public String sql;
+
+        @Label("Action")
+        @Description("The request that executed the statement, or background")
+        public String action;
+    }
+
+    /**
+     * The handling of one order deadline (auto-cancel of a no-show or auto-close after the stay limit).
+     */
+    @Name("bistro.Deadline")
+    @Label("Order Deadline")
+    @Category({ "Bistro", "Scheduler" })
+    @Description("An auto-cancel or auto-close of an order by the deadline scheduler")
+    @Enabled(true)
+    @Threshold("0 ms")
+    @StackTrace(false)
+    public static class DeadlineHandled extends Event {
+        @Label("Kind")
+        public String kind;
+
+        @Label("Order Number")
+        public int orderNumber;
+
+        @Label("Lag (ms)")
+        @Description("How late the deadline fired relative to its due time")
+        public long lagMillis;
+    }
+}
@@ -0,0 +1,167 @@
+package db;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+
+import common.PushTopic;
+import ocsf.server.ConnectionToClient;
+
+/**
+ * Keeps the sessions of identified clients so a client that lost its connection
+ * can resume where it was instead of logging in again.
+ * A session is opened on a successful login or identification and its token is sent
+ * to the client. When the client reconnects it presents the token, and the session
+ * (staff username, push subscriptions) is moved to the new connection.
+ * A session whose connection is gone is kept for {@link #DETACHED_TTL_MINUTES}.
+ * @author Group-17
+ * @version 1.0
+ */
+public class SessionRegistry {
+
+    /** How long (minutes) a session survives without a connection. */
+    private static final long DETACHED_TTL_MINUTES = 30;
+
+    /**
+     * The state of one session.
+     */
+    private static class Session {
+        final String token;
+        final String username;
+        final EnumSet<PushTopic> topics = EnumSet.noneOf(PushTopic.class);
+        ConnectionToClient client;
+        long detachedAt;
+
+        Session(String token, String username, ConnectionToClient client) {
+            this.token = token;
+            this.username = username;
+            this.client = client;
+        }
+    }
+
+    private static final HashMap<String, Session> byToken = new HashMap<>();
+    private static final HashMap<ConnectionToClient, Session> byClient = new HashMap<>();
+    private static final SecureRandom random = new SecureRandom();
+
+    /**
+     * Opens a new session for a client, replacing any session it had.
+     *
+     * @param client the identified client
+     * @param username the staff username, or null for subscribers and guests
+     * @return the session token to send to the client
+     */
+    public static synchronized String open(ConnectionToClient client, String username) {
+        expire();
+        Session old = byClient.remove(client);
+        if (old != null)
+            byToken.remove(old.token);
+        byte[] bytes = new byte[18];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Session session = new Session(token, username, client);
+        byToken.put(token, session);
+        byClient.put(client, session);
+        return token;
+    }
+
+    /**
+     * Moves a session to a new connection and restores its push subscriptions.
+     *
+     * @param client the reconnected client
+     * @param token the token the client received when the session was opened
+     * @return true if the session was resumed, false if it is unknown or expired
+     */
+    public static synchronized boolean resume(ConnectionToClient client, String token) {
+        expire();
+        Session session = token == null ? null : byToken.get(token);
+        if (session == null)
+            return false;
+        if (session.client != null && session.client != client) {
+            byClient.remove(session.client);
+            PushHub.removeClient(session.client);
+        }
+        session.client = client;
+        byClient.put(client, session);
+        for (PushTopic topic : session.topics)
+            PushHub.subscribe(client, topic);
+        return true;
+    }
+
+    /**
+     * Returns the staff username of a client's session.
+     *
+     * @param client the client
+     * @return the username, or null if the client has no staff session
+     */
+    public static synchronized String getUsername(ConnectionToClient client) {
+        Session session = byClient.get(client);
+        return session == null ? null : session.username;
+    }
+
+    /**
+     * Records a push subscription so it is restored on resume.
+     *
+     * @param client the client
+     * @param topic the subscribed topic
+     */
+    public static synchronized void subscribed(ConnectionToClient client, PushTopic topic) {
+        Session session = byClient.get(client);
+        if (session != null)
+            session.topics.add(topic);
+    }
+
+    /**
+     * Forgets a push subscription.
+     *
+     * @param client the client
+     * @param topic the unsubscribed topic
+     */
+    public static synchronized void unsubscribed(ConnectionToClient client, PushTopic topic) {
+        Session session = byClient.get(client);
+        if (session != null)
+            session.topics.remove(topic);
+    }
+
+    /**
+     * Detaches a client's session from its closed connection; the session can be
+     * resumed until it expires.
+     *
+     * @param client the disconnected client
+     */
+    public static synchronized void detach(ConnectionToClient client) {
+        Session session = byClient.remove(client);
+        if (session != null && session.client == client) {
+            session.client = null;
+            session.detachedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Returns the number of sessions attached to a connection.
+     *
+     * @return the attached session count
+     */
+    public static synchronized int attached() {
+        return byClient.size();
+    }
+
+    /**
+     * Returns the number of sessions waiting to be resumed.
+     *
+     * @return the detached session count
+     */
+    public static synchronized int detached() {
+        return byToken.size() - byClient.size();
+    }
+
+    private static void expire() {
+        long cutoff = System.currentTimeMillis() - DETACHED_TTL_MINUTES * 60_000;
+        for (Iterator<Session> it = byToken.values().iterator(); it.hasNext();) {
+            Session session = it.next();
+            if (session.client == null && session.detachedAt < cutoff)
+                it.remove();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package db;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import common.Order;
+
+/**
+ * Keeps the waiting list in memory and promotes waiting orders when capacity frees up.
+ * Orders are queued per date in arrival order (lowest order number first).
+ * Capacity-freeing events (cancellation, no-show, new or bigger table, changed opening hours)
+ * only add the freed seats to their date's budget; a single background step shortly afterwards
+ * walks the queues of those dates, so several events arriving together are handled in one pass.
+ * Seats are counted as whole tables ({@link FloorState#seatsFor}), so a 2-guest cancellation
+ * that held a 4-seat table frees 4 seats. A queued order is only checked against the database
+ * if its table fits in the remaining budget, and the walk stops once the budget is used up,
+ * so the cost of an event follows the seats it freed rather than the length of the queue.
+ * @author Group-17
+ * @version 1.0
+ */
+public class WaitingListManager {
+
+    /** Delay (ms) used to coalesce events arriving close together into one promotion pass. */
+    private static final long COALESCE_DELAY_MS = 200;
+
+    /** Budget of an event whose freed seats are not known (changed opening hours, startup). */
+    public static final int ALL_SEATS = Integer.MAX_VALUE;
+
+    /** Waiting orders per date, ordered by order number (FIFO). */
+    private static final HashMap<String, TreeMap<Integer, Order>> queues = new HashMap<>();
+
+    /** The date each queued order waits for, keyed by order number. */
+    private static final HashMap<Integer, String> dateByOrder = new HashMap<>();
+
+    /** Seats freed per date and not processed yet. */
+    private static final HashMap<String, Integer> freedSeats = new HashMap<>();
+
+    /** Background thread running the coalesced promotion step. */
+    private static final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "waiting-list");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Whether a promotion step is already scheduled. */
+    private static boolean drainScheduled = false;
+
+    /**
+     * Loads the current waiting list (today and later) from the database
+     * and schedules a first promotion pass over it.
+     */
+    public static void load() {
+        ArrayList<Order> waiting = mysqlConnection.getWaitingOrdersFrom(LocalDate.now().toString());
+        synchronized (WaitingListManager.class) {
+            queues.clear();
+            dateByOrder.clear();
+            for (Order o : waiting)
+                add(o);
+        }
+        System.out.println("Waiting list loaded: " + waiting.size() + " orders.");
+        capacityFreedAllDates(ALL_SEATS);
+    }
+
+    /**
+     * Adds a new waiting order to its date's queue.
+     *
+     * @param order the order saved with status WAITING
+     */
+    public static synchronized void enqueue(Order order) {
+        add(order);
+    }
+
+    /**
+     * Removes an order from the waiting list (cancelled, promoted elsewhere or edited).
+     *
+     * @param orderNumber the order number
+     * @return true if the order was queued
+     */
+    public static synchronized boolean remove(int orderNumber) {
+        String date = dateByOrder.remove(orderNumber);
+        if (date == null)
+            return false;
+        TreeMap<Integer, Order> queue = queues.get(date);
+        if (queue != null) {
+            queue.remove(orderNumber);
+            if (queue.isEmpty())
+                queues.remove(date);
+        }
+        return true;
+    }
+
+    /**
+     * Reports freed capacity on a specific date.
+     *
+     * @param date the date (YYYY-MM-DD)
+     * @param seats the seats freed, or {@link #ALL_SEATS} if not known
+     */
+    public static synchronized void capacityFreed(String date, int seats) {
+        if (date == null || seats <= 0 || !queues.containsKey(date))
+            return;
+        freedSeats.merge(date, seats, (a, b) -> (int) Math.min(ALL_SEATS, (long) a + b));
+        scheduleDrain();
+    }
+
+    /**
+     * Reports freed capacity affecting every date (new table, bigger table, longer opening hours).
+     *
+     * @param seats the seats freed on each date, or {@link #ALL_SEATS} if not known
+     */
+    public static synchronized void capacityFreedAllDates(int seats) {
+        for (String date : new ArrayList<>(queues.keySet()))
+            capacityFreed(date, seats);
+    }
+
+    /**
+     * Returns the number of orders currently waiting.
+     *
+     * @return the waiting list size
+     */
+    public static synchronized int size() {
+        return dateByOrder.size();
+    }
+
+    private static void add(Order o) {
+        if (o.get_order_date() == null)
+            return;
+        remove(o.get_order_number());
+        queues.computeIfAbsent(o.get_order_date(), k -> new TreeMap<>()).put(o.get_order_number(), o);
+        dateByOrder.put(o.get_order_number(), o.get_order_date());
+    }
+
+    private static void scheduleDrain() {
+        if (drainScheduled)
+            return;
+        drainScheduled = true;
+        worker.schedule(WaitingListManager::drain, COALESCE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs one promotion pass over every dirty date.
+     */
+    private static void drain() {
+        HashMap<String, Integer> work;
+        synchronized (WaitingListManager.class) {
+            drainScheduled = false;
+            work = new HashMap<>(freedSeats);
+            freedSeats.clear();
+        }
+
+        String today = LocalDate.now().toString();
+        StringBuilder promotions = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : work.entrySet()) {
+            String date = entry.getKey();
+            if (date.compareTo(today) < 0) {
+                dropDate(date);
+                continue;
+            }
+            try {
+                promote(date, entry.getValue(), promotions);
+            } catch (Exception e) {
+                System.out.println("Waiting list error on " + date + ": " + e.getMessage());
+            }
+        }
+
+        if (promotions.length() > 0) {
+            System.out.println("Promotions made:\n" + promotions);
+            FloorState.reloadReservations();
+            if (EchoServer.serverController != null)
+                EchoServer.serverController.addToLog("Waiting list promotions:\n" + promotions.toString().trim());
+        }
+    }
+
+    /**
+     * Promotes, in queue order, the queued orders of one date that now fit, until the freed seats are used up.
+     */
+    private static void promote(String date, int budget, StringBuilder log) {
+        ArrayList<Order> candidates;
+        synchronized (WaitingListManager.class) {
+            TreeMap<Integer, Order> queue = queues.get(date);
+            if (queue == null)
+                return;
+            candidates = new ArrayList<>(queue.values());
+        }
+
+        Iterator<Order> it = candidates.iterator();
+        while (it.hasNext() && budget > 0) {
+            Order waitOrder = it.next();
+            int seats = FloorState.seatsFor(waitOrder.get_number_of_guests());
+            if (seats > budget)
+                continue;
+            if (!mysqlConnection.checkAvailabilitySmart(waitOrder.get_order_date(), waitOrder.get_order_time(),
+                    waitOrder.get_number_of_guests()))
+                continue;
+
+            // Promote only if nobody changed the order since it was queued; the email is queued with it
+            String clientEmail = waitOrder.getEmail();
+            boolean hasEmail = clientEmail != null && !clientEmail.isEmpty();
+            NotificationOutbox.Notification email = hasEmail
+                    ? new NotificationOutbox.Notification("table-ready:" + waitOrder.get_order_number() + ":"
+                            + waitOrder.get_order_date() + "T" + waitOrder.get_order_time(),
+                            NotificationOutbox.EMAIL, clientEmail, "Table Ready!")
+                    : null;
+            if (!mysqlConnection.promoteWaitingOrder(waitOrder.get_order_number(), email)) {
+                remove(waitOrder.get_order_number());
+                continue;
+            }
+            remove(waitOrder.get_order_number());
+            if (budget != ALL_SEATS)
+                budget -= seats;
+            OrderDeadlineScheduler.scheduleNoShow(waitOrder.get_order_number(), waitOrder.get_order_date(),
+                    waitOrder.get_order_time());
+
+            if (hasEmail) {
+                log.append("Order #").append(waitOrder.get_order_number()).append(" -> APPROVED (Email sent)\n");
+            } else {
+                log.append("Order #").append(waitOrder.get_order_number()).append(" -> APPROVED (No Email)\n");
+            }
+        }
+    }
+
+    private static synchronized void dropDate(String date) {
+        TreeMap<Integer, Order> queue = queues.remove(date);
+        if (queue != null) {
+            for (Integer orderNumber : queue.keySet())
+                dateByOrder.remove(orderNumber);
+        }
+    }
+}
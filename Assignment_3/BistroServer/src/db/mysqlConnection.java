@@ -1,5 +1,7 @@
 package db;
 
+import java.io.IOException;
+import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.PreparedStatement;
@@ -8,9 +10,22 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import common.AvailabilityMatrix;
+import common.DailyOrderRow;
 import common.Order;
+import common.OrderExportRow;
+import common.OrderPage;
+import common.OrderPageRequest;
+import common.OrderSummary;
+import common.Table;
 import common.User;
 import common.Subscriber;
+import common.WaitingListRow;
 
 /**
  * Handles all database connectivity and operations for the Bistro application.
@@ -21,9 +36,25 @@ import common.Subscriber;
  */
 public class mysqlConnection {
 
+    /** The JDBC URL of the Bistro database. */
+    private static final String DB_URL = "jdbc:mysql://127.0.0.1:3306/order_sch?serverTimezone=Asia/Jerusalem&useSSL=false&allowPublicKeyRetrieval=true";
+
+    private static final String DB_USER = "root";
+    private static final String DB_PASSWORD = "abc123"; // Update password if needed
+
     /** The connection instance to the database. */
     private static Connection conn;
 
+    /**
+     * A second connection reserved for multi-statement transactions.
+     * The shared connection stays in auto-commit mode, so transactions never
+     * interleave with statements issued by other client threads.
+     */
+    private static Connection txConn;
+
+    /** Lock guarding the transaction connection. */
+    private static final Object txLock = new Object();
+
     /**
      * Establishes a connection to the MySQL database.
      * Loads the JDBC driver and attempts to connect using the configured URL and credentials.
@@ -32,8 +63,8 @@ public class mysqlConnection {
         try {
             Class.forName("com.mysql.cj.jdbc.Driver").newInstance();
             System.out.println("Connecting to database...");
-            String url = "jdbc:mysql://127.0.0.1:3306/order_sch?serverTimezone=Asia/Jerusalem&useSSL=false&allowPublicKeyRetrieval=true";
-            conn = DriverManager.getConnection(url, "root", "abc123"); // Update password if needed
+            conn = openConnection();
+            txConn = openConnection();
 
             System.out.println("SQL connection succeed");
         } catch (Exception ex) {
@@ -41,6 +72,18 @@ public class mysqlConnection {
         }
     }
 
+    /**
+     * Opens a new, independent connection to the database.
+     * Used by jobs that must not share the main connection (e.g. parallel backfills).
+     * Every connection is instrumented by {@link QueryInstrumentation}.
+     *
+     * @return the new connection
+     * @throws SQLException if the connection failed
+     */
+    public static Connection openConnection() throws SQLException {
+        return QueryInstrumentation.wrap(DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD));
+    }
+
     /**
      * Saves a newly created order into the database.
      * If the order ID is not set, it generates a new one automatically.
@@ -75,6 +118,7 @@ public class mysqlConnection {
             ps.setString(11, order.getEmail());
             ps.setString(12, order.get_name());
             ps.executeUpdate();
+            OrderEvents.fire(order.get_order_number());
             return order.get_order_number();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -140,12 +184,8 @@ public class mysqlConnection {
             PreparedStatement ps = conn.prepareStatement("SELECT * FROM orders WHERE order_number = ?");
             ps.setInt(1, id);
             ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                Order o = new Order(rs.getInt(1), rs.getString(2), rs.getString(7), rs.getInt(3), rs.getInt(4),
-                        rs.getInt(5), rs.getString(6), rs.getString(8), rs.getInt(9), "", rs.getString(10));
-                o.setEmail(rs.getString("client_email"));
-                return o;
-            }
+            if (rs.next())
+                return mapOrder(rs);
         } catch (SQLException e) {
         }
         return null;
@@ -163,7 +203,7 @@ public class mysqlConnection {
             PreparedStatement ps = conn
                     .prepareStatement("UPDATE orders SET status = 'Cancelled' WHERE order_number = ?");
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            return fireIfUpdated(ps.executeUpdate(), id);
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -185,8 +225,7 @@ public class mysqlConnection {
             ps.setInt(3, order.get_number_of_guests());
             ps.setInt(4, order.get_order_number());
 
-            int rowsAffected = ps.executeUpdate();
-            return rowsAffected > 0;
+            return fireIfUpdated(ps.executeUpdate(), order.get_order_number());
         } catch (SQLException e) {
             System.out.println("Error updating order: " + e.getMessage());
             return false;
@@ -271,20 +310,150 @@ public class mysqlConnection {
      */
     public static Order getOrderByConfirmationCode(int code) {
         try {
-            PreparedStatement ps = conn.prepareStatement("SELECT * FROM orders WHERE confirmation_code = ?");
+            // Codes are reused after an order ended, so the newest order with the code is the live one
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT * FROM orders WHERE confirmation_code = ? ORDER BY order_number DESC LIMIT 1");
             ps.setInt(1, code);
             ResultSet rs = ps.executeQuery();
-            if (rs.next()) {
-                Order o = new Order(rs.getInt(1), rs.getString(2), rs.getString(7), rs.getInt(3), rs.getInt(4),
-                        rs.getInt(5), rs.getString(6), rs.getString(8), rs.getInt(9), "", rs.getString(10));
-                o.setEmail(rs.getString("client_email"));
-                return o;
-            }
+            if (rs.next())
+                return mapOrder(rs);
         } catch (SQLException e) {
         }
         return null;
     }
 
+    /**
+     * Retrieves every order from a date on (any status), for the in-memory {@link OrderIndex}.
+     *
+     * @param fromDate the first order date (YYYY-MM-DD)
+     * @return the orders, empty on error
+     */
+    public static ArrayList<Order> getOrdersFrom(String fromDate) {
+        ArrayList<Order> orders = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM orders WHERE order_date >= ?")) {
+            ps.setString(1, fromDate);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next())
+                orders.add(mapOrder(rs));
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error loading orders from " + fromDate + ": " + e.getMessage());
+        }
+        return orders;
+    }
+
+    /**
+     * Retrieves all live orders (active, or approved, waiting or pending for today or later),
+     * for the {@link ConfirmationCodes} in use.
+     *
+     * @return the live orders, empty on error
+     */
+    public static ArrayList<Order> getLiveOrders() {
+        ArrayList<Order> orders = new ArrayList<>();
+        try (Statement stmt = conn.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT * FROM orders WHERE status = 'ACTIVE' "
+                    + "OR (status IN ('APPROVED', 'WAITING', 'PENDING') AND order_date >= CURDATE())");
+            while (rs.next())
+                orders.add(mapOrder(rs));
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error loading live orders: " + e.getMessage());
+        }
+        return orders;
+    }
+
+    /**
+     * Returns the highest change version in the orders table.
+     *
+     * @return the highest version, or 0 if none
+     */
+    public static long getMaxChangeVersion() {
+        try (Statement stmt = conn.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(change_version), 0) FROM orders");
+            return rs.next() ? rs.getLong(1) : 0;
+        } catch (SQLException e) {
+            System.out.println("Error reading change version: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Stamps an order with a change version. Does not fire {@link OrderEvents}.
+     *
+     * @param orderNumber the order
+     * @param version the new version
+     * @return 1 if the order was stamped, 0 if it does not exist, -1 on error
+     */
+    public static int setChangeVersion(int orderNumber, long version) {
+        try (PreparedStatement ps = conn.prepareStatement("UPDATE orders SET change_version = ? WHERE order_number = ?")) {
+            ps.setLong(1, version);
+            ps.setInt(2, orderNumber);
+            return ps.executeUpdate() > 0 ? 1 : 0;
+        } catch (SQLException e) {
+            System.out.println("Error stamping order #" + orderNumber + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Retrieves the orders from a date on whose change version lies in (since, upTo].
+     *
+     * @param fromDate the first order date (YYYY-MM-DD)
+     * @param since the last version already known, or OrderSync.FULL for every order
+     * @param upTo the highest version to include
+     * @return the orders, empty on error
+     */
+    public static ArrayList<Order> getOrdersChangedSince(String fromDate, long since, long upTo) {
+        ArrayList<Order> orders = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT * FROM orders WHERE order_date >= ? AND change_version > ? AND change_version <= ?")) {
+            ps.setString(1, fromDate);
+            ps.setLong(2, since);
+            ps.setLong(3, upTo);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next())
+                orders.add(mapOrder(rs));
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error reading changed orders: " + e.getMessage());
+        }
+        return orders;
+    }
+
+    /**
+     * Maps a "SELECT * FROM orders" row to an Order.
+     *
+     * @param rs the result set, positioned on the row
+     * @return the order
+     * @throws SQLException if a column cannot be read
+     */
+    private static Order mapOrder(ResultSet rs) throws SQLException {
+        Order o = new Order(rs.getInt(1), rs.getString(2), rs.getString(7), rs.getInt(3), rs.getInt(4),
+                rs.getInt(5), rs.getString(6), rs.getString(8), rs.getInt(9), "", rs.getString("client_phone"));
+        o.setEmail(rs.getString("client_email"));
+        return o;
+    }
+
+    /**
+     * Reads an order row after a change, for the {@link OrderEvents} listeners.
+     *
+     * @param id the order number
+     * @return the change, with a null order if the order does not exist or could not be read
+     */
+    public static OrderEvents.Change getOrderChange(int id) {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM orders WHERE order_number = ?")) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next())
+                    return new OrderEvents.Change(id, mapOrder(rs), rs.getString("actual_arrival_time"),
+                            rs.getString("actual_leave_time"));
+            }
+        } catch (SQLException e) {
+            System.out.println("Error reading changed order #" + id + ": " + e.getMessage());
+        }
+        return new OrderEvents.Change(id, null, null, null);
+    }
+
     /**
      * Retrieves the last order placed by a specific subscriber.
      *
@@ -304,6 +473,95 @@ public class mysqlConnection {
         return null; // Placeholder implementation
     }
 
+    /**
+     * Retrieves every table defined in the restaurant with its seat count.
+     *
+     * @return a list of Table objects
+     */
+    public static ArrayList<Table> getRestaurantTables() {
+        ArrayList<Table> tables = new ArrayList<>();
+        try {
+            Statement stmt = conn.createStatement();
+            ResultSet rs = stmt.executeQuery("SELECT table_id, number_of_seats FROM restaurant_tables");
+            while (rs.next())
+                tables.add(new Table(rs.getInt("table_id"), rs.getInt("number_of_seats")));
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error fetching tables: " + e.getMessage());
+        }
+        return tables;
+    }
+
+    /**
+     * Retrieves the tables currently occupied by ACTIVE orders.
+     *
+     * @return a map of order number to table ID
+     */
+    public static HashMap<Integer, Integer> getActiveSeatings() {
+        HashMap<Integer, Integer> seatings = new HashMap<>();
+        try {
+            Statement stmt = conn.createStatement();
+            ResultSet rs = stmt.executeQuery(
+                    "SELECT order_number, table_id FROM orders WHERE status = 'ACTIVE' AND table_id IS NOT NULL");
+            while (rs.next())
+                seatings.put(rs.getInt("order_number"), rs.getInt("table_id"));
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error fetching active seatings: " + e.getMessage());
+        }
+        return seatings;
+    }
+
+    /**
+     * Retrieves the APPROVED orders (not yet arrived) for a specific date.
+     * Only the fields needed for seating decisions are filled.
+     *
+     * @param date the date (YYYY-MM-DD)
+     * @return a list of approved orders
+     */
+    public static ArrayList<Order> getApprovedOrdersForDate(String date) {
+        ArrayList<Order> list = new ArrayList<>();
+        try {
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT order_number, order_time, number_of_guests FROM orders WHERE order_date = ? AND status = 'APPROVED'");
+            ps.setString(1, date);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(new Order(rs.getInt("order_number"), date, rs.getString("order_time"),
+                        rs.getInt("number_of_guests"), 0, 0, null, "APPROVED", 0, null, null));
+            }
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error fetching approved orders: " + e.getMessage());
+        }
+        return list;
+    }
+
+    /**
+     * Retrieves the APPROVED orders (not yet arrived) from a given date onward.
+     * Only the fields needed for scheduling no-show deadlines are filled.
+     *
+     * @param fromDate the first date to include (YYYY-MM-DD)
+     * @return a list of approved orders
+     */
+    public static ArrayList<Order> getApprovedOrdersFrom(String fromDate) {
+        ArrayList<Order> list = new ArrayList<>();
+        try {
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT order_number, order_date, order_time, number_of_guests FROM orders WHERE order_date >= ? AND status = 'APPROVED'");
+            ps.setString(1, fromDate);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(new Order(rs.getInt("order_number"), rs.getString("order_date"), rs.getString("order_time"),
+                        rs.getInt("number_of_guests"), 0, 0, null, "APPROVED", 0, null, null));
+            }
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error fetching approved orders: " + e.getMessage());
+        }
+        return list;
+    }
+
     // --- SMART LOGIC ---
 
     /**
@@ -364,47 +622,147 @@ public class mysqlConnection {
             }
             rsO.close();
             existingOrdersGuests.add(newGuests);
-            existingOrdersGuests.sort(Collections.reverseOrder());
-
-            ArrayList<TempTable> freeTablesSim = new ArrayList<>(allTables);
-            for (int guestsAmount : existingOrdersGuests) {
-                boolean seated = false;
-                for (int i = 0; i < freeTablesSim.size(); i++) {
-                    if (freeTablesSim.get(i).seats >= guestsAmount) {
-                        freeTablesSim.remove(i);
-                        seated = true;
-                        break;
-                    }
-                }
-                if (!seated)
-                    return false;
-            }
-            return true;
+            return canSeatAll(allTables, existingOrdersGuests);
         } catch (Exception e) {
             return false;
         }
     }
 
     /**
-     * Cancels orders marked as APPROVED if the client has not arrived within 15 minutes.
-     * Used by the auto-cancellation service.
+     * Simulates seating a set of parties at the given tables.
+     * The largest party is seated first, each at the smallest table that fits it.
      *
-     * @return the number of cancelled orders
+     * @param sortedTables the tables, sorted by seat count
+     * @param parties the party sizes to seat (the list is reordered)
+     * @return true if every party gets a table
      */
-    public static int cancelNoShows() {
-        int count = 0;
+    private static boolean canSeatAll(ArrayList<TempTable> sortedTables, ArrayList<Integer> parties) {
+        parties.sort(Collections.reverseOrder());
+
+        ArrayList<TempTable> freeTablesSim = new ArrayList<>(sortedTables);
+        for (int guestsAmount : parties) {
+            boolean seated = false;
+            for (int i = 0; i < freeTablesSim.size(); i++) {
+                if (freeTablesSim.get(i).seats >= guestsAmount) {
+                    freeTablesSim.remove(i);
+                    seated = true;
+                    break;
+                }
+            }
+            if (!seated)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Computes the availability of every reservation slot over the one-month booking horizon
+     * for a given party size.
+     * Tables, opening hours and the relevant orders are each read with a single query,
+     * and the same seating simulation as {@link #checkAvailabilitySmart} is then run in memory.
+     * Slots that have already started today are left unset, and so are slots on the last
+     * day that are more than a month ahead, which ADD_ORDER refuses.
+     *
+     * @param guests the party size
+     * @return the availability matrix starting today
+     */
+    public static AvailabilityMatrix buildAvailabilityMatrix(int guests) {
+        // Slots before now, or later than a month ahead, cannot be booked
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime latest = now.plusMonths(1);
+        LocalDate start = now.toLocalDate();
+        LocalDate end = latest.toLocalDate();
+        int[] days = new int[(int) java.time.temporal.ChronoUnit.DAYS.between(start, end) + 1];
+
         try {
-            String query = "UPDATE orders SET status = 'NO_SHOW' " + "WHERE status = 'APPROVED' "
-                    + "AND CONCAT(order_date, ' ', order_time) < DATE_SUB(NOW(), INTERVAL 15 MINUTE) "
-                    + "AND order_date = CURDATE()";
+            ArrayList<TempTable> allTables = new ArrayList<>();
+            for (Table t : getRestaurantTables())
+                allTables.add(new TempTable(t.getTableId(), t.getSeats()));
+            Collections.sort(allTables);
 
+            HashMap<String, String[]> hours = new HashMap<>();
             Statement stmt = conn.createStatement();
-            count = stmt.executeUpdate(query);
+            ResultSet rsH = stmt.executeQuery("SELECT day_of_week, open_time, close_time FROM restaurant_settings");
+            while (rsH.next())
+                hours.put(rsH.getString("day_of_week"), new String[] { rsH.getString("open_time"), rsH.getString("close_time") });
+            rsH.close();
+
+            // Booked parties per date, as {minute of day, guests}
+            HashMap<String, ArrayList<int[]>> booked = new HashMap<>();
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT order_date, order_time, number_of_guests FROM orders WHERE order_date BETWEEN ? AND ? AND status != 'CANCELLED' AND status != 'WAITING'");
+            ps.setString(1, start.toString());
+            ps.setString(2, end.toString());
+            ResultSet rsO = ps.executeQuery();
+            while (rsO.next()) {
+                String tStr = rsO.getString("order_time");
+                if (tStr == null)
+                    continue;
+                if (tStr.length() > 5)
+                    tStr = tStr.substring(0, 5);
+                try {
+                    LocalTime t = LocalTime.parse(tStr);
+                    booked.computeIfAbsent(rsO.getString("order_date"), k -> new ArrayList<>())
+                            .add(new int[] { t.getHour() * 60 + t.getMinute(), rsO.getInt("number_of_guests") });
+                } catch (Exception e) {
+                }
+            }
+            rsO.close();
 
+            for (int d = 0; d < days.length; d++) {
+                LocalDate date = start.plusDays(d);
+                String[] range = hours.get(date.toString());
+                if (range == null)
+                    range = hours.get(date.getDayOfWeek().getDisplayName(java.time.format.TextStyle.FULL, Locale.ENGLISH));
+                if (range == null)
+                    continue;
+
+                ArrayList<int[]> dayOrders = booked.getOrDefault(date.toString(), new ArrayList<>());
+                int bits = 0;
+                for (int slot = 0; slot < AvailabilityMatrix.SLOTS_PER_DAY; slot++) {
+                    int minute = AvailabilityMatrix.FIRST_SLOT_MINUTE + slot * AvailabilityMatrix.SLOT_MINUTES;
+                    LocalTime slotTime = LocalTime.of(minute / 60, minute % 60);
+                    LocalDateTime slotStart = date.atTime(slotTime);
+                    if (slotStart.isBefore(now) || slotStart.isAfter(latest))
+                        continue;
+                    if (!isWithinOpeningHours(range[0], range[1], slotTime))
+                        continue;
+
+                    ArrayList<Integer> parties = new ArrayList<>();
+                    for (int[] o : dayOrders) {
+                        if (Math.abs(o[0] - minute) < 120)
+                            parties.add(o[1]);
+                    }
+                    parties.add(guests);
+                    if (canSeatAll(allTables, parties))
+                        bits |= 1 << slot;
+                }
+                days[d] = bits;
+            }
         } catch (SQLException e) {
-            System.out.println("Error in cancelNoShows: " + e.getMessage());
+            System.out.println("Error building availability: " + e.getMessage());
+        }
+        return new AvailabilityMatrix(start.toString(), guests, days);
+    }
+
+    /**
+     * Marks an order as NO_SHOW once its 15 minute grace period has passed.
+     * The update only applies while the order is still APPROVED, so an arrival or
+     * cancellation that happened just before the deadline is never overwritten.
+     *
+     * @param orderId the order number
+     * @return true if the order was marked as a no-show, false otherwise
+     */
+    public static boolean markNoShow(int orderId) {
+        try {
+            PreparedStatement ps = conn
+                    .prepareStatement("UPDATE orders SET status = 'NO_SHOW' WHERE order_number = ? AND status = 'APPROVED'");
+            ps.setInt(1, orderId);
+            return fireIfUpdated(ps.executeUpdate(), orderId);
+        } catch (SQLException e) {
+            System.out.println("Error in markNoShow: " + e.getMessage());
+            return false;
         }
-        return count;
     }
 
     /**
@@ -419,171 +777,83 @@ public class mysqlConnection {
             PreparedStatement ps = conn.prepareStatement("UPDATE orders SET status = ? WHERE order_number = ?");
             ps.setString(1, newStatus);
             ps.setInt(2, orderId);
-            return ps.executeUpdate() > 0;
+            return fireIfUpdated(ps.executeUpdate(), orderId);
         } catch (SQLException e) {
             return false;
         }
     }
 
     /**
-     * Checks the waiting list for a specific date and promotes orders if space becomes available.
-     * Promotes orders to APPROVED and notifies the client via simulation (console print).
+     * Retrieves all WAITING orders from a given date onward, oldest order first.
+     * Used to rebuild the in-memory waiting list at startup.
      *
-     * @param date the date to check
-     * @return a log string of promoted orders
+     * @param fromDate the first date to include (YYYY-MM-DD)
+     * @return a list of waiting orders
      */
-    public static String checkWaitingList(String date) {
-        StringBuilder promotedOrders = new StringBuilder();
+    public static ArrayList<Order> getWaitingOrdersFrom(String fromDate) {
+        ArrayList<Order> waitingOrders = new ArrayList<>();
         try {
             PreparedStatement ps = conn.prepareStatement(
-                    "SELECT * FROM orders WHERE order_date = ? AND status = 'WAITING' ORDER BY order_number ASC");
-            ps.setString(1, date);
+                    "SELECT * FROM orders WHERE order_date >= ? AND status = 'WAITING' ORDER BY order_number ASC");
+            ps.setString(1, fromDate);
             ResultSet rs = ps.executeQuery();
-            ArrayList<Order> waitingOrders = new ArrayList<>();
             while (rs.next()) {
-                Order o = new Order(rs.getInt(1), rs.getString(2), rs.getString(7), rs.getInt(3), rs.getInt(4),
-                        rs.getInt(5), rs.getString(6), rs.getString(8), rs.getInt(9), "", rs.getString(10));
+                Order o = new Order(rs.getInt("order_number"), rs.getString("order_date"), rs.getString("order_time"),
+                        rs.getInt("number_of_guests"), rs.getInt("confirmation_code"), rs.getInt("subscriber_id"),
+                        rs.getString("date_of_placing_order"), rs.getString("status"), rs.getInt("table_id"), "",
+                        rs.getString("client_phone"));
                 o.setEmail(rs.getString("client_email"));
                 waitingOrders.add(o);
             }
             rs.close();
-
-            for (Order waitOrder : waitingOrders) {
-                if (checkAvailabilitySmart(waitOrder.get_order_date(), waitOrder.get_order_time(),
-                        waitOrder.get_number_of_guests())) {
-                    PreparedStatement psUpdate = conn
-                            .prepareStatement("UPDATE orders SET status = 'APPROVED' WHERE order_number = ?");
-                    psUpdate.setInt(1, waitOrder.get_order_number());
-                    psUpdate.executeUpdate();
-
-                    String clientEmail = waitOrder.getEmail();
-                    if (clientEmail != null && !clientEmail.isEmpty()) {
-                        System.out.println("\n[SIMULATION] Email sent to: " + clientEmail + " (Table Ready!)");
-                        promotedOrders.append("Order #").append(waitOrder.get_order_number())
-                                .append(" -> APPROVED (Email sent)\n");
-                    } else {
-                        promotedOrders.append("Order #").append(waitOrder.get_order_number())
-                                .append(" -> APPROVED (No Email)\n");
-                    }
-                }
-            }
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return promotedOrders.toString();
+        return waitingOrders;
     }
 
     /**
-     * Generates a monthly report string containing stats for the current month.
-     * Includes total orders, cancellations, late arrivals, and hourly distribution.
+     * Promotes a waiting order to APPROVED and queues its "table ready" email in the same transaction.
+     * The update only applies while the order is still WAITING, so a concurrent
+     * cancellation or edit is never overwritten.
      *
-     * @return a comma-separated string containing report data
+     * @param orderId the order number
+     * @param email the notification to queue, or null if the client has no email
+     * @return true if the order was promoted, false otherwise
      */
-    public static String generateMonthlyReport() {
-        int total = 0, cancelled = 0, noShow = 0, waiting = 0;
-        
-        int lateArrivals = 0;
-        int actualArrivals = 0;
-        int[] arrivals = new int[24];
-        int[] departures = new int[24];
-        
-        try {
-            String query = "SELECT status, actual_arrival_time, actual_leave_time, order_time FROM orders " +
-                           "WHERE MONTH(order_date) = MONTH(CURRENT_DATE()) " +
-                           "AND YEAR(order_date) = YEAR(CURRENT_DATE())";
-            
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(query);
-
-            while (rs.next()) {
-                total++;
-                String status = rs.getString("status");
-                String arrivalTime = rs.getString("actual_arrival_time");
-                String leaveTime = rs.getString("actual_leave_time");
-                String orderTime = rs.getString("order_time");
-
-                if (status.equalsIgnoreCase("Cancelled")) cancelled++;
-                else if (status.equalsIgnoreCase("No_Show") || status.equalsIgnoreCase("No-Show")) noShow++;
-                else if (status.equalsIgnoreCase("Waiting")) waiting++;
-
-                if (arrivalTime != null && !arrivalTime.isEmpty() && orderTime != null && !orderTime.isEmpty()) {
-                     actualArrivals++; 
-                     try {
-                         String t1 = orderTime.contains(":") ? orderTime : orderTime.substring(0, 2) + ":" + orderTime.substring(2);
-                         String t2 = arrivalTime.contains(":") ? arrivalTime : arrivalTime.substring(0, 2) + ":" + arrivalTime.substring(2);
-                         
-                         java.time.LocalTime ordered = java.time.LocalTime.parse(t1);
-                         java.time.LocalTime actual = java.time.LocalTime.parse(t2);
-                         
-                         if (java.time.temporal.ChronoUnit.MINUTES.between(ordered, actual) > 10) {
-                             lateArrivals++;
-                         }
-                     } catch (Exception e) {}
-                }
-
-                if (arrivalTime != null && arrivalTime.contains(":")) {
-                    try { int h = Integer.parseInt(arrivalTime.split(":")[0]); if (h >= 0 && h < 24) arrivals[h]++; } catch (Exception e) {}
-                }
-                if (leaveTime != null && leaveTime.contains(":")) {
-                    try { int h = Integer.parseInt(leaveTime.split(":")[0]); if (h >= 0 && h < 24) departures[h]++; } catch (Exception e) {}
-                }
-            }
-            rs.close();
-
-        } catch (SQLException e) { e.printStackTrace(); }
-
-        StringBuilder sb = new StringBuilder();
-        
-        sb.append(total).append(",")
-          .append(cancelled).append(",")
-          .append(noShow).append(",")
-          .append(waiting);
-
-        for (int i = 12; i <= 23; i++) sb.append(",").append(arrivals[i]);
-        for (int i = 12; i <= 23; i++) sb.append(",").append(departures[i]);
-
-        sb.append(",").append(lateArrivals).append(",").append(actualArrivals);
-
-        return sb.toString();
+    public static boolean promoteWaitingOrder(int orderId, NotificationOutbox.Notification email) {
+        return updateWithNotification(orderId,
+                "UPDATE orders SET status = 'APPROVED' WHERE order_number = ? AND status = 'WAITING'", email, orderId);
     }
 
     /**
-     * Retrieves all orders for a specific subscriber.
+     * Computes the monthly report contribution of every order in a date range.
+     * Used to build (and verify) the live report totals.
      *
-     * @param subscriberId the subscriber's ID
-     * @return a list of Order objects belonging to the subscriber
+     * @param fromDate the first date to include (YYYY-MM-DD)
+     * @param toDate the first date to exclude (YYYY-MM-DD)
+     * @return a map of order number to contribution, or null on a database error
      */
-    public static ArrayList<Order> getSubscriberOrders(int subscriberId) {
-        ArrayList<Order> history = new ArrayList<>();
-        String query = "SELECT * FROM orders WHERE subscriber_id = ? ORDER BY order_date DESC, order_time DESC";
-
+    public static HashMap<Integer, MonthlyReportAggregates.Contribution> getReportContributions(String fromDate,
+            String toDate) {
+        HashMap<Integer, MonthlyReportAggregates.Contribution> result = new HashMap<>();
         try {
-            PreparedStatement ps = conn.prepareStatement(query);
-            ps.setInt(1, subscriberId);
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT order_number, status, number_of_guests, actual_arrival_time, actual_leave_time, order_time "
+                            + "FROM orders WHERE order_date >= ? AND order_date < ?");
+            ps.setString(1, fromDate);
+            ps.setString(2, toDate);
             ResultSet rs = ps.executeQuery();
-
             while (rs.next()) {
-                Order o = new Order(rs.getInt("order_number"), 
-                        rs.getString("order_date"), 
-                        rs.getString("order_time"), 
-                        rs.getInt("number_of_guests"), 
-                        rs.getInt("confirmation_code"), 
-                        rs.getInt("subscriber_id"), 
-                        rs.getString("date_of_placing_order"), 
-                        rs.getString("status"), 
-                        rs.getInt("table_id"), 
-                        "", 
-                        rs.getString("client_phone") 
-                );
-
-                o.setEmail(rs.getString("client_email"));
-
-                history.add(o);
+                result.put(rs.getInt("order_number"), MonthlyReportAggregates.Contribution.of(rs.getString("status"),
+                        rs.getInt("number_of_guests"), rs.getString("actual_arrival_time"), rs.getString("actual_leave_time"), rs.getString("order_time")));
             }
+            rs.close();
         } catch (SQLException e) {
-            System.out.println("Error fetching history: " + e.getMessage());
+            e.printStackTrace();
+            return null;
         }
-        return history;
+        return result;
     }
 
     /**
@@ -744,41 +1014,16 @@ public class mysqlConnection {
     }
 
     /**
-     * Retrieves all orders for the staff view, sorted by date and time.
-     *
-     * @return a list of all orders
-     */
-    public static ArrayList<Order> getAllOrders() {
-        ArrayList<Order> list = new ArrayList<>();
-        String query = "SELECT * FROM orders ORDER BY order_date DESC, order_time DESC";
-        try {
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(query);
-            while (rs.next()) {
-                Order o = new Order(rs.getInt("order_number"), rs.getString("order_date"), rs.getString("order_time"),
-                        rs.getInt("number_of_guests"), rs.getInt("subscriber_id"), rs.getInt("table_id"),
-                        rs.getString("status"), "Active", 0, "", rs.getString("client_email"));
-                try {
-                    o.set_confirmation_code(rs.getInt("confirmation_code"));
-                } catch (Exception e) {
-                }
-                list.add(o);
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return list;
-    }
-
-    /**
-     * Marks an order as 'Arrived' and assigns a table number automatically.
-     * Updates the actual arrival time.
+     * Marks an order as 'Arrived' and stores the table it was seated at.
+     * Updates the actual arrival time. Only APPROVED or ACTIVE orders are updated.
      *
      * @param orderId the order ID
-     * @return the assigned table number, or -1 on failure
+     * @param tableId the table chosen for the party
+     * @return true if updated successfully, false otherwise (including an order in any other status)
      */
-    public static int markOrderAsArrived(int orderId) {
-        String query = "UPDATE orders SET status = 'ACTIVE', actual_arrival_time = ?, table_id = ? WHERE order_number = ?";
+    public static boolean markOrderAsArrived(int orderId, int tableId) {
+        String query = "UPDATE orders SET status = 'ACTIVE', actual_arrival_time = ?, table_id = ? "
+                + "WHERE order_number = ? AND status IN ('APPROVED', 'ACTIVE')";
         try {
             PreparedStatement ps = conn.prepareStatement(query);
 
@@ -787,160 +1032,162 @@ public class mysqlConnection {
                 currentTime = currentTime.substring(0, 5);
             ps.setString(1, currentTime);
 
-            int assignedTable = (orderId % 10) + 1;
-            ps.setInt(2, assignedTable);
-
+            ps.setInt(2, tableId);
             ps.setInt(3, orderId);
 
-            int rowsUpdated = ps.executeUpdate();
-
-            if (rowsUpdated > 0) {
-                return assignedTable;
-            } else {
-                return -1;
-            }
+            return fireIfUpdated(ps.executeUpdate(), orderId);
 
         } catch (SQLException e) {
             System.out.println("Error marking arrived: " + e.getMessage());
-            return -1;
+            return false;
         }
     }
 
     /**
-     * Generates a daily report of orders for the current date.
-     * Includes details about active and approved orders.
+     * Streams the daily orders report (approved and active orders of a date) row by row.
+     * Active orders come first, then by order time.
      *
-     * @return a formatted string report
+     * @param date the report date (YYYY-MM-DD)
+     * @param out the chunk writer receiving the rows
+     * @return true if the report was read completely, false on a database error
+     * @throws IOException if a chunk could not be delivered
      */
-    public static String getDailyReport() {
-        StringBuilder report = new StringBuilder();
-        String today = java.time.LocalDate.now().toString();
-
-        report.append("=== Daily Orders Report (" + today + ") ===\n\n");
-
-        String query = "SELECT o.*, s.name, s.surname " + "FROM orders o "
+    public static boolean streamDailyReport(String date, ReportChunkWriter<DailyOrderRow> out) throws IOException {
+        String query = "SELECT o.order_number, o.order_time, o.number_of_guests, o.status, o.table_id, o.subscriber_id, "
+                + "o.client_name, s.name, s.surname FROM orders o "
                 + "LEFT JOIN subscribers s ON o.subscriber_id = s.subscriber_id "
                 + "WHERE o.order_date = ? AND o.status IN ('APPROVED', 'ACTIVE') "
                 + "ORDER BY FIELD(o.status, 'ACTIVE', 'APPROVED'), o.order_time ASC";
 
+        boolean complete = true;
         try {
-            java.sql.PreparedStatement ps = conn.prepareStatement(query);
-            ps.setString(1, today);
-            java.sql.ResultSet rs = ps.executeQuery();
+            PreparedStatement ps = conn.prepareStatement(query);
+            ps.setString(1, date);
+            ResultSet rs = ps.executeQuery();
 
-            boolean found = false;
             while (rs.next()) {
-                found = true;
-
                 int subId = rs.getInt("subscriber_id");
-                String displayName = "Unknown";
+                String displayName;
 
                 if (subId > 1 && subId != 999) {
-                    try {
-                        String fName = rs.getString("name"); 
-                        String lName = rs.getString("surname"); 
-
-                        if (fName != null)
-                            displayName = fName + " " + (lName != null ? lName : "");
-                        else
-                            displayName = "Subscriber " + subId;
-                    } catch (java.sql.SQLException ex) {
+                    String fName = rs.getString("name");
+                    String lName = rs.getString("surname");
+                    if (fName != null)
+                        displayName = fName + " " + (lName != null ? lName : "");
+                    else
                         displayName = "Subscriber " + subId;
-                    }
                 } else {
-                    try {
-                        String savedName = rs.getString("client_name");
-                        if (savedName != null && !savedName.isEmpty()) {
-                            displayName = savedName;
-                        } else {
-                            displayName = "Casual Client";
-                        }
-                    } catch (Exception e) {
-                        displayName = "Casual Client";
-                    }
+                    String savedName = rs.getString("client_name");
+                    displayName = (savedName != null && !savedName.isEmpty()) ? savedName : "Casual Client";
                 }
 
                 String time = rs.getString("order_time");
                 if (time != null && time.length() > 5)
                     time = time.substring(0, 5);
 
-                report.append(String.format("ID: %d | Time: %s | Name: %s | Guests: %d | Status: %s | Table: %s\n",
-                        rs.getInt("order_number"), time, displayName, rs.getInt("number_of_guests"),
-                        rs.getString("status"), (rs.getString("table_id") == null ? "-" : rs.getString("table_id"))));
-                report.append("----------------------------------------------------\n");
+                out.add(new DailyOrderRow(rs.getInt("order_number"), time, displayName, rs.getInt("number_of_guests"),
+                        rs.getString("status"), rs.getInt("table_id")));
             }
-
-            if (!found)
-                report.append("No active or approved orders for today.");
-
-        } catch (java.sql.SQLException e) {
-            e.printStackTrace();
-            return "Error generating report: " + e.getMessage();
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error generating daily report: " + e.getMessage());
+            complete = false;
         }
-
-        return report.toString();
+        out.finish();
+        return complete;
     }
 
     /**
-     * Generates a report of the waiting list for the current date.
+     * Streams the waiting list of a date row by row, by requested time.
      *
-     * @return a formatted string report
+     * @param date the report date (YYYY-MM-DD)
+     * @param out the chunk writer receiving the rows
+     * @return true if the list was read completely, false on a database error
+     * @throws IOException if a chunk could not be delivered
      */
-    public static String getWaitingListReport() {
-        StringBuilder report = new StringBuilder();
-        String today = java.time.LocalDate.now().toString();
-
-        report.append("=== Waiting List (" + today + ") ===\n\n");
-
-        String query = "SELECT * FROM orders WHERE order_date = ? AND status = 'WAITING' ORDER BY order_time ASC";
+    public static boolean streamWaitingListReport(String date, ReportChunkWriter<WaitingListRow> out)
+            throws IOException {
+        String query = "SELECT order_number, order_time, number_of_guests, client_phone FROM orders "
+                + "WHERE order_date = ? AND status = 'WAITING' ORDER BY order_time ASC";
 
+        boolean complete = true;
         try {
             PreparedStatement ps = conn.prepareStatement(query);
-            ps.setString(1, today);
+            ps.setString(1, date);
             ResultSet rs = ps.executeQuery();
 
-            boolean found = false;
             while (rs.next()) {
-                found = true;
-                report.append(String.format("ID: %d | Time: %s | Guests: %d | Client: %s\n", rs.getInt("order_number"),
-                        rs.getString("order_time"), rs.getInt("number_of_guests"),
-                        (rs.getString("client_phone") != null ? rs.getString("client_phone") : "Subscriber")));
+                String phone = rs.getString("client_phone");
+                out.add(new WaitingListRow(rs.getInt("order_number"), rs.getString("order_time"),
+                        rs.getInt("number_of_guests"), (phone != null ? phone : "Subscriber")));
             }
-
-            if (!found)
-                report.append("Waiting list is empty.");
-
+            rs.close();
         } catch (SQLException e) {
-            return "Error fetching waiting list: " + e.getMessage();
+            System.out.println("Error fetching waiting list: " + e.getMessage());
+            complete = false;
         }
-
-        return report.toString();
+        out.finish();
+        return complete;
     }
 
     /**
-     * Marks an order as 'FINISHED' and records the leave time.
+     * Streams every order of a date range (all orders when both dates are null) row by row.
+     * The query runs on its own connection with a streaming result set (fetch size
+     * Integer.MIN_VALUE), so the driver hands over one row at a time instead of loading
+     * the whole table; each row goes straight into the chunk writer, and a slow client
+     * simply slows the read down.
      *
-     * @param orderId the order ID
-     * @return true if updated successfully, false otherwise
+     * @param fromDate the first order date (inclusive), or null
+     * @param toDate the last order date (exclusive), or null
+     * @param out the chunk writer receiving the rows
+     * @return true if the orders were read completely, false on a database error (the final
+     *         chunk is then not sent, so the client never takes a partial export as complete)
+     * @throws IOException if a chunk could not be delivered
      */
-    public static boolean markOrderAsFinished(int orderId) {
-        String query = "UPDATE orders SET status = 'FINISHED', actual_leave_time = ? WHERE order_number = ?";
-        try {
-            PreparedStatement ps = conn.prepareStatement(query);
-
-            String currentTime = java.time.LocalTime.now().toString();
-            if (currentTime.length() > 5)
-                currentTime = currentTime.substring(0, 5);
-
-            ps.setString(1, currentTime);
-            ps.setInt(2, orderId);
-
-            ps.executeUpdate();
-            return true;
+    public static boolean streamOrders(String fromDate, String toDate, ReportChunkWriter<OrderExportRow> out)
+            throws IOException {
+        String query = "SELECT order_number, order_date, order_time, number_of_guests, confirmation_code, "
+                + "subscriber_id, date_of_placing_order, status, table_id, client_phone, client_email, "
+                + "actual_arrival_time, actual_leave_time FROM orders"
+                + (fromDate != null ? " WHERE order_date >= ? AND order_date < ?" : "") + " ORDER BY order_number";
+
+        try (Connection c = openConnection();
+                PreparedStatement ps = c.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            if (fromDate != null) {
+                ps.setString(1, fromDate);
+                ps.setString(2, toDate);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    out.add(new OrderExportRow(rs.getInt("order_number"), rs.getString("order_date"),
+                            rs.getString("order_time"), rs.getInt("number_of_guests"), rs.getInt("confirmation_code"),
+                            rs.getInt("subscriber_id"), rs.getString("date_of_placing_order"), rs.getString("status"),
+                            rs.getInt("table_id"), rs.getString("client_phone"), rs.getString("client_email"),
+                            rs.getString("actual_arrival_time"), rs.getString("actual_leave_time")));
+                }
+            }
         } catch (SQLException e) {
-            System.out.println("Error marking finished: " + e.getMessage());
+            System.out.println("Error exporting orders: " + e.getMessage());
             return false;
         }
+        out.finish();
+        return true;
+    }
+
+    /**
+     * Marks an order as 'FINISHED', records the leave time and queues the bill SMS
+     * in the same transaction.
+     *
+     * @param orderId the order ID
+     * @param bill the bill notification to queue, or null
+     * @return true if updated successfully, false otherwise
+     */
+    public static boolean markOrderAsFinished(int orderId, NotificationOutbox.Notification bill) {
+        return updateWithNotification(orderId,
+                "UPDATE orders SET status = 'FINISHED', actual_leave_time = ? WHERE order_number = ?", bill,
+                currentTimeHHMM(), orderId);
     }
 
     /**
@@ -1018,74 +1265,137 @@ public class mysqlConnection {
     }
 
     /**
-     * Checks active orders against a 2-hour time limit.
-     * Auto-closes orders that have exceeded the limit.
+     * Closes an order that exceeded the 2-hour time limit, records the leave time
+     * and queues the bill SMS in the same transaction.
+     * The update only applies while the order is still ACTIVE.
      *
-     * @return a list of strings describing closed orders
+     * @param orderId the order number
+     * @param bill the bill notification to queue, or null
+     * @return true if the order was closed, false otherwise
      */
-    public static ArrayList<String> checkTimeLimit() {
-        ArrayList<String> closedOrdersInfo = new ArrayList<>();
-        String query = "SELECT order_number, actual_arrival_time FROM orders WHERE status = 'ACTIVE'";
+    public static boolean autoCloseOrder(int orderId, NotificationOutbox.Notification bill) {
+        return updateWithNotification(orderId,
+                "UPDATE orders SET status = 'FINISHED', actual_leave_time = ? WHERE order_number = ? AND status = 'ACTIVE'",
+                bill, currentTimeHHMM(), orderId);
+    }
 
+    /**
+     * Retrieves the arrival date-time of every ACTIVE order.
+     * Used to rebuild the stay-limit deadlines at startup.
+     *
+     * @return a map of order number to arrival date-time
+     */
+    public static HashMap<Integer, java.time.LocalDateTime> getActiveArrivalTimes() {
+        HashMap<Integer, java.time.LocalDateTime> arrivals = new HashMap<>();
+        String query = "SELECT order_number, order_date, actual_arrival_time FROM orders WHERE status = 'ACTIVE'";
         try {
             Statement stmt = conn.createStatement();
             ResultSet rs = stmt.executeQuery(query);
-
-            java.time.LocalTime now = java.time.LocalTime.now();
-
             while (rs.next()) {
-                String arrivalStr = rs.getString("actual_arrival_time");
-                if (arrivalStr != null && arrivalStr.contains(":")) {
-                    try {
-                        java.time.LocalTime arrivalTime = java.time.LocalTime.parse(arrivalStr);
-
-                        if (now.isAfter(arrivalTime.plusHours(2))) {
-                            int orderId = rs.getInt("order_number");
-
-                            markOrderAsFinished(orderId);
-
-                            closedOrdersInfo.add("Order #" + orderId);
-                        }
-                    } catch (Exception e) {
-                         }
-                }
+                java.time.LocalDateTime arrivedAt = OrderDeadlineScheduler.parseDateTime(rs.getString("order_date"),
+                        rs.getString("actual_arrival_time"));
+                if (arrivedAt != null)
+                    arrivals.put(rs.getInt("order_number"), arrivedAt);
             }
             rs.close();
         } catch (SQLException e) {
-            e.printStackTrace();
+            System.out.println("Error fetching active arrivals: " + e.getMessage());
         }
-        return closedOrdersInfo;
+        return arrivals;
     }
 
     /**
-     * Retrieves all orders associated with a specific client ID.
+     * Retrieves one page of orders, newest first (order date, time, then order number).
+     * Pages continue from the request's cursor with a keyset condition instead of an offset,
+     * so later pages are read straight from the (order_date, order_time, order_number) indexes
+     * and stay stable while new orders are added.
+     * A SUMMARY request reads only the columns of an {@link OrderSummary}.
      *
-     * @param clientId the client ID (subscriber ID)
-     * @return a list of Order objects
+     * @param req the page request (filters, projection, page size and cursor)
+     * @return the page, empty on error
      */
-    public static java.util.ArrayList<common.Order> getOrdersByClientId(int clientId) {
-        java.util.ArrayList<common.Order> orders = new java.util.ArrayList<>();
-
-        String query = "SELECT * FROM orders WHERE subscriber_id = ?";
+    public static OrderPage<? extends Serializable> getOrderPage(OrderPageRequest req) {
+        if (req.getProjection() == OrderPageRequest.Projection.SUMMARY) {
+            return readOrderPage(req, "order_number, order_date, order_time, number_of_guests, status, table_id, "
+                    + "subscriber_id",
+                    rs -> new OrderSummary(rs.getInt("order_number"), rs.getString("order_date"),
+                            rs.getString("order_time"), rs.getInt("number_of_guests"), rs.getString("status"),
+                            rs.getInt("table_id"), rs.getInt("subscriber_id")));
+        }
+        return readOrderPage(req, "order_number, order_date, order_time, number_of_guests, confirmation_code, "
+                + "subscriber_id, date_of_placing_order, status, table_id, client_phone, client_email", rs -> {
+                    Order o = new Order(rs.getInt("order_number"), rs.getString("order_date"),
+                            rs.getString("order_time"), rs.getInt("number_of_guests"), rs.getInt("confirmation_code"),
+                            rs.getInt("subscriber_id"), rs.getString("date_of_placing_order"), rs.getString("status"),
+                            rs.getInt("table_id"), "", rs.getString("client_phone"));
+                    o.setEmail(rs.getString("client_email"));
+                    return o;
+                });
+    }
 
-        try {
-            java.sql.PreparedStatement ps = conn.prepareStatement(query);
-            ps.setInt(1, clientId);
-            java.sql.ResultSet rs = ps.executeQuery();
+    /**
+     * Maps the current row of a result set to an object.
+     *
+     * @param <T> the row type
+     */
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
 
+    private static <T extends Serializable> OrderPage<T> readOrderPage(OrderPageRequest req, String columns,
+            RowMapper<T> mapper) {
+        int size = Math.max(1, Math.min(req.getPageSize(), OrderPageRequest.MAX_PAGE_SIZE));
+        StringBuilder query = new StringBuilder("SELECT " + columns + " FROM orders WHERE 1 = 1");
+        ArrayList<Object> params = new ArrayList<>();
+        if (req.getSubscriberId() != null) {
+            query.append(" AND subscriber_id = ?");
+            params.add(req.getSubscriberId());
+        }
+        if (req.getFromDate() != null) {
+            query.append(" AND order_date >= ?");
+            params.add(req.getFromDate());
+        }
+        if (req.getToDate() != null) {
+            query.append(" AND order_date <= ?");
+            params.add(req.getToDate());
+        }
+        if (req.getStatus() != null) {
+            query.append(" AND status = ?");
+            params.add(req.getStatus());
+        }
+        if (!req.isFirstPage()) {
+            query.append(" AND (order_date, order_time, order_number) < (?, ?, ?)");
+            params.add(req.getAfterDate());
+            params.add(req.getAfterTime());
+            params.add(req.getAfterOrderNumber());
+        }
+        // One extra row tells whether another page follows
+        query.append(" ORDER BY order_date DESC, order_time DESC, order_number DESC LIMIT ?");
+        params.add(size + 1);
+
+        ArrayList<T> rows = new ArrayList<>();
+        OrderPageRequest next = null;
+        String lastDate = null, lastTime = null;
+        int lastNumber = 0;
+        try (PreparedStatement ps = conn.prepareStatement(query.toString())) {
+            for (int i = 0; i < params.size(); i++)
+                ps.setObject(i + 1, params.get(i));
+            ResultSet rs = ps.executeQuery();
             while (rs.next()) {
-                common.Order order = new common.Order(rs.getInt("order_number"), rs.getString("order_date"),
-                        rs.getString("order_time"), rs.getInt("number_of_guests"), rs.getInt("confirmation_code"),
-                        rs.getInt("subscriber_id"),
-                        null, 
-                        rs.getString("status"), rs.getInt("table_id"), null, null);
-                orders.add(order);
+                if (rows.size() == size) {
+                    next = req.nextPage(lastDate, lastTime, lastNumber);
+                    break;
+                }
+                rows.add(mapper.map(rs));
+                lastDate = rs.getString("order_date");
+                lastTime = rs.getString("order_time");
+                lastNumber = rs.getInt("order_number");
             }
-        } catch (java.sql.SQLException e) {
-            System.out.println("Error fetching history:");
-            e.printStackTrace();
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error fetching orders page: " + e.getMessage());
         }
-        return orders;
+        return new OrderPage<>(req, rows, next);
     }
 
     /**
@@ -1159,44 +1469,13 @@ public class mysqlConnection {
             ps.setString(1, newValue);
             ps.setInt(2, orderId);
 
-            return ps.executeUpdate() > 0;
+            return fireIfUpdated(ps.executeUpdate(), orderId);
         } catch (SQLException e) {
             System.out.println("Error updating cell " + columnName + ": " + e.getMessage());
             return false;
         }
     }
 
-    /**
-     * Retrieves a list of approved orders scheduled for the current day.
-     *
-     * @return a list of formatted strings describing the orders
-     */
-    public static ArrayList<String> getApprovedOrdersForToday() {
-        ArrayList<String> list = new ArrayList<>();
-        String query = "SELECT order_number, order_time, number_of_guests, subscriber_id " + "FROM orders "
-                + "WHERE order_date = CURDATE() AND status = 'APPROVED' " + "ORDER BY order_time ASC";
-        try {
-            java.sql.Statement stmt = conn.createStatement();
-            java.sql.ResultSet rs = stmt.executeQuery(query);
-
-            while (rs.next()) {
-                int id = rs.getInt("order_number");
-                String time = rs.getString("order_time");
-                if (time.length() > 5)
-                    time = time.substring(0, 5); 
-
-                String type = (rs.getInt("subscriber_id") > 0 && rs.getInt("subscriber_id") != 999) ? " (Subscriber)"
-                        : "";
-
-                String display = "Order #" + id + " | " + time + " | " + rs.getInt("number_of_guests") + " ppl" + type;
-                list.add(display);
-            }
-        } catch (java.sql.SQLException e) {
-            e.printStackTrace();
-        }
-        return list;
-    }
-
     /**
      * Checks if the restaurant is open at a specific date and time.
      * Verifies against special dates and regular weekly schedules.
@@ -1236,30 +1515,358 @@ public class mysqlConnection {
             if (openStr == null || closeStr == null)
                 return false;
 
-            openStr = openStr.trim();
-            closeStr = closeStr.trim();
-            if (openStr.length() == 4)
-                openStr = "0" + openStr;
-            if (closeStr.length() == 4)
-                closeStr = "0" + closeStr;
-            if (openStr.length() == 5)
-                openStr += ":00";
-            if (closeStr.length() == 5)
-                closeStr += ":00";
-
             String checkTime = timeStr;
             if (checkTime.length() == 5)
                 checkTime += ":00";
 
-            java.time.LocalTime requestedTime = java.time.LocalTime.parse(checkTime);
-            java.time.LocalTime openTime = java.time.LocalTime.parse(openStr);
-            java.time.LocalTime closeTime = java.time.LocalTime.parse(closeStr);
-
-            return !requestedTime.isBefore(openTime) && requestedTime.isBefore(closeTime);
+            return isWithinOpeningHours(openStr, closeStr, java.time.LocalTime.parse(checkTime));
 
         } catch (Exception e) {
             e.printStackTrace();
             return false;
         }
     }
+
+    /**
+     * Checks a time against an opening hours range as stored in restaurant_settings.
+     * Accepts H:MM, HH:MM and HH:MM:SS values.
+     *
+     * @param openStr the opening time
+     * @param closeStr the closing time
+     * @param requestedTime the time to check
+     * @return true if the time is within [open, close)
+     */
+    private static boolean isWithinOpeningHours(String openStr, String closeStr, LocalTime requestedTime) {
+        if (openStr == null || closeStr == null)
+            return false;
+
+        openStr = openStr.trim();
+        closeStr = closeStr.trim();
+        if (openStr.length() == 4)
+            openStr = "0" + openStr;
+        if (closeStr.length() == 4)
+            closeStr = "0" + closeStr;
+        if (openStr.length() == 5)
+            openStr += ":00";
+        if (closeStr.length() == 5)
+            closeStr += ":00";
+
+        java.time.LocalTime openTime = java.time.LocalTime.parse(openStr);
+        java.time.LocalTime closeTime = java.time.LocalTime.parse(closeStr);
+
+        return !requestedTime.isBefore(openTime) && requestedTime.isBefore(closeTime);
+    }
+
+    /**
+     * Notifies {@link OrderEvents} listeners if an update changed the order.
+     *
+     * @param rowsAffected the update count
+     * @param orderId the updated order
+     * @return true if a row was changed
+     */
+    private static boolean fireIfUpdated(int rowsAffected, int orderId) {
+        if (rowsAffected <= 0)
+            return false;
+        OrderEvents.fire(orderId);
+        return true;
+    }
+
+    // --- NOTIFICATION OUTBOX ---
+
+    private static String currentTimeHHMM() {
+        String currentTime = LocalTime.now().toString();
+        return currentTime.length() > 5 ? currentTime.substring(0, 5) : currentTime;
+    }
+
+    /**
+     * Runs a single-row status update and, if it changed a row, appends a notification
+     * to the outbox in the same transaction. A notification whose event key already
+     * exists is ignored, so the same event is never queued twice.
+     *
+     * @param orderId the updated order
+     * @param sql the update statement
+     * @param notification the notification to queue, or null for a plain update
+     * @param params the statement parameters
+     * @return true if the update changed a row, false otherwise
+     */
+    private static boolean updateWithNotification(int orderId, String sql,
+            NotificationOutbox.Notification notification, Object... params) {
+        boolean updated = false;
+        synchronized (txLock) {
+            try {
+                txConn.setAutoCommit(false);
+                PreparedStatement ps = txConn.prepareStatement(sql);
+                for (int i = 0; i < params.length; i++)
+                    ps.setObject(i + 1, params[i]);
+                updated = ps.executeUpdate() > 0;
+
+                if (updated && notification != null) {
+                    PreparedStatement ins = txConn.prepareStatement(
+                            "INSERT IGNORE INTO notification_outbox (event_key, channel, recipient, body) VALUES (?, ?, ?, ?)");
+                    ins.setString(1, notification.getEventKey());
+                    ins.setString(2, notification.getChannel());
+                    ins.setString(3, notification.getRecipient());
+                    ins.setString(4, notification.getBody());
+                    ins.executeUpdate();
+                }
+                txConn.commit();
+            } catch (SQLException e) {
+                System.out.println("Transaction failed: " + e.getMessage());
+                updated = false;
+                try {
+                    txConn.rollback();
+                } catch (SQLException ignored) {
+                }
+            } finally {
+                try {
+                    txConn.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                }
+            }
+        }
+        if (updated && notification != null)
+            NotificationOutbox.wakeUp();
+        if (updated)
+            OrderEvents.fire(orderId);
+        return updated;
+    }
+
+    /**
+     * Retrieves unsent notifications whose next attempt is due, oldest first.
+     *
+     * @param limit the maximum number of notifications
+     * @param maxAttempts notifications with this many failed attempts are skipped
+     * @return a list of due notifications
+     */
+    public static ArrayList<NotificationOutbox.Notification> getDueNotifications(int limit, int maxAttempts) {
+        ArrayList<NotificationOutbox.Notification> list = new ArrayList<>();
+        try {
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT id, event_key, channel, recipient, body, created_at, attempts FROM notification_outbox "
+                            + "WHERE sent_at IS NULL AND next_attempt_at <= NOW() AND attempts < ? ORDER BY id LIMIT ?");
+            ps.setInt(1, maxAttempts);
+            ps.setInt(2, limit);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                list.add(new NotificationOutbox.Notification(rs.getLong("id"), rs.getString("event_key"),
+                        rs.getString("channel"), rs.getString("recipient"), rs.getString("body"),
+                        rs.getTimestamp("created_at").getTime(), rs.getInt("attempts")));
+            }
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error fetching notifications: " + e.getMessage());
+        }
+        return list;
+    }
+
+    /**
+     * Marks a batch of notifications as sent.
+     *
+     * @param ids the notification IDs
+     */
+    public static void markNotificationsSent(ArrayList<Long> ids) {
+        if (ids.isEmpty())
+            return;
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++)
+            in.append(i == 0 ? "?" : ", ?");
+        try {
+            PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE notification_outbox SET sent_at = NOW() WHERE id IN (" + in + ")");
+            for (int i = 0; i < ids.size(); i++)
+                ps.setLong(i + 1, ids.get(i));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            System.out.println("Error marking notifications sent: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records a failed delivery and schedules the next attempt.
+     *
+     * @param id the notification ID
+     * @param delaySeconds the delay before the next attempt
+     * @param error the failure reason
+     */
+    public static void rescheduleNotification(long id, int delaySeconds, String error) {
+        if (error != null && error.length() > 255)
+            error = error.substring(0, 255);
+        try {
+            PreparedStatement ps = conn.prepareStatement("UPDATE notification_outbox SET attempts = attempts + 1, "
+                    + "next_attempt_at = DATE_ADD(NOW(), INTERVAL ? SECOND), last_error = ? WHERE id = ?");
+            ps.setInt(1, delaySeconds);
+            ps.setString(2, error);
+            ps.setLong(3, id);
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            System.out.println("Error rescheduling notification: " + e.getMessage());
+        }
+    }
+
+    // --- DAILY STATS ROLLUP ---
+
+    /**
+     * Retrieves the earliest order date.
+     *
+     * @return the first order date (YYYY-MM-DD), or null if there are no orders
+     */
+    public static String getFirstOrderDate() {
+        try {
+            ResultSet rs = conn.createStatement().executeQuery("SELECT MIN(order_date) FROM orders");
+            String date = rs.next() ? rs.getString(1) : null;
+            rs.close();
+            return date;
+        } catch (SQLException e) {
+            System.out.println("Error reading first order date: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the latest day written to daily_stats.
+     *
+     * @return the last rolled-up day (YYYY-MM-DD), or null if the table is empty
+     */
+    public static String getLastRolledUpDate() {
+        try {
+            ResultSet rs = conn.createStatement().executeQuery("SELECT MAX(stat_date) FROM daily_stats");
+            String date = rs.next() ? rs.getString(1) : null;
+            rs.close();
+            return date;
+        } catch (SQLException e) {
+            System.out.println("Error reading daily_stats: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Computes the daily totals of a date range from the orders table.
+     * Every day of the range gets an entry, even days without orders.
+     *
+     * @param fromDate the first day (inclusive, YYYY-MM-DD)
+     * @param toDate the last day (exclusive, YYYY-MM-DD)
+     * @return the totals per day, in date order
+     */
+    public static ArrayList<DailyStats> computeDailyStats(String fromDate, String toDate) {
+        try {
+            return computeDailyStats(conn, fromDate, toDate);
+        } catch (SQLException e) {
+            System.out.println("Error computing daily stats: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static ArrayList<DailyStats> computeDailyStats(Connection c, String fromDate, String toDate)
+            throws SQLException {
+        java.util.TreeMap<String, DailyStats> days = new java.util.TreeMap<>();
+        for (LocalDate d = LocalDate.parse(fromDate); d.isBefore(LocalDate.parse(toDate)); d = d.plusDays(1))
+            days.put(d.toString(), new DailyStats(d.toString()));
+
+        PreparedStatement ps = c.prepareStatement(
+                "SELECT order_date, status, number_of_guests, order_time, actual_arrival_time, actual_leave_time "
+                        + "FROM orders WHERE order_date >= ? AND order_date < ?");
+        ps.setString(1, fromDate);
+        ps.setString(2, toDate);
+        ResultSet rs = ps.executeQuery();
+        while (rs.next()) {
+            DailyStats day = days.get(rs.getString("order_date"));
+            if (day != null)
+                day.addOrder(rs.getString("status"), rs.getInt("number_of_guests"), rs.getString("order_time"),
+                        rs.getString("actual_arrival_time"), rs.getString("actual_leave_time"));
+        }
+        rs.close();
+        return new ArrayList<>(days.values());
+    }
+
+    /**
+     * Recomputes and stores the daily_stats rows of a date range using the shared connection.
+     *
+     * @param fromDate the first day (inclusive, YYYY-MM-DD)
+     * @param toDate the last day (exclusive, YYYY-MM-DD)
+     * @return the number of days written, or -1 on error
+     */
+    public static int rollupDailyStats(String fromDate, String toDate) {
+        try {
+            return rollupDailyStats(conn, fromDate, toDate);
+        } catch (SQLException e) {
+            System.out.println("Error writing daily stats: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Recomputes and stores the daily_stats rows of a date range on the given connection.
+     *
+     * @param c the connection to use
+     * @param fromDate the first day (inclusive, YYYY-MM-DD)
+     * @param toDate the last day (exclusive, YYYY-MM-DD)
+     * @return the number of days written
+     * @throws SQLException if the rollup failed
+     */
+    public static int rollupDailyStats(Connection c, String fromDate, String toDate) throws SQLException {
+        ArrayList<DailyStats> days = computeDailyStats(c, fromDate, toDate);
+        PreparedStatement ps = c.prepareStatement("REPLACE INTO daily_stats (stat_date, total_orders, approved, active, "
+                + "finished, cancelled, no_show, waiting, covers, late_arrivals, actual_arrivals, arrivals_by_hour, "
+                + "departures_by_hour, total_stay_minutes, stay_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (DailyStats d : days) {
+            ps.setString(1, d.date);
+            ps.setInt(2, d.total);
+            ps.setInt(3, d.approved);
+            ps.setInt(4, d.active);
+            ps.setInt(5, d.finished);
+            ps.setInt(6, d.cancelled);
+            ps.setInt(7, d.noShow);
+            ps.setInt(8, d.waiting);
+            ps.setInt(9, d.covers);
+            ps.setInt(10, d.lateArrivals);
+            ps.setInt(11, d.actualArrivals);
+            ps.setString(12, DailyStats.joinHours(d.arrivals));
+            ps.setString(13, DailyStats.joinHours(d.departures));
+            ps.setLong(14, d.totalStayMinutes);
+            ps.setInt(15, d.stayCount);
+            ps.addBatch();
+        }
+        ps.executeBatch();
+        return days.size();
+    }
+
+    /**
+     * Reads the stored daily_stats rows of a date range.
+     *
+     * @param fromDate the first day (inclusive, YYYY-MM-DD)
+     * @param toDate the last day (exclusive, YYYY-MM-DD)
+     * @return the stored totals per day, in date order
+     */
+    public static ArrayList<DailyStats> getDailyStats(String fromDate, String toDate) {
+        ArrayList<DailyStats> list = new ArrayList<>();
+        try {
+            PreparedStatement ps = conn.prepareStatement(
+                    "SELECT * FROM daily_stats WHERE stat_date >= ? AND stat_date < ? ORDER BY stat_date");
+            ps.setString(1, fromDate);
+            ps.setString(2, toDate);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                DailyStats d = new DailyStats(rs.getString("stat_date"));
+                d.total = rs.getInt("total_orders");
+                d.approved = rs.getInt("approved");
+                d.active = rs.getInt("active");
+                d.finished = rs.getInt("finished");
+                d.cancelled = rs.getInt("cancelled");
+                d.noShow = rs.getInt("no_show");
+                d.waiting = rs.getInt("waiting");
+                d.covers = rs.getInt("covers");
+                d.lateArrivals = rs.getInt("late_arrivals");
+                d.actualArrivals = rs.getInt("actual_arrivals");
+                d.arrivals = DailyStats.parseHours(rs.getString("arrivals_by_hour"));
+                d.departures = DailyStats.parseHours(rs.getString("departures_by_hour"));
+                d.totalStayMinutes = rs.getLong("total_stay_minutes");
+                d.stayCount = rs.getInt("stay_count");
+                list.add(d);
+            }
+            rs.close();
+        } catch (SQLException e) {
+            System.out.println("Error reading daily stats: " + e.getMessage());
+        }
+        return list;
+    }
 }
@@ -100,6 +100,13 @@ public abstract class AbstractServer implements Runnable {
    */
   public boolean isListening() { return (connectionListener != null && connectionListener.isAlive()); }
 
+  /**
+   * Returns the number of clients currently connected.
+   *
+   * @return the number of connected clients.
+   */
+  public int getNumberOfClients() { return clientThreadGroup.activeCount(); }
+
   /**
    * Handles a command sent from one client to the server.
    * This MUST be implemented by subclasses, who should respond to messages.
@@ -175,6 +182,19 @@ public abstract class AbstractServer implements Runnable {
     }
   }
   
+  /**
+   * Hook method called just before a message is written to a client,
+   * on the thread that sends it. Subclasses may return a decorated message.
+   * The default implementation returns the message unchanged.
+   *
+   * @param msg the message to be sent.
+   * @param client the connection the message is sent to.
+   * @return the message to write.
+   */
+  protected Object prepareMessageToClient(Object msg, ConnectionToClient client) {
+    return msg;
+  }
+
   /**
    * Receives a message from a client.
    * This method calls the abstract method {@link #handleMessageFromClient}.
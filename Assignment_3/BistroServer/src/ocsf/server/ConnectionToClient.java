@@ -51,13 +51,17 @@ public class ConnectionToClient extends Thread {
 
   /**
    * Sends an object to the client.
+   * Synchronized so messages sent from several server threads are never interleaved.
+   * The stream is reset after each message so it does not keep a reference to every
+   * object ever sent (which would grow without bound during long chunked transfers).
    *
    * @param msg the message to be sent.
    * @throws IOException if an I/O error occur when sending the message.
    */
-  public final void sendToClient(Object msg) throws IOException {
+  public final synchronized void sendToClient(Object msg) throws IOException {
     if (clientSocket == null || output == null) throw new SocketException("socket does not exist");
-    output.writeObject(msg);
+    output.writeObject(server.prepareMessageToClient(msg, this));
+    output.reset();
   }
 
   /**
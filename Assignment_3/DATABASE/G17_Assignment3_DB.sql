@@ -17,6 +17,58 @@ USE `order_sch`;
 /*!40101 SET @OLD_SQL_MODE=@@SQL_MODE, SQL_MODE='NO_AUTO_VALUE_ON_ZERO' */;
 /*!40111 SET @OLD_SQL_NOTES=@@SQL_NOTES, SQL_NOTES=0 */;
 
+--
+-- Table structure for table `daily_stats`
+--
+
+DROP TABLE IF EXISTS `daily_stats`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `daily_stats` (
+  `stat_date` date NOT NULL,
+  `total_orders` int NOT NULL DEFAULT '0',
+  `approved` int NOT NULL DEFAULT '0',
+  `active` int NOT NULL DEFAULT '0',
+  `finished` int NOT NULL DEFAULT '0',
+  `cancelled` int NOT NULL DEFAULT '0',
+  `no_show` int NOT NULL DEFAULT '0',
+  `waiting` int NOT NULL DEFAULT '0',
+  `covers` int NOT NULL DEFAULT '0',
+  `late_arrivals` int NOT NULL DEFAULT '0',
+  `actual_arrivals` int NOT NULL DEFAULT '0',
+  `arrivals_by_hour` varchar(100) NOT NULL,
+  `departures_by_hour` varchar(100) NOT NULL,
+  `total_stay_minutes` int NOT NULL DEFAULT '0',
+  `stay_count` int NOT NULL DEFAULT '0',
+  `updated_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`stat_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Table structure for table `notification_outbox`
+--
+
+DROP TABLE IF EXISTS `notification_outbox`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `notification_outbox` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `event_key` varchar(64) NOT NULL,
+  `channel` varchar(10) NOT NULL,
+  `recipient` varchar(100) DEFAULT NULL,
+  `body` varchar(255) NOT NULL,
+  `created_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `attempts` int NOT NULL DEFAULT '0',
+  `next_attempt_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  `sent_at` datetime DEFAULT NULL,
+  `last_error` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `event_key` (`event_key`),
+  KEY `idx_outbox_pending` (`sent_at`,`next_attempt_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
 --
 -- Table structure for table `orders`
 --
@@ -41,9 +93,13 @@ CREATE TABLE `orders` (
   `actual_arrival_time` varchar(20) DEFAULT NULL,
   `actual_leave_time` varchar(20) DEFAULT NULL,
   `client_name` varchar(50) DEFAULT NULL,
+  `change_version` bigint NOT NULL DEFAULT '0',
   PRIMARY KEY (`order_number`),
-  KEY `fk_order_subscriber_idx_idx` (`subscriber_id`),
+  KEY `idx_orders_subscriber_date` (`subscriber_id`,`order_date`,`order_time`,`order_number`),
   KEY `fk_table_order` (`table_id`),
+  KEY `idx_orders_date_time` (`order_date`,`order_time`,`order_number`),
+  KEY `idx_orders_confirmation_code` (`confirmation_code`),
+  KEY `idx_orders_change_version` (`change_version`),
   CONSTRAINT `fk_order_subscriber_idx` FOREIGN KEY (`subscriber_id`) REFERENCES `subscribers` (`subscriber_id`),
   CONSTRAINT `fk_table_order` FOREIGN KEY (`table_id`) REFERENCES `restaurant_tables` (`table_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
@@ -55,7 +111,7 @@ CREATE TABLE `orders` (
 
 LOCK TABLES `orders` WRITE;
 /*!40000 ALTER TABLE `orders` DISABLE KEYS */;
-INSERT INTO `orders` VALUES (1,'2025-10-09',3,123,666,'2025-01-01','12:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'12:15','13:45',NULL),(2,'2025-11-11',3,5678,12345,'2025-01-01','15:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'15:00','16:30',NULL),(3,'2025-11-11',2,33123,888,'2025-11-11','12:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'12:30','14:00',NULL),(4,'2025-01-05',2,1342,6767,'2025-01-04','16:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'16:15','17:45',NULL),(5,'2025-02-02',2,1212132,888,'2025-02-02','14:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'14:00','15:20',NULL),(6,'2035-06-06',2,100,1,'2025-01-01','12:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(7,'2025-06-06',2,100,1,'2025-01-01','2:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(8,'2026-01-12',2,100,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(9,'2026-01-04',2,100,1,'2025-01-01','12:45','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(10,'2026-01-02',2,100,1,'2025-01-01','14:32','NO_SHOW',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(12,'2025-12-31',1,100,999,'2025-01-01','13:00','NO_SHOW',NULL,NULL,NULL,'SNHIM ASPDK','0523049392',NULL,NULL,NULL),(13,'2025-12-31',3,787533,999,'2025-01-01','15:00','NO_SHOW',NULL,NULL,NULL,'titi tata','052342341',NULL,NULL,NULL),(14,'2026-01-01',3,108605,12345,'2025-01-01','14:00','FINISHED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(15,'2026-01-01',2,895795,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(16,'2026-01-01',2,179679,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(17,'2026-01-01',2,519699,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(18,'2026-01-01',2,561885,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(21,'2026-01-01',2,984691,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(22,'2026-01-01',2,967813,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(24,'2026-01-03',2,708399,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(25,'2026-01-03',2,300931,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(26,'2026-01-03',2,735574,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(28,'2026-01-03',2,286237,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(29,'2026-01-03',2,591983,1,'2025-01-01','19:00','Cancelled',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL),(31,'2028-01-01',2,927288,1,'2025-01-01','19:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(32,'2026-01-03',2,488504,999,'2025-01-01','19:00','Cancelled',NULL,NULL,NULL,'rininini@mail','',NULL,NULL,NULL),(34,'2025-12-31',2,442015,1,'2025-01-01','15:55','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(35,'2025-12-31',2,429917,1,'2025-01-01','16:20','ARRIVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(36,'2026-01-10',2,894342,12345,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'nitnint@walla.com',NULL,NULL,NULL,NULL),(37,'2026-01-02',4,452589,1,'2025-01-02','14:30','ARRIVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(38,'2026-01-02',1,888944,1,'2025-01-01','15:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(39,'2026-01-02',2,850170,1,'2025-01-01','17:10','FINISHED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(40,'2026-01-10',1,677273,12345,'2025-01-01','15:00','NO_SHOW',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL),(41,'2026-01-10',2,340330,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(42,'2026-01-10',4,398203,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(43,'2026-01-10',3,915017,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(44,'2026-01-10',6,306179,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(45,'2026-01-10',2,208079,1,'2025-01-01','19:00','FINISHED',NULL,NULL,NULL,'',NULL,'13:00','14:30',NULL),(46,'2026-01-10',2,490905,1,'2025-01-01','19:00','FINISHED',NULL,NULL,NULL,'',NULL,'19:10','20:50',NULL),(47,'2026-01-09',2,289383,12345,'2026-01-06','19:30','PENDING',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL),(48,'2026-01-09',2,948005,12345,'2026-01-06','15:00','Cancelled',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL),(49,'2026-01-10',1,100469,999,'2026-01-06','21:00','FINISHED',NULL,NULL,NULL,'eeee@wwww.com','','21:05','22:45',NULL),(50,'2026-01-10',2,801017,999,'2026-01-06','21:30','FINISHED',NULL,NULL,NULL,'','025783286364','21:40','23:15',NULL),(51,'2026-01-10',2,797490,999,'2026-01-06','22:00','APPROVED',NULL,NULL,NULL,'','05203990822',NULL,NULL,NULL),(52,'2026-01-10',4,319625,1,'2026-01-06','21:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(53,'2026-01-10',2,106113,12345,'2026-01-07','21:00','APPROVED',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL),(54,'2026-01-19',3,519085,1,'2026-01-07','15:30','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(55,'2026-01-14',5,550778,1,'2026-01-07','14:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(56,'2026-01-19',2,818527,999,'2026-01-07','14:00','Cancelled',NULL,NULL,NULL,'s;keufkjh@walla.ocm','',NULL,NULL,NULL),(57,'2026-01-26',5,111286,1,'2026-01-07','13:30','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(58,'2026-01-08',1,783832,454549,'2026-01-07','13:00','Cancelled',NULL,NULL,NULL,'abashimon@hamsa.com',NULL,NULL,NULL,NULL),(59,'2026-01-26',2,977446,999,'2026-01-07','13:30','Cancelled',NULL,NULL,NULL,'','2222222222',NULL,NULL,NULL),(60,'2026-01-07',4,413867,1,'2026-01-07','18:15','FINISHED',NULL,NULL,NULL,'',NULL,NULL,'18:18',NULL),(61,'2026-01-29',1,539264,454549,'2026-01-07','13:00','Cancelled',NULL,NULL,NULL,'abashimon@hamsa.com',NULL,NULL,NULL,NULL),(62,'2026-01-07',2,722779,1,'2026-01-07','18:30','FINISHED',NULL,NULL,NULL,'',NULL,'18:32','18:40',NULL),(63,'2026-01-10',2,420985,1,'2026-01-10','12:17','FINISHED',4,NULL,NULL,'',NULL,'12:17','12:19',NULL),(64,'2026-01-10',2,588983,1,'2026-01-10','12:25','FINISHED',5,NULL,NULL,'',NULL,'12:25','12:25',NULL),(65,'2026-01-10',1,537019,1,'2026-01-10','12:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(66,'2026-01-10',2,105920,1,'2026-01-10','12:46','FINISHED',7,NULL,NULL,'',NULL,'12:46','12:46',NULL),(67,'2026-01-12',3,186704,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(68,'2026-01-12',1,196857,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(69,'2026-01-12',5,998894,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(70,'2026-01-12',4,664769,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(71,'2026-01-12',1,784012,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(72,'2026-01-12',4,646841,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(73,'2026-01-12',3,799182,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(74,'2026-01-12',6,979523,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(75,'2026-01-12',2,714154,1,'2026-01-10','12:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(76,'2026-01-12',2,800258,999,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'','0529387472',NULL,NULL,NULL),(77,'2026-01-18',4,357206,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(78,'2026-01-18',4,178404,1,'2026-01-10','14:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(79,'2026-01-18',6,510678,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(80,'2026-01-18',4,221505,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(81,'2026-01-18',2,665753,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(82,'2026-01-18',3,435632,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(83,'2026-01-18',1,819212,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(84,'2026-01-18',5,886471,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(85,'2026-01-18',2,341708,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(86,'2026-01-18',2,715170,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(87,'2026-01-18',3,415027,999,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'','05461253698',NULL,NULL,NULL),(88,'2026-01-18',6,842870,999,'2026-01-10','16:30','WAITING',NULL,NULL,NULL,'','05627821232',NULL,NULL,NULL),(89,'2026-01-18',3,810124,999,'2026-01-10','16:30','Cancelled',NULL,NULL,NULL,'','05463821321',NULL,NULL,NULL),(90,'2026-01-10',2,552391,1,'2026-01-10','12:55','FINISHED',NULL,NULL,NULL,'',NULL,'12:55','14:55',NULL),(91,'2026-01-10',2,549576,1,'2026-01-10','16:25','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(92,'2026-01-10',1,975150,1,'2026-01-10','16:00','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(93,'2026-01-14',2,535667,1,'2026-01-10','18:30','FINISHED',4,NULL,NULL,'',NULL,'18:31','20:31',NULL),(94,'2026-01-18',3,664313,1,'2026-01-10','16:30','WAITING',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(95,'2026-01-10',2,910005,1,'2026-01-10','15:20','FINISHED',6,NULL,NULL,'',NULL,'15:20','17:20',NULL),(96,'2026-01-10',2,264246,1,'2026-01-10','15:25','FINISHED',7,NULL,NULL,'',NULL,'15:26','17:26',NULL),(97,'2026-01-10',2,994362,12345,'2026-01-10','15:30','FINISHED',8,NULL,NULL,'',NULL,'15:30','17:32',NULL),(98,'2026-01-10',2,762912,999,'2026-01-10','17:30','WAITING',NULL,NULL,NULL,'','99999999',NULL,NULL,NULL),(99,'2026-01-14',1,222770,1,'2026-01-14','10:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(100,'2026-01-14',2,933004,12345,'2026-01-14','10:30','NO_SHOW',NULL,NULL,NULL,'titi@yahoo.com',NULL,NULL,NULL,NULL),(101,'2026-01-14',3,849390,999,'2026-01-14','13:30','NO_SHOW',NULL,NULL,NULL,'','43',NULL,NULL,NULL),(102,'2026-01-14',3,515369,12345,'2026-01-14','13:30','Cancelled',3,NULL,NULL,'titi@yahoo.com',NULL,'13:36',NULL,NULL),(103,'2026-01-14',2,196075,1,'2026-01-14','13:45','FINISHED',4,NULL,NULL,'',NULL,'13:47','15:47',NULL),(104,'2026-01-15',1,107532,12345,'2026-01-14','13:00','NO_SHOW',NULL,NULL,NULL,'titi@yahoo.com',NULL,NULL,NULL,NULL),(105,'2026-01-14',1,346415,12345,'2026-01-14','14:59','FINISHED',NULL,NULL,NULL,'titi@yahoo.com',NULL,'14:59','16:59',NULL),(106,'2026-01-14',2,563799,999,'2026-01-14','15:15','FINISHED',NULL,NULL,NULL,'','0999999823','15:15','17:15',NULL),(107,'2026-01-14',2,685420,12345,'2026-01-14','15:15','FINISHED',NULL,NULL,NULL,'titi@yahoo.com',NULL,'15:15','17:15',NULL),(108,'2026-01-14',2,927346,12345,'2026-01-14','18:20','FINISHED',9,NULL,NULL,'titi@yahoo.com',NULL,'18:21','18:22',NULL),(109,'2026-01-14',1,822623,999,'2026-01-14','18:30','FINISHED',10,NULL,NULL,'','05412638970','18:35','18:36',NULL),(110,'2026-01-15',2,869718,1,'2026-01-15','19:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(111,'2026-01-15',2,128640,1,'2026-01-15','14:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(112,'2026-01-15',2,592827,12345,'2026-01-15','21:30','FINISHED',3,NULL,NULL,'titi@yahoo.com',NULL,'17:51','19:28',NULL),(113,'2026-01-15',6,372629,999,'2026-01-15','21:30','ACTIVE',4,NULL,NULL,'mabbaba@walla.com','0563263478','19:22',NULL,NULL),(114,'2026-01-15',2,414534,999,'2026-01-15','21:30','APPROVED',NULL,NULL,NULL,'mabbaba@walla.com','0563263478',NULL,NULL,NULL),(115,'2026-01-15',2,726935,454545,'2026-01-15','21:30','APPROVED',NULL,NULL,NULL,'hijhsdf@walla.com',NULL,NULL,NULL,NULL),(116,'2026-01-15',5,439794,454545,'2026-01-15','21:30','APPROVED',NULL,NULL,NULL,'hijhsdf@walla.com',NULL,NULL,NULL,NULL),(117,'2026-01-15',10,252747,454546,'2026-01-15','21:30','WAITING',NULL,NULL,NULL,'ronitcxhj@gmail.com',NULL,NULL,NULL,NULL),(118,'2026-01-16',1,269580,999,'2026-01-15','13:00','NO_SHOW',NULL,NULL,NULL,'','0000000',NULL,NULL,NULL),(119,'2026-01-18',1,855900,999,'2026-01-15','14:00','APPROVED',NULL,NULL,NULL,'','1111111111',NULL,NULL,NULL),(120,'2026-01-15',2,617317,999,'2026-01-15','22:00','APPROVED',NULL,NULL,NULL,'','1111111111',NULL,NULL,NULL),(121,'2026-01-15',2,854262,1,'2026-01-15','22:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,'AVI NO'),(122,'2026-01-15',2,175737,999,'2026-01-15','22:30','APPROVED',NULL,NULL,NULL,'','0555512346',NULL,NULL,NULL),(123,'2026-01-15',2,831745,999,'2026-01-15','22:30','APPROVED',NULL,NULL,NULL,'','123123123',NULL,NULL,NULL),(124,'2026-01-15',2,688213,999,'2026-01-15','19:50','FINISHED',5,NULL,NULL,'','109128371','20:02','21:00','aton mo'),(125,'2026-01-15',2,143444,12345,'2026-01-15','20:00','FINISHED',6,NULL,NULL,'titi@yahoo.com',NULL,'20:12','21:00',NULL),(126,'2026-01-18',2,950324,454559,'2026-01-16','17:30','APPROVED',NULL,NULL,NULL,'benjman@walla.com',NULL,NULL,NULL,NULL),(127,'2026-01-31',2,241157,999,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'','0429203901',NULL,NULL,'specter'),(128,'2026-01-19',2,543516,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(129,'2026-01-19',4,206369,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(130,'2026-01-19',4,570216,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(131,'2026-01-19',2,612551,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(132,'2026-01-19',6,463134,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(133,'2026-01-19',8,610637,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(134,'2026-01-19',2,470018,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(135,'2026-01-19',3,454668,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(136,'2026-01-19',6,550636,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(137,'2026-01-19',2,543437,1,'2026-01-16','15:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(138,'2026-01-16',2,826412,999,'2026-01-16','15:00','FINISHED',9,NULL,NULL,'','05201293212','15:03','15:03','linkin park'),(139,'2026-01-16',2,121070,1,'2026-01-16','15:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL),(140,'2026-01-16',2,785140,12345,'2026-01-16','15:02','NO_SHOW',1,NULL,NULL,'titi@yahoo.com',NULL,'','',NULL),(141,'2026-01-16',3,736233,1,'2026-01-16','15:30','FINISHED',2,NULL,NULL,'',NULL,'15:23','19:19',NULL),(142,'2026-01-17',2,304286,1,'2026-01-17','21:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL);
+INSERT INTO `orders` VALUES (1,'2025-10-09',3,123,666,'2025-01-01','12:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'12:15','13:45',NULL,0),(2,'2025-11-11',3,5678,12345,'2025-01-01','15:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'15:00','16:30',NULL,0),(3,'2025-11-11',2,33123,888,'2025-11-11','12:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'12:30','14:00',NULL,0),(4,'2025-01-05',2,1342,6767,'2025-01-04','16:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'16:15','17:45',NULL,0),(5,'2025-02-02',2,1212132,888,'2025-02-02','14:00','FINISHED',NULL,NULL,NULL,NULL,NULL,'14:00','15:20',NULL,0),(6,'2035-06-06',2,100,1,'2025-01-01','12:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(7,'2025-06-06',2,100,1,'2025-01-01','2:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(8,'2026-01-12',2,100,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(9,'2026-01-04',2,100,1,'2025-01-01','12:45','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(10,'2026-01-02',2,100,1,'2025-01-01','14:32','NO_SHOW',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(12,'2025-12-31',1,100,999,'2025-01-01','13:00','NO_SHOW',NULL,NULL,NULL,'SNHIM ASPDK','0523049392',NULL,NULL,NULL,0),(13,'2025-12-31',3,787533,999,'2025-01-01','15:00','NO_SHOW',NULL,NULL,NULL,'titi tata','052342341',NULL,NULL,NULL,0),(14,'2026-01-01',3,108605,12345,'2025-01-01','14:00','FINISHED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(15,'2026-01-01',2,895795,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(16,'2026-01-01',2,179679,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(17,'2026-01-01',2,519699,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(18,'2026-01-01',2,561885,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(21,'2026-01-01',2,984691,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(22,'2026-01-01',2,967813,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(24,'2026-01-03',2,708399,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(25,'2026-01-03',2,300931,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(26,'2026-01-03',2,735574,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(28,'2026-01-03',2,286237,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(29,'2026-01-03',2,591983,1,'2025-01-01','19:00','Cancelled',NULL,NULL,NULL,NULL,NULL,NULL,NULL,NULL,0),(31,'2028-01-01',2,927288,1,'2025-01-01','19:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(32,'2026-01-03',2,488504,999,'2025-01-01','19:00','Cancelled',NULL,NULL,NULL,'rininini@mail','',NULL,NULL,NULL,0),(34,'2025-12-31',2,442015,1,'2025-01-01','15:55','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(35,'2025-12-31',2,429917,1,'2025-01-01','16:20','ARRIVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(36,'2026-01-10',2,894342,12345,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'nitnint@walla.com',NULL,NULL,NULL,NULL,0),(37,'2026-01-02',4,452589,1,'2025-01-02','14:30','ARRIVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(38,'2026-01-02',1,888944,1,'2025-01-01','15:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(39,'2026-01-02',2,850170,1,'2025-01-01','17:10','FINISHED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(40,'2026-01-10',1,677273,12345,'2025-01-01','15:00','NO_SHOW',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL,0),(41,'2026-01-10',2,340330,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(42,'2026-01-10',4,398203,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(43,'2026-01-10',3,915017,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(44,'2026-01-10',6,306179,1,'2025-01-01','19:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(45,'2026-01-10',2,208079,1,'2025-01-01','19:00','FINISHED',NULL,NULL,NULL,'',NULL,'13:00','14:30',NULL,0),(46,'2026-01-10',2,490905,1,'2025-01-01','19:00','FINISHED',NULL,NULL,NULL,'',NULL,'19:10','20:50',NULL,0),(47,'2026-01-09',2,289383,12345,'2026-01-06','19:30','PENDING',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL,0),(48,'2026-01-09',2,948005,12345,'2026-01-06','15:00','Cancelled',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL,0),(49,'2026-01-10',1,100469,999,'2026-01-06','21:00','FINISHED',NULL,NULL,NULL,'eeee@wwww.com','','21:05','22:45',NULL,0),(50,'2026-01-10',2,801017,999,'2026-01-06','21:30','FINISHED',NULL,NULL,NULL,'','025783286364','21:40','23:15',NULL,0),(51,'2026-01-10',2,797490,999,'2026-01-06','22:00','APPROVED',NULL,NULL,NULL,'','05203990822',NULL,NULL,NULL,0),(52,'2026-01-10',4,319625,1,'2026-01-06','21:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(53,'2026-01-10',2,106113,12345,'2026-01-07','21:00','APPROVED',NULL,NULL,NULL,'ggggggg@walla.com',NULL,NULL,NULL,NULL,0),(54,'2026-01-19',3,519085,1,'2026-01-07','15:30','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(55,'2026-01-14',5,550778,1,'2026-01-07','14:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(56,'2026-01-19',2,818527,999,'2026-01-07','14:00','Cancelled',NULL,NULL,NULL,'s;keufkjh@walla.ocm','',NULL,NULL,NULL,0),(57,'2026-01-26',5,111286,1,'2026-01-07','13:30','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(58,'2026-01-08',1,783832,454549,'2026-01-07','13:00','Cancelled',NULL,NULL,NULL,'abashimon@hamsa.com',NULL,NULL,NULL,NULL,0),(59,'2026-01-26',2,977446,999,'2026-01-07','13:30','Cancelled',NULL,NULL,NULL,'','2222222222',NULL,NULL,NULL,0),(60,'2026-01-07',4,413867,1,'2026-01-07','18:15','FINISHED',NULL,NULL,NULL,'',NULL,NULL,'18:18',NULL,0),(61,'2026-01-29',1,539264,454549,'2026-01-07','13:00','Cancelled',NULL,NULL,NULL,'abashimon@hamsa.com',NULL,NULL,NULL,NULL,0),(62,'2026-01-07',2,722779,1,'2026-01-07','18:30','FINISHED',NULL,NULL,NULL,'',NULL,'18:32','18:40',NULL,0),(63,'2026-01-10',2,420985,1,'2026-01-10','12:17','FINISHED',4,NULL,NULL,'',NULL,'12:17','12:19',NULL,0),(64,'2026-01-10',2,588983,1,'2026-01-10','12:25','FINISHED',5,NULL,NULL,'',NULL,'12:25','12:25',NULL,0),(65,'2026-01-10',1,537019,1,'2026-01-10','12:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(66,'2026-01-10',2,105920,1,'2026-01-10','12:46','FINISHED',7,NULL,NULL,'',NULL,'12:46','12:46',NULL,0),(67,'2026-01-12',3,186704,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(68,'2026-01-12',1,196857,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(69,'2026-01-12',5,998894,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(70,'2026-01-12',4,664769,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(71,'2026-01-12',1,784012,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(72,'2026-01-12',4,646841,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(73,'2026-01-12',3,799182,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(74,'2026-01-12',6,979523,1,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(75,'2026-01-12',2,714154,1,'2026-01-10','12:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(76,'2026-01-12',2,800258,999,'2026-01-10','12:00','APPROVED',NULL,NULL,NULL,'','0529387472',NULL,NULL,NULL,0),(77,'2026-01-18',4,357206,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(78,'2026-01-18',4,178404,1,'2026-01-10','14:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(79,'2026-01-18',6,510678,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(80,'2026-01-18',4,221505,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(81,'2026-01-18',2,665753,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(82,'2026-01-18',3,435632,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(83,'2026-01-18',1,819212,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(84,'2026-01-18',5,886471,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(85,'2026-01-18',2,341708,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(86,'2026-01-18',2,715170,1,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(87,'2026-01-18',3,415027,999,'2026-01-10','16:30','APPROVED',NULL,NULL,NULL,'','05461253698',NULL,NULL,NULL,0),(88,'2026-01-18',6,842870,999,'2026-01-10','16:30','WAITING',NULL,NULL,NULL,'','05627821232',NULL,NULL,NULL,0),(89,'2026-01-18',3,810124,999,'2026-01-10','16:30','Cancelled',NULL,NULL,NULL,'','05463821321',NULL,NULL,NULL,0),(90,'2026-01-10',2,552391,1,'2026-01-10','12:55','FINISHED',NULL,NULL,NULL,'',NULL,'12:55','14:55',NULL,0),(91,'2026-01-10',2,549576,1,'2026-01-10','16:25','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(92,'2026-01-10',1,975150,1,'2026-01-10','16:00','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(93,'2026-01-14',2,535667,1,'2026-01-10','18:30','FINISHED',4,NULL,NULL,'',NULL,'18:31','20:31',NULL,0),(94,'2026-01-18',3,664313,1,'2026-01-10','16:30','WAITING',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(95,'2026-01-10',2,910005,1,'2026-01-10','15:20','FINISHED',6,NULL,NULL,'',NULL,'15:20','17:20',NULL,0),(96,'2026-01-10',2,264246,1,'2026-01-10','15:25','FINISHED',7,NULL,NULL,'',NULL,'15:26','17:26',NULL,0),(97,'2026-01-10',2,994362,12345,'2026-01-10','15:30','FINISHED',8,NULL,NULL,'',NULL,'15:30','17:32',NULL,0),(98,'2026-01-10',2,762912,999,'2026-01-10','17:30','WAITING',NULL,NULL,NULL,'','99999999',NULL,NULL,NULL,0),(99,'2026-01-14',1,222770,1,'2026-01-14','10:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(100,'2026-01-14',2,933004,12345,'2026-01-14','10:30','NO_SHOW',NULL,NULL,NULL,'titi@yahoo.com',NULL,NULL,NULL,NULL,0),(101,'2026-01-14',3,849390,999,'2026-01-14','13:30','NO_SHOW',NULL,NULL,NULL,'','43',NULL,NULL,NULL,0),(102,'2026-01-14',3,515369,12345,'2026-01-14','13:30','Cancelled',3,NULL,NULL,'titi@yahoo.com',NULL,'13:36',NULL,NULL,0),(103,'2026-01-14',2,196075,1,'2026-01-14','13:45','FINISHED',4,NULL,NULL,'',NULL,'13:47','15:47',NULL,0),(104,'2026-01-15',1,107532,12345,'2026-01-14','13:00','NO_SHOW',NULL,NULL,NULL,'titi@yahoo.com',NULL,NULL,NULL,NULL,0),(105,'2026-01-14',1,346415,12345,'2026-01-14','14:59','FINISHED',NULL,NULL,NULL,'titi@yahoo.com',NULL,'14:59','16:59',NULL,0),(106,'2026-01-14',2,563799,999,'2026-01-14','15:15','FINISHED',NULL,NULL,NULL,'','0999999823','15:15','17:15',NULL,0),(107,'2026-01-14',2,685420,12345,'2026-01-14','15:15','FINISHED',NULL,NULL,NULL,'titi@yahoo.com',NULL,'15:15','17:15',NULL,0),(108,'2026-01-14',2,927346,12345,'2026-01-14','18:20','FINISHED',9,NULL,NULL,'titi@yahoo.com',NULL,'18:21','18:22',NULL,0),(109,'2026-01-14',1,822623,999,'2026-01-14','18:30','FINISHED',10,NULL,NULL,'','05412638970','18:35','18:36',NULL,0),(110,'2026-01-15',2,869718,1,'2026-01-15','19:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(111,'2026-01-15',2,128640,1,'2026-01-15','14:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(112,'2026-01-15',2,592827,12345,'2026-01-15','21:30','FINISHED',3,NULL,NULL,'titi@yahoo.com',NULL,'17:51','19:28',NULL,0),(113,'2026-01-15',6,372629,999,'2026-01-15','21:30','ACTIVE',4,NULL,NULL,'mabbaba@walla.com','0563263478','19:22',NULL,NULL,0),(114,'2026-01-15',2,414534,999,'2026-01-15','21:30','APPROVED',NULL,NULL,NULL,'mabbaba@walla.com','0563263478',NULL,NULL,NULL,0),(115,'2026-01-15',2,726935,454545,'2026-01-15','21:30','APPROVED',NULL,NULL,NULL,'hijhsdf@walla.com',NULL,NULL,NULL,NULL,0),(116,'2026-01-15',5,439794,454545,'2026-01-15','21:30','APPROVED',NULL,NULL,NULL,'hijhsdf@walla.com',NULL,NULL,NULL,NULL,0),(117,'2026-01-15',10,252747,454546,'2026-01-15','21:30','WAITING',NULL,NULL,NULL,'ronitcxhj@gmail.com',NULL,NULL,NULL,NULL,0),(118,'2026-01-16',1,269580,999,'2026-01-15','13:00','NO_SHOW',NULL,NULL,NULL,'','0000000',NULL,NULL,NULL,0),(119,'2026-01-18',1,855900,999,'2026-01-15','14:00','APPROVED',NULL,NULL,NULL,'','1111111111',NULL,NULL,NULL,0),(120,'2026-01-15',2,617317,999,'2026-01-15','22:00','APPROVED',NULL,NULL,NULL,'','1111111111',NULL,NULL,NULL,0),(121,'2026-01-15',2,854262,1,'2026-01-15','22:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,'AVI NO',0),(122,'2026-01-15',2,175737,999,'2026-01-15','22:30','APPROVED',NULL,NULL,NULL,'','0555512346',NULL,NULL,NULL,0),(123,'2026-01-15',2,831745,999,'2026-01-15','22:30','APPROVED',NULL,NULL,NULL,'','123123123',NULL,NULL,NULL,0),(124,'2026-01-15',2,688213,999,'2026-01-15','19:50','FINISHED',5,NULL,NULL,'','109128371','20:02','21:00','aton mo',0),(125,'2026-01-15',2,143444,12345,'2026-01-15','20:00','FINISHED',6,NULL,NULL,'titi@yahoo.com',NULL,'20:12','21:00',NULL,0),(126,'2026-01-18',2,950324,454559,'2026-01-16','17:30','APPROVED',NULL,NULL,NULL,'benjman@walla.com',NULL,NULL,NULL,NULL,0),(127,'2026-01-31',2,241157,999,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'','0429203901',NULL,NULL,'specter',0),(128,'2026-01-19',2,543516,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(129,'2026-01-19',4,206369,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(130,'2026-01-19',4,570216,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(131,'2026-01-19',2,612551,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(132,'2026-01-19',6,463134,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(133,'2026-01-19',8,610637,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(134,'2026-01-19',2,470018,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(135,'2026-01-19',3,454668,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(136,'2026-01-19',6,550636,1,'2026-01-16','15:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(137,'2026-01-19',2,543437,1,'2026-01-16','15:00','Cancelled',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(138,'2026-01-16',2,826412,999,'2026-01-16','15:00','FINISHED',9,NULL,NULL,'','05201293212','15:03','15:03','linkin park',0),(139,'2026-01-16',2,121070,1,'2026-01-16','15:30','NO_SHOW',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0),(140,'2026-01-16',2,785140,12345,'2026-01-16','15:02','NO_SHOW',1,NULL,NULL,'titi@yahoo.com',NULL,'','',NULL,0),(141,'2026-01-16',3,736233,1,'2026-01-16','15:30','FINISHED',2,NULL,NULL,'',NULL,'15:23','19:19',NULL,0),(142,'2026-01-17',2,304286,1,'2026-01-17','21:00','APPROVED',NULL,NULL,NULL,'',NULL,NULL,NULL,NULL,0);
 /*!40000 ALTER TABLE `orders` ENABLE KEYS */;
 UNLOCK TABLES;
 